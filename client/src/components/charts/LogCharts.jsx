@@ -1,42 +1,54 @@
 import React, { useMemo } from 'react';
-import { useRobot } from '@/contexts/RobotContext'; // ✅ 실제 데이터 가져오기
+import { useQuery } from '@tanstack/react-query';
+import { useAuth } from '@/contexts/AuthContext';
+import api from '@/api/axios';
 import { 
   BarChart, Bar, XAxis, YAxis, CartesianGrid, Tooltip, ResponsiveContainer,
   AreaChart, Area
 } from 'recharts';
 import { Clock, AlertTriangle } from 'lucide-react';
 
-const LogCharts = () => {
-  const { logs } = useRobot(); // ✅ 저장된 로그 목록 가져오기
-
-  // 📊 로그 데이터를 요일별 통계로 변환하는 함수
-  const chartData = useMemo(() => {
-    // 1. 초기 데이터 (월~일)
-    const days = ['일', '월', '화', '수', '목', '금', '토'];
-    const stats = days.map(day => ({ name: day, duration: 0, events: 0 }));
+// yyyy-MM-dd (로컬 날짜 그대로, toISOString은 UTC라 날짜가 밀릴 수 있음)
+const toDateParam = (date) =>
+  `${date.getFullYear()}-${String(date.getMonth() + 1).padStart(2, '0')}-${String(date.getDate()).padStart(2, '0')}`;
 
-    // 2. 로그 하나씩 까보면서 더하기
-    logs.forEach(log => {
-      // createdDate가 없으면 현재 시간으로 가정 (테스트 데이터용)
-      const date = log.createdAt ? new Date(log.createdAt) : new Date();
-      const dayIndex = date.getDay(); // 0(일) ~ 6(토)
-      
-      // 순찰 시간 합산 (문자열 "5분"에서 숫자만 추출하거나 durationNum 사용)
-      const duration = log.durationNum || 5; 
-      
-      // 감지 횟수 합산
-      const events = log.detectionCount || 0;
+// 이번 주 월요일
+const startOfWeek = () => {
+  const date = new Date();
+  date.setHours(0, 0, 0, 0);
+  date.setDate(date.getDate() - ((date.getDay() + 6) % 7));
+  return date;
+};
 
-      stats[dayIndex].duration += duration;
-      stats[dayIndex].events += events;
-    });
+const LogCharts = () => {
+  const { user } = useAuth();
+  const monday = startOfWeek();
+  const from = toDateParam(monday);
 
-    // 월요일부터 시작하게 배열 순서 조정 (일요일을 맨 뒤로)
-    const sunday = stats.shift();
-    stats.push(sunday);
+  // ✅ 서버가 미리 집계한 일 단위 통계 (로그 전체가 아니라 7개 버킷만 받음)
+  // queryKey가 'logs'로 시작 → 로그 생성/삭제 시 같이 갱신됨
+  const { data: stats } = useQuery({
+    queryKey: ['logs', 'stats', user?.id, from],
+    queryFn: async () => {
+      const next = new Date(monday);
+      next.setDate(next.getDate() + 7);
+      return (await api.get(`/logs/stats?userId=${user.id}&resolution=day&from=${from}&to=${toDateParam(next)}`)).data;
+    },
+    enabled: !!user?.id
+  });
 
-    return stats;
-  }, [logs]); // logs가 변할 때마다 재계산
+  // 📊 버킷(날짜) → 요일 칸 (월~일, 로그가 없는 날은 0)
+  const chartData = useMemo(() => {
+    const days = ['월', '화', '수', '목', '금', '토', '일'];
+    const data = days.map(day => ({ name: day, duration: 0, events: 0 }));
+    (stats?.points ?? []).forEach(point => {
+      const [y, m, d] = point.bucketStart.split('-').map(Number);
+      const dayIndex = (new Date(y, m - 1, d).getDay() + 6) % 7; // 0(월) ~ 6(일)
+      data[dayIndex].duration = point.durationMinutes;
+      data[dayIndex].events = point.detections;
+    });
+    return data;
+  }, [stats]);
 
   // 총계 계산
   const totalDuration = chartData.reduce((acc, cur) => acc + cur.duration, 0);
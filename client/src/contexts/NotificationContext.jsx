@@ -1,4 +1,4 @@
-import React, { createContext, useContext, useState, useEffect } from 'react';
+import React, { createContext, useContext, useState, useEffect, useRef } from 'react';
 import { toast } from 'sonner';
 
 const NotificationContext = createContext();
@@ -12,6 +12,9 @@ export const NotificationProvider = ({ children }) => {
   
   const [unreadCount, setUnreadCount] = useState(0);
 
+  // 서버 알림 id (재접속 때 다시 오는 안 읽은 알림 중복 방지)
+  const serverIds = useRef(new Set(notifications.filter(n => n.serverId).map(n => n.serverId)));
+
   // ✅ 2. 알림이 변경될 때마다 LocalStorage에 저장
   useEffect(() => {
     localStorage.setItem('notifications', JSON.stringify(notifications));
@@ -20,10 +23,15 @@ export const NotificationProvider = ({ children }) => {
     setUnreadCount(count);
   }, [notifications]);
 
-  // 알림 추가 함수
-  const addNotification = ({ type, title, message, link = null }) => {
+  // 알림 추가 함수 (id: 서버에서 온 알림의 id)
+  const addNotification = ({ id = null, type, title, message, link = null }) => {
+    if (id !== null) {
+      if (serverIds.current.has(id)) return;
+      serverIds.current.add(id);
+    }
     const newNoti = {
       id: Date.now(),
+      serverId: id,
       timestamp: new Date(),
       isRead: false,
       type, title, message, link // 링크 정보 저장
@@ -64,6 +72,7 @@ export const NotificationProvider = ({ children }) => {
 
   const clearAllNotifications = () => {
     setNotifications([]);
+    serverIds.current.clear();
     localStorage.removeItem('notifications'); // 저장소에서도 삭제
     toast.info("모든 알림이 삭제되었습니다.");
   };
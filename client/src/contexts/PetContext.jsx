@@ -1,5 +1,6 @@
 import React, { createContext, useContext, useState, useEffect } from 'react';
 import { useAuth } from './AuthContext';
+import { useRobot } from './RobotContext';
 import api from '../api/axios'; // ✅ 우리가 만든 api 객체 사용
 import { toast } from 'sonner';
 
@@ -7,6 +8,7 @@ const CatContext = createContext();
 
 export const CatProvider = ({ children }) => {
   const { user } = useAuth();
+  const { stomp } = useRobot();
   const [cats, setCats] = useState([]);
 
   // 1. 유저 변경 시 목록 불러오기
@@ -28,6 +30,17 @@ export const CatProvider = ({ children }) => {
     }
   };
 
+  // 1-1. 🐱 로봇이 감지한 상태 실시간 반영 (행동/건강/마지막 감지)
+  // 서버는 바뀐 고양이만 보내므로 목록을 다시 불러올 필요 없음
+  useEffect(() => {
+    if (!stomp || !user) return;
+    const subscription = stomp.subscribe('/user/queue/cats', (message) => {
+      const { id, ...status } = JSON.parse(message.body);
+      updateCatStatus(id, status);
+    });
+    return () => subscription.unsubscribe();
+  }, [stomp, user]);
+
   // 2. 고양이 등록
   const addCat = async (catData) => {
     if (!user) return;
@@ -63,7 +76,7 @@ export const CatProvider = ({ children }) => {
     }
   };
 
-  // (AI 연동용 - 추후 사용)
+  // (로봇 감지 → 실시간 상태 반영)
   const updateCatStatus = (id, status) => {
     setCats(prev => prev.map(cat => 
       cat.id === id ? { ...cat, ...status } : cat
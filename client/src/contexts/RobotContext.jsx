@@ -12,6 +12,11 @@ const RobotContext = createContext();
 // ✅ 백엔드 주소
 const SOCKET_URL = 'ws://localhost:8080/ws';
 
+// 📹 영상 방식: 기본은 로봇과 P2P(WebRTC), VITE_VIDEO_RELAY=true 면 서버 중계(/ws/video/view)
+// 시청자가 많을 때는 중계가 유리 (로봇 업링크 1개로 끝남)
+export const VIDEO_RELAY = import.meta.env.VITE_VIDEO_RELAY === 'true';
+export const VIDEO_RELAY_URL = 'ws://localhost:8080/ws/video/view';
+
 export const RobotProvider = ({ children }) => {
   const { user } = useAuth();
   const { addNotification } = useNotifications();
@@ -28,6 +33,7 @@ export const RobotProvider = ({ children }) => {
   
   const [isRobotLoading, setIsRobotLoading] = useState(true);
   const [remoteStream, setRemoteStream] = useState(null); // ✅ 수신된 영상 데이터
+  const [stomp, setStomp] = useState(null); // ✅ 연결된 STOMP 클라이언트 (다른 Context에서 구독할 때 사용)
 
   /* 2. 웹소켓 및 WebRTC 연결 설정 */
   useEffect(() => {
@@ -36,13 +42,19 @@ export const RobotProvider = ({ children }) => {
     const client = Stomp.over(socket);
     client.debug = null;
 
-    client.connect({}, () => {
+    // 로그인 토큰을 CONNECT 헤더로 보내면 서버가 /user/queue/notifications 로 내 알림을 보내줌
+    const token = localStorage.getItem('token');
+    const connectHeaders = token ? { Authorization: `Bearer ${token}` } : {};
+
+    client.connect(connectHeaders, () => {
       console.log('✅ RobotContext: 웹소켓 연결 성공!');
       setIsRobotLoading(false);
       setRobotStatus(prev => ({ ...prev, isOnline: true }));
       stompClient.current = client;
+      setStomp(client);
 
       // (1) 로봇 상태 구독 (위치, 배터리 등)
+      // rate: 서버가 최신 값만 골라 보내주는 주기(Hz) - 백그라운드 탭은 낮게
       client.subscribe('/sub/robot/status', (message) => {
         const data = JSON.parse(message.body);
         setRobotStatus(prev => ({
@@ -54,12 +66,13 @@ export const RobotProvider = ({ children }) => {
                     : prev.position,
           lastUpdate: new Date().toISOString()
         }));
-      });
+      }, { rate: document.hidden ? 2 : 10 });
 
-      // (2) 📹 WebRTC Offer 수신 (여기가 핵심! 로봇 전화를 받는 부분)
-      client.subscribe('/sub/peer/offer', async (message) => {
-        console.log("📹 [WebRTC] Offer 수신! 연결을 시도합니다...");
-        const offer = JSON.parse(message.body);
+      // (2) 📹 WebRTC 시그널링: 이 화면 전용 세션 (구독하면 서버가 로봇에게 offer를 요청)
+      // offer/candidate는 내 세션으로만 옴 → 다른 시청자의 시그널링은 받지 않음
+      let remoteReady = Promise.resolve();
+      const answerOffer = async (offer) => {
+        if (peerConnection.current) peerConnection.current.close();
 
         // P2P 연결 생성 (구글 무료 STUN 서버 사용)
         const pc = new RTCPeerConnection({
@@ -72,22 +85,57 @@ export const RobotProvider = ({ children }) => {
           setRemoteStream(event.streams[0]);
         };
 
-        peerConnection.current = pc;
+        // 내 ICE candidate → 서버가 짧게 모아서 로봇에 한 번에 전달
+        pc.onicecandidate = (event) => {
+          if (!event.candidate) return;
+          client.send("/pub/peer/candidate", {}, JSON.stringify({ session: offer.session, candidate: event.candidate.toJSON() }));
+        };
 
-        // 로봇의 명함(Offer) 저장
-        await pc.setRemoteDescription(new RTCSessionDescription(offer));
+        peerConnection.current = pc;
 
-        // 내 명함(Answer) 생성 및 저장
+        // 로봇의 명함(Offer) 저장 → 내 명함(Answer) 생성 및 저장
+        await pc.setRemoteDescription(new RTCSessionDescription({ type: 'offer', sdp: offer.sdp }));
         const answer = await pc.createAnswer();
         await pc.setLocalDescription(answer);
 
-        // 내 명함을 로봇에게 전송
+        // 내 명함을 이 세션의 로봇에게만 전송
         client.send("/pub/peer/answer", {}, JSON.stringify({
+          session: offer.session,
           sdp: pc.localDescription.sdp,
           type: pc.localDescription.type
         }));
         console.log("📤 [WebRTC] Answer 전송 완료!");
-      });
+      };
+
+      // 로그인한 주인만 세션을 받음 → 내 로봇으로 등록(이미 내 것이면 그대로)한 뒤 구독
+      const subscribeSignaling = () => client.subscribe('/sub/peer/session', (message) => {
+        const msg = JSON.parse(message.body);
+        if (msg.type === 'offer') {
+          console.log("📹 [WebRTC] Offer 수신! 연결을 시도합니다...");
+          remoteReady = answerOffer(msg).catch((e) => console.error('❌ [WebRTC] 연결 실패:', e));
+        } else if (msg.type === 'candidates') {
+          // offer 처리(원격 명함 저장)가 끝난 뒤에 추가
+          remoteReady.then(() => msg.candidates.forEach((c) => peerConnection.current?.addIceCandidate(c).catch(() => {})));
+        } else if (msg.type === 'bye') {
+          console.log("📴 [WebRTC] 로봇이 세션을 종료했습니다.");
+          if (peerConnection.current) peerConnection.current.close();
+          peerConnection.current = null;
+          setRemoteStream(null);
+        }
+      }, { robotId: 'default' });
+      if (!VIDEO_RELAY && token) {
+        api.post('/robots/default/claim').catch(() => {}).finally(() => {
+          if (client.connected) subscribeSignaling();
+        });
+      }
+
+      // (3) 🔔 내 알림 실시간 수신 (재접속하면 안 읽은 알림도 다시 옴 → id로 중복 제거)
+      if (token) {
+        client.subscribe('/user/queue/notifications', (message) => {
+          const noti = JSON.parse(message.body);
+          addNotification({ id: noti.id, type: noti.type, title: noti.title, message: noti.message });
+        });
+      }
 
     }, (error) => {
       console.error('❌ 웹소켓 연결 실패:', error);
@@ -96,10 +144,11 @@ export const RobotProvider = ({ children }) => {
     });
 
     return () => {
+      setStomp(null);
       if (client && client.connected) client.disconnect();
       if (peerConnection.current) peerConnection.current.close();
     };
-  }, []);
+  }, [user?.id]); // 로그인/로그아웃 시 새 토큰으로 다시 연결
 
   /* 3. 데이터 조회 (기존 유지) */
   const { data: videos = [] } = useQuery({ queryKey: ['videos', user?.id], queryFn: async () => (await api.get(`/videos?userId=${user.id}`)).data, enabled: !!user?.id });
@@ -116,18 +165,18 @@ export const RobotProvider = ({ children }) => {
   const moveRobot = (linear, angular) => {
     if (!stompClient.current || !stompClient.current.connected) return;
     if (robotStatus.mode === 'auto') return;
-    stompClient.current.send("/pub/robot/control", {}, JSON.stringify({ type: 'MOVE', linear, angular }));
+    stompClient.current.send("/pub/robot/control", {}, JSON.stringify({ type: 'MOVE', linear, angular, ts: Date.now() }));
   };
 
   const emergencyStop = () => {
-    if (stompClient.current?.connected) stompClient.current.send("/pub/robot/control", {}, JSON.stringify({ type: 'STOP' }));
+    if (stompClient.current?.connected) stompClient.current.send("/pub/robot/control", {}, JSON.stringify({ type: 'STOP', ts: Date.now() }));
     setRobotStatus(prev => ({ ...prev, mode: 'emergency', speed: 0 }));
     addNotification({ type: 'alert', title: '🚨 비상 정지', message: '사용자가 로봇을 긴급 정지시켰습니다.', link: '/' });
   };
 
   const toggleMode = () => {
     const newMode = robotStatus.mode === 'auto' ? 'manual' : 'auto';
-    if (stompClient.current?.connected) stompClient.current.send("/pub/robot/control", {}, JSON.stringify({ type: 'MODE', value: newMode }));
+    if (stompClient.current?.connected) stompClient.current.send("/pub/robot/control", {}, JSON.stringify({ type: 'MODE', value: newMode, ts: Date.now() }));
     setRobotStatus(prev => ({ ...prev, mode: newMode }));
     addNotification({ type: 'robot', title: '모드 변경', message: `로봇이 ${newMode === 'auto' ? '자동' : '수동'} 모드로 전환되었습니다.`, link: '/' });
   };
@@ -171,7 +220,8 @@ export const RobotProvider = ({ children }) => {
       robotStatus, isVideoOn, toggleVideo, moveRobot, emergencyStop, toggleMode,
       sendTTS, startWalkieTalkie, stopWalkieTalkie, isRecording, trainVoice, isVoiceCloned, useClonedVoice, setUseClonedVoice,
       videos, deleteVideo: deleteVideoMutation.mutate, addTestVideo, logs, deleteLog: deleteLogMutation.mutate, addTestLog, isRobotLoading,
-      remoteStream // ✅ 이게 있어야 Dashboard에서 갖다 씁니다!
+      remoteStream, // ✅ 이게 있어야 Dashboard에서 갖다 씁니다!
+      stomp
     }}>
       {children}
     </RobotContext.Provider>
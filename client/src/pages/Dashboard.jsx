@@ -1,7 +1,8 @@
 import React, { useState, useEffect, useRef } from 'react';
-import { useRobot } from '@/contexts/RobotContext';
+import { useRobot, VIDEO_RELAY, VIDEO_RELAY_URL } from '@/contexts/RobotContext';
 import { Wifi, Battery, Zap, Navigation, Power, Mic, Volume2, Play, Video, VideoOff, BrainCircuit, Repeat, Hand } from 'lucide-react';
 import DashboardSkeleton from '@/components/skeletons/DashboardSkeleton';
+import api from '@/api/axios';
 
 // ✅ [추가] WebRTC 스트림을 실제로 재생해주는 헬퍼 컴포넌트
 // React에서는 video 태그에 srcObject를 직접 props로 줄 수 없어서, useEffect로 연결해야 합니다.
@@ -25,6 +26,60 @@ const VideoStream = ({ stream }) => {
   );
 };
 
+// ✅ 서버 중계 영상: 바이너리 메시지 1개 = JPEG 1장 → 캔버스에 그림
+// 디코딩이 밀리면 중간 프레임은 건너뛰고 가장 최신 것만 그림 (지연이 쌓이지 않도록)
+const RelayVideo = ({ robotId = 'default', onFrame }) => {
+  const canvasRef = useRef(null);
+
+  useEffect(() => {
+    let ws = null;
+    let pending = null;
+    let decoding = false;
+    let closed = false;
+
+    const draw = async () => {
+      decoding = true;
+      while (pending && !closed) {
+        const blob = pending;
+        pending = null;
+        try {
+          const bitmap = await createImageBitmap(blob);
+          const canvas = canvasRef.current;
+          if (canvas) {
+            if (canvas.width !== bitmap.width) canvas.width = bitmap.width;
+            if (canvas.height !== bitmap.height) canvas.height = bitmap.height;
+            canvas.getContext('2d').drawImage(bitmap, 0, 0);
+          }
+          bitmap.close();
+          onFrame?.();
+        } catch (e) {
+          // 깨진 프레임은 무시
+        }
+      }
+      decoding = false;
+    };
+
+    // 내 로봇으로 등록(이미 내 것이면 그대로) → 로그인 토큰을 쿼리로 붙여 연결 (브라우저 WebSocket은 헤더 불가)
+    api.post(`/robots/${robotId}/claim`).catch(() => {}).finally(() => {
+      if (closed) return;
+      const token = localStorage.getItem('token');
+      ws = new WebSocket(`${VIDEO_RELAY_URL}/${robotId}?access_token=${encodeURIComponent(token ?? '')}`);
+      ws.binaryType = 'blob';
+      ws.onmessage = (event) => {
+        pending = event.data;
+        if (!decoding) draw();
+      };
+    });
+
+    return () => {
+      closed = true;
+      ws?.close();
+    };
+  }, [robotId]);
+
+  return <canvas ref={canvasRef} className="w-full h-full object-cover" />;
+};
+
 const Dashboard = () => {
   // RobotContext에서 필요한 데이터 가져오기
   const { 
@@ -38,6 +93,7 @@ const Dashboard = () => {
 
   const [ttsText, setTtsText] = useState("");
   const [showSkeleton, setShowSkeleton] = useState(true);
+  const [relayLive, setRelayLive] = useState(false); // 중계 모드: 첫 프레임을 받았는지
 
   // 로딩 스켈레톤 처리
   useEffect(() => {
@@ -45,6 +101,11 @@ const Dashboard = () => {
     return () => clearTimeout(timer);
   }, []);
 
+  // 영상을 끄면 다시 켤 때 '연결 중'부터 보이도록
+  useEffect(() => {
+    if (!isVideoOn) setRelayLive(false);
+  }, [isVideoOn]);
+
   if (isRobotLoading || showSkeleton) {
     return <DashboardSkeleton />;
   }
@@ -96,7 +157,22 @@ const Dashboard = () => {
           </div>
           
           <div className="aspect-video bg-black relative flex items-center justify-center group overflow-hidden">
-            {isVideoOn ? (
+            {isVideoOn && VIDEO_RELAY ? (
+              <>
+                <RelayVideo onFrame={() => setRelayLive(true)} />
+                {relayLive ? (
+                  <div className="absolute top-4 left-4 flex gap-2">
+                    <span className="bg-red-600 text-white text-[10px] px-2 py-0.5 rounded animate-pulse">LIVE</span>
+                    <span className="bg-black/50 text-white text-[10px] px-2 py-0.5 rounded">Server Relay</span>
+                  </div>
+                ) : (
+                  <div className="absolute inset-0 text-gray-400 flex flex-col items-center justify-center gap-2 animate-pulse">
+                    <Wifi size={32} className="text-yellow-500" />
+                    <span className="text-sm">로봇 연결 중... (신호 대기)</span>
+                  </div>
+                )}
+              </>
+            ) : isVideoOn ? (
               remoteStream ? (
                 // ✅ 영상 데이터가 있으면 재생
                 <>
@@ -2,6 +2,16 @@ import React from 'react';
 import { useRobot } from '@/contexts/RobotContext';
 import { Film, Play, Clock, Cat, Video, Trash2, PlusCircle } from 'lucide-react';
 
+// 영상/썸네일 주소 (<video>/<img>는 헤더를 못 붙여서 토큰은 쿼리로)
+const mediaSrc = (url, params = {}) => {
+  const query = new URLSearchParams({ ...params, access_token: localStorage.getItem('token') || '' });
+  return `${url}${url.includes('?') ? '&' : '?'}${query}`;
+};
+
+// 카드 폭에 맞춘 서버 썸네일 (수 KB), 없으면 기존 thumbnailUrl
+const THUMB_WIDTH = 480;
+const thumbSrc = (video) => (video.thumbUrl ? mediaSrc(video.thumbUrl, { w: THUMB_WIDTH }) : video.thumbnailUrl);
+
 const GalleryPage = () => {
   // Context에서 실제 데이터와 함수 가져오기
   const { videos, deleteVideo, addTestVideo } = useRobot();
@@ -44,18 +54,29 @@ const GalleryPage = () => {
               
               {/* 1. 썸네일 영역 (검은 배경) */}
               <div className="aspect-video bg-black relative flex items-center justify-center cursor-pointer overflow-hidden group-video">
-                {video.thumbnailUrl ? (
-                  <img src={video.thumbnailUrl} alt="thumbnail" className="w-full h-full object-cover opacity-80 group-hover:scale-105 transition-transform duration-500" />
+                {video.clipUrl ? (
+                  // 서버가 Range로 필요한 부분만 보내므로 바로 탐색 가능 (<video>는 헤더를 못 붙여서 토큰은 쿼리로)
+                  <video
+                    src={mediaSrc(video.clipUrl)}
+                    poster={thumbSrc(video) || undefined}
+                    controls
+                    preload="metadata"
+                    className="w-full h-full object-cover"
+                  />
+                ) : thumbSrc(video) ? (
+                  <img src={thumbSrc(video)} alt="thumbnail" loading="lazy" decoding="async" className="w-full h-full object-cover opacity-80 group-hover:scale-105 transition-transform duration-500" />
                 ) : (
                   <Video size={48} className="text-gray-700" />
                 )}
 
-                {/* 플레이 버튼 */}
-                <div className="absolute inset-0 flex items-center justify-center opacity-0 group-hover:opacity-100 transition-opacity bg-black/30">
-                  <div className="w-12 h-12 bg-white/20 backdrop-blur rounded-full flex items-center justify-center border border-white/50 text-white">
-                    <Play size={20} fill="white" />
+                {/* 플레이 버튼 (영상 파일이 있으면 플레이어 컨트롤 사용) */}
+                {!video.clipUrl && (
+                  <div className="absolute inset-0 flex items-center justify-center opacity-0 group-hover:opacity-100 transition-opacity bg-black/30">
+                    <div className="w-12 h-12 bg-white/20 backdrop-blur rounded-full flex items-center justify-center border border-white/50 text-white">
+                      <Play size={20} fill="white" />
+                    </div>
                   </div>
-                </div>
+                )}
 
                 {/* 우측 상단 뱃지 */}
                 <div className="absolute top-3 right-3 bg-white/10 backdrop-blur border border-white/20 text-white text-[10px] px-2 py-1 rounded flex items-center gap-1">
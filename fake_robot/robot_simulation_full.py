@@ -1,22 +1,46 @@
 import asyncio
 import json
 import logging
+import os
 import time
 import cv2
 import numpy as np
 import random
 import paho.mqtt.client as mqtt
 from aiortc import RTCPeerConnection, RTCSessionDescription, VideoStreamTrack
+from aiortc.sdp import candidate_from_sdp
 from aiortc.contrib.media import MediaRelay
 from av import VideoFrame
+from telemetry_codec import encode_status  # TELEMETRY_FORMAT=binary 이면 바이너리로 전송
 
 # --- 설정 ---
 MQTT_BROKER = "localhost"
 MQTT_PORT = 1883
-TOPIC_DATA = "/robot/status"       # 보낼 데이터 (상태)
-TOPIC_CONTROL = "/robot/control"   # 받을 데이터 (명령) ✅ 추가됨
-TOPIC_OFFER = "/robot/peer/offer"
-TOPIC_ANSWER = "/robot/peer/answer"
+# ROBOT_ID 환경변수를 주면 /robot/{ROBOT_ID}/... 토픽 사용 (멀티 로봇), 없으면 기존 토픽
+ROBOT_ID = os.environ.get("ROBOT_ID")
+
+def topic(kind):
+    return f"/robot/{ROBOT_ID}/{kind}" if ROBOT_ID else f"/robot/{kind}"
+
+TOPIC_DATA = topic("status")       # 보낼 데이터 (상태)
+TOPIC_CONTROL = topic("control")   # 받을 데이터 (명령) ✅ 추가됨
+TOPIC_CONTROL_ACK = topic("control/ack")  # 명령 받았다는 응답 (서버가 왕복 지연 측정)
+# WebRTC 시그널링: 서버가 시청자마다 세션을 만들고 peer/request로 offer를 요청 (메시지마다 session 포함)
+TOPIC_REQUEST = topic("peer/request")
+TOPIC_OFFER = topic("peer/offer")
+TOPIC_ANSWER = topic("peer/answer")
+TOPIC_CANDIDATES = topic("peer/candidates")  # 시청자 ICE candidate (서버가 묶어서 보냄)
+TOPIC_CLOSE = topic("peer/close")  # 시청자가 나감
+# 영상 방식: VIDEO_MODE=relay 면 WebRTC 대신 서버 중계로 JPEG 프레임 업링크 (시청자가 많을 때)
+# 서버가 video/demand {"viewers": n} 로 시청자 수를 알려줌 → 0이면 업링크를 닫음
+VIDEO_MODE = os.environ.get("VIDEO_MODE", "webrtc")
+VIDEO_INGEST_URL = os.environ.get("VIDEO_INGEST_URL", "ws://localhost:8080/ws/video/ingest")
+VIDEO_TOKEN = os.environ.get("VIDEO_TOKEN")  # 서버의 video.relay.ingest-token (필수: 서버가 토큰 없는 업링크는 거부)
+TOPIC_VIDEO_DEMAND = topic("video/demand")
+# 고양이 감지: CAT_IDS=1,2 처럼 등록된 고양이 ID를 주면 프레임마다 감지 결과 전송 (서버가 모아서 저장)
+TOPIC_DETECTION = topic("detection")
+CAT_IDS = [int(i) for i in os.environ.get("CAT_IDS", "").split(",") if i.strip()]
+CAT_BEHAVIORS = ["sleeping", "eating", "playing", "grooming", "walking"]
 
 logging.basicConfig(level=logging.INFO)
 logger = logging.getLogger("RobotSim")
@@ -78,6 +102,11 @@ def on_message(client, userdata, msg):
                 current_linear = 0.0
                 current_angular = 0.0
                 logger.info("🛑 비상 정지!")
+
+            # 명령 번호를 그대로 돌려줌 (서버가 보낸 seq와 짝 맞춤)
+            if payload.get("seq") is not None:
+                ack = {"seq": payload["seq"], "type": cmd_type, "robotTs": int(time.time() * 1000)}
+                client.publish(TOPIC_CONTROL_ACK, json.dumps(ack), qos=0)
                 
     except Exception as e:
         logger.error(f"메시지 처리 에러: {e}")
@@ -85,8 +114,11 @@ def on_message(client, userdata, msg):
 def on_connect(client, userdata, flags, rc, properties=None):
     if rc == 0:
         logger.info("✅ MQTT 연결 성공!")
-        client.subscribe(TOPIC_ANSWER)  # WebRTC Answer
+        for t in (TOPIC_REQUEST, TOPIC_ANSWER, TOPIC_CANDIDATES, TOPIC_CLOSE):
+            client.subscribe(t, qos=1)  # WebRTC 시그널링
         client.subscribe(TOPIC_CONTROL) # ✅ 제어 명령 구독
+        if VIDEO_MODE == "relay":
+            client.subscribe(TOPIC_VIDEO_DEMAND, qos=1)  # 영상 중계 시청자 수
     else:
         logger.info(f"❌ MQTT 연결 실패: {rc}")
 
@@ -95,39 +127,106 @@ client.on_message = on_message
 client.connect(MQTT_BROKER, MQTT_PORT, 60)
 client.loop_start()
 
-# --- 3. WebRTC (동일) ---
-async def run_webrtc():
+# --- 3. WebRTC (시청자 세션마다 연결 하나, 카메라 트랙은 MediaRelay로 공유) ---
+peers = {}  # session -> RTCPeerConnection
+camera = BouncingBallTrack()
+relay = MediaRelay()
+
+async def start_session(session):
+    await end_session(session)
     pc = RTCPeerConnection()
-    pc.addTrack(BouncingBallTrack())
+    peers[session] = pc
+    pc.addTrack(relay.subscribe(camera))
 
     offer = await pc.createOffer()
     await pc.setLocalDescription(offer)
+    # aiortc는 candidate를 SDP에 모두 담아서 보냄 (로봇 쪽 trickle 없음)
+    offer_payload = {"session": session, "sdp": pc.localDescription.sdp, "type": pc.localDescription.type}
+    client.publish(TOPIC_OFFER, json.dumps(offer_payload), qos=1)
+    logger.info(f"📹 Offer 전송 (세션 {session})")
 
-    offer_payload = {"sdp": pc.localDescription.sdp, "type": pc.localDescription.type}
-    client.publish(TOPIC_OFFER, json.dumps(offer_payload))
-    
-    answer_queue = asyncio.Queue()
-    def answer_handler(c, u, msg):
-        if msg.topic == TOPIC_ANSWER:
-            payload = json.loads(msg.payload.decode())
-            asyncio.run_coroutine_threadsafe(answer_queue.put(payload), loop)
+async def on_answer(payload):
+    pc = peers.get(payload["session"])
+    if pc is None: return
+    await pc.setRemoteDescription(RTCSessionDescription(sdp=payload["sdp"], type=payload["type"]))
+    logger.info(f"✅ WebRTC 영상 연결됨! (세션 {payload['session']})")
+
+async def on_candidates(payload):
+    pc = peers.get(payload["session"])
+    if pc is None: return
+    for c in payload.get("candidates", []):
+        line = c.get("candidate", "")
+        if not line: continue
+        ice = candidate_from_sdp(line.split(":", 1)[1])  # "candidate:..." 접두어 제거
+        ice.sdpMid = c.get("sdpMid")
+        ice.sdpMLineIndex = c.get("sdpMLineIndex")
+        await pc.addIceCandidate(ice)
 
-    client.message_callback_add(TOPIC_ANSWER, answer_handler)
+async def end_session(session):
+    pc = peers.pop(session, None)
+    if pc is not None:
+        await pc.close()
+        logger.info(f"📴 세션 종료 ({session})")
 
+def signaling_handler(c, u, msg):
     try:
-        answer_data = await answer_queue.get()
-        remote_desc = RTCSessionDescription(sdp=answer_data["sdp"], type=answer_data["type"])
-        await pc.setRemoteDescription(remote_desc)
-        logger.info("✅ WebRTC 영상 연결됨!")
-        while True: await asyncio.sleep(1)
+        payload = json.loads(msg.payload.decode())
+        session = payload.get("session")
+        if not session: return
+        if msg.topic == TOPIC_REQUEST: coro = start_session(session)
+        elif msg.topic == TOPIC_ANSWER: coro = on_answer(payload)
+        elif msg.topic == TOPIC_CANDIDATES: coro = on_candidates(payload)
+        else: coro = end_session(session)
+        asyncio.run_coroutine_threadsafe(coro, loop)
     except Exception as e:
-        logger.error(f"WebRTC 에러: {e}")
-    finally:
-        await pc.close()
+        logger.error(f"시그널링 처리 에러: {e}")
+
+for t in (TOPIC_REQUEST, TOPIC_ANSWER, TOPIC_CANDIDATES, TOPIC_CLOSE):
+    client.message_callback_add(t, signaling_handler)
+
+# --- 3-1. 서버 영상 중계 (VIDEO_MODE=relay): 시청자 수와 상관없이 업링크 1개 ---
+video_viewers = 0
+uplink_task = None
+
+async def run_video_uplink():
+    import websockets  # 중계 모드에서만 필요 (pip install websockets)
+    if not VIDEO_TOKEN:
+        logger.warning("⚠️ VIDEO_TOKEN이 없어 영상 업링크를 열지 않습니다.")
+        return
+    url = f"{VIDEO_INGEST_URL}/{ROBOT_ID or 'default'}?token={VIDEO_TOKEN}"
+    camera_feed = BouncingBallTrack()
+    while video_viewers > 0:
+        try:
+            async with websockets.connect(url, max_size=None) as ws:
+                logger.info(f"🎥 영상 업링크 연결 (시청자 {video_viewers}명)")
+                while video_viewers > 0:
+                    frame = await camera_feed.recv()  # 30fps 속도로 나옴
+                    ok, jpg = cv2.imencode(".jpg", frame.to_ndarray(format="bgr24"), [cv2.IMWRITE_JPEG_QUALITY, 70])
+                    if ok: await ws.send(jpg.tobytes())  # 메시지 1개 = 프레임 1장
+        except Exception as e:
+            logger.warning(f"⚠️ 영상 업링크 끊김: {e}")
+            await asyncio.sleep(2)
+    logger.info("🎥 시청자 없음 → 영상 업링크 종료")
+
+async def on_video_demand(viewers):
+    global video_viewers, uplink_task
+    video_viewers = viewers
+    if viewers > 0 and (uplink_task is None or uplink_task.done()):
+        uplink_task = asyncio.create_task(run_video_uplink())
+
+def video_demand_handler(c, u, msg):
+    try:
+        viewers = int(json.loads(msg.payload.decode()).get("viewers", 0))
+        asyncio.run_coroutine_threadsafe(on_video_demand(viewers), loop)
+    except Exception as e:
+        logger.error(f"영상 요청 처리 에러: {e}")
+
+client.message_callback_add(TOPIC_VIDEO_DEMAND, video_demand_handler)
 
 # --- 4. 데이터 시뮬레이션 (수정됨: 명령에 따라 움직임) ---
 async def run_data_simulation():
     global robot_x, robot_y, battery
+    cat_behavior = {cat_id: random.choice(CAT_BEHAVIORS) for cat_id in CAT_IDS}
     
     while True:
         # ✅ 랜덤 이동 삭제 -> 명령 받은 속도(current_linear/angular)대로 이동
@@ -151,14 +250,22 @@ async def run_data_simulation():
             "y": round(robot_y, 2),
             "mode": "manual"
         }
-        client.publish(TOPIC_DATA, json.dumps(status_data))
+        client.publish(TOPIC_DATA, encode_status(status_data))
+
+        # 🐱 감지 결과 (가끔 행동이 바뀜)
+        if CAT_IDS:
+            detections = []
+            for cat_id in CAT_IDS:
+                if random.random() < 0.01: cat_behavior[cat_id] = random.choice(CAT_BEHAVIORS)
+                detections.append({"catId": cat_id, "behavior": cat_behavior[cat_id], "health": "normal",
+                                   "confidence": round(random.uniform(0.6, 0.99), 2)})
+            client.publish(TOPIC_DETECTION, json.dumps({"detections": detections}))
         await asyncio.sleep(0.1) # 0.1초마다 갱신 (부드러운 움직임)
 
 if __name__ == "__main__":
     loop = asyncio.get_event_loop()
     try:
         loop.create_task(run_data_simulation())
-        loop.create_task(run_webrtc())
         loop.run_forever()
     except KeyboardInterrupt:
         pass
@@ -1,13 +1,17 @@
 import time
 import json
+import os
 import random
 import paho.mqtt.client as mqtt
+from telemetry_codec import TELEMETRY_FORMAT, encode_status  # TELEMETRY_FORMAT=binary 이면 바이너리로 전송
 
 # --- 설정 ---
 BROKER_ADDRESS = "localhost"  # Mosquitto 주소
 PORT = 1883
-TOPIC_STATUS = "/robot/status"
-TOPIC_POSE = "/robot/pose"
+# ROBOT_ID 환경변수를 주면 /robot/{ROBOT_ID}/... 토픽 사용 (멀티 로봇), 없으면 기존 토픽
+ROBOT_ID = os.environ.get("ROBOT_ID")
+TOPIC_STATUS = f"/robot/{ROBOT_ID}/status" if ROBOT_ID else "/robot/status"
+TOPIC_POSE = f"/robot/{ROBOT_ID}/pose" if ROBOT_ID else "/robot/pose"
 
 # --- MQTT 연결 설정 ---
 client = mqtt.Client(mqtt.CallbackAPIVersion.VERSION2)
@@ -50,10 +54,10 @@ try:
         }
 
         # 3. 데이터 전송 (Publish)
-        payload = json.dumps(status_data)
+        payload = encode_status(status_data)
         client.publish(TOPIC_STATUS, payload)
         
-        print(f"📤 보냄: {payload}")
+        print(f"📤 보냄 ({TELEMETRY_FORMAT}, {len(payload)}B): {status_data}")
         
         time.sleep(1) # 1초마다 전송
 
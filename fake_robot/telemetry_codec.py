@@ -0,0 +1,45 @@
+"""
+텔레메트리 인코더 (서버 BinaryTelemetryCodec / MqttService와 같은 규칙)
+
+TELEMETRY_FORMAT 환경변수로 선택:
+  - json   (기본) : 기존 JSON 텍스트
+  - binary        : 고정 레이아웃 바이너리 v1 (big-endian)
+      status: [u8 version=1][u8 type=1][f32 x][f32 y][i16 temperature*100][u8 battery][u8 flags][u8 modeLen][mode utf8]
+      pose  : [u8 version=1][u8 type=2][f32 x][f32 y]
+서버는 첫 바이트로 형식을 구분하므로 JSON 로봇과 바이너리 로봇을 섞어 써도 됩니다.
+"""
+import json
+import os
+import struct
+
+TELEMETRY_FORMAT = os.environ.get("TELEMETRY_FORMAT", "json").lower()
+
+VERSION = 1
+TYPE_STATUS = 1
+TYPE_POSE = 2
+FLAG_CHARGING = 0x01
+
+_STATUS_HEADER = struct.Struct(">BBffhBBB")
+_POSE = struct.Struct(">BBff")
+
+
+def encode_status(status):
+    """status dict (batteryLevel, temperature, isCharging, x, y, mode) -> MQTT payload"""
+    if TELEMETRY_FORMAT != "binary":
+        return json.dumps(status)
+    mode = status.get("mode", "").encode("utf-8")[:255]
+    temperature = max(-32768, min(32767, round(status.get("temperature", 0.0) * 100)))
+    return _STATUS_HEADER.pack(
+        VERSION, TYPE_STATUS,
+        status.get("x", 0.0), status.get("y", 0.0),
+        temperature,
+        max(0, min(255, int(status.get("batteryLevel", 0)))),
+        FLAG_CHARGING if status.get("isCharging") else 0,
+        len(mode),
+    ) + mode
+
+
+def encode_pose(x, y):
+    if TELEMETRY_FORMAT != "binary":
+        return json.dumps({"x": x, "y": y})
+    return _POSE.pack(VERSION, TYPE_POSE, x, y)
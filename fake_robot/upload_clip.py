@@ -0,0 +1,77 @@
+"""
+특이행동 영상 업로드 (청크 이어 올리기).
+서버에 이미 받은 위치(Upload-Offset)를 먼저 물어보고, 거기서부터 CHUNK_MB씩 PUT 합니다.
+중간에 끊겨도 다시 실행하면 남은 부분만 보냅니다.
+
+대표 프레임(이미지)을 같이 주면 썸네일용으로 올립니다. (서버가 화면 크기에 맞게 줄여서 제공)
+
+사용법: SERVER=http://localhost:8080 TOKEN=<JWT> python upload_clip.py <videoId> <파일> [대표프레임.jpg]
+"""
+import os
+import sys
+import urllib.error
+import urllib.request
+
+SERVER = os.environ.get("SERVER", "http://localhost:8080")
+TOKEN = os.environ.get("TOKEN", "")
+CHUNK = int(float(os.environ.get("CHUNK_MB", "4")) * 1024 * 1024)
+CONTENT_TYPE = os.environ.get("CLIP_CONTENT_TYPE", "video/mp4")
+
+
+def request(method, url, data=None, headers=None):
+    req = urllib.request.Request(url, data=data, method=method, headers=headers or {})
+    if TOKEN:
+        req.add_header("Authorization", f"Bearer {TOKEN}")
+    try:
+        with urllib.request.urlopen(req) as res:
+            return res.status, res.headers
+    except urllib.error.HTTPError as e:
+        return e.code, e.headers
+
+
+def upload(video_id, path):
+    url = f"{SERVER}/api/videos/{video_id}/clip"
+    total = os.path.getsize(path)
+
+    status, headers = request("GET", url + "/upload")
+    if status != 200:
+        sys.exit(f"❌ 업로드 위치 조회 실패: {status}")
+    offset = int(headers.get("Upload-Offset", "0"))
+    print(f"📤 {path} ({total} bytes), {offset}부터 전송")
+
+    with open(path, "rb") as f:
+        while True:
+            f.seek(offset)
+            chunk = f.read(CHUNK)
+            end = offset + len(chunk) - 1
+            content_range = f"bytes {offset}-{end}/{total}" if chunk else f"bytes */{total}"
+            status, headers = request("PUT", url, data=chunk, headers={
+                "Content-Type": "application/octet-stream",
+                "Content-Range": content_range,
+                "X-Clip-Content-Type": CONTENT_TYPE,
+            })
+            if status == 200:
+                print("✅ 업로드 완료")
+                return
+            if status in (202, 409):
+                offset = int(headers.get("Upload-Offset", offset))  # 409: 서버가 가진 위치부터 다시
+                print(f"  … {offset}/{total}")
+                continue
+            sys.exit(f"❌ 업로드 실패: {status}")
+
+
+def upload_frame(video_id, path):
+    with open(path, "rb") as f:
+        status, _ = request("PUT", f"{SERVER}/api/videos/{video_id}/thumbnail", data=f.read(),
+                            headers={"Content-Type": "application/octet-stream"})
+    if status != 200:
+        sys.exit(f"❌ 대표 프레임 업로드 실패: {status}")
+    print("🖼️ 대표 프레임 업로드 완료")
+
+
+if __name__ == "__main__":
+    if len(sys.argv) not in (3, 4):
+        sys.exit("사용법: python upload_clip.py <videoId> <파일> [대표프레임.jpg]")
+    upload(sys.argv[1], sys.argv[2])
+    if len(sys.argv) == 4:
+        upload_frame(sys.argv[1], sys.argv[3])
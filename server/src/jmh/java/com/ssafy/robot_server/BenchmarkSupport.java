@@ -0,0 +1,30 @@
+package com.ssafy.robot_server;
+
+import java.lang.reflect.Field;
+
+/**
+ * 벤치마크에서 스프링 없이 실제 빈을 조립하기 위한 도우미.
+ * (@Value로 채워지는 private 필드를 직접 넣음)
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    public static void setField(Object target, String name, Object value) {
+        Class<?> type = target.getClass();
+        while (type != null) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                type = type.getSuperclass();
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalArgumentException("필드 없음: " + name);
+    }
+}
@@ -0,0 +1,46 @@
+package com.ssafy.robot_server.mqtt;
+
+import com.ssafy.robot_server.dto.RobotCommand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조종 명령 JSON 만들기 비교.
+ * - format: 예전 RobotController.handleControl (String.format)
+ * - encoder: RobotCommandEncoder (StringBuilder 재사용)
+ * 실행: ./gradlew jmh -Pjmh.includes=RobotCommandEncoderBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class RobotCommandEncoderBenchmark {
+
+    private final RobotCommand command = new RobotCommand();
+    private final StringBuilder sb = new StringBuilder(96);
+
+    @Setup
+    public void setup() {
+        command.setRobotId("robot-1");
+        command.setType("MOVE");
+        command.setLinear(0.42);
+        command.setAngular(-0.17);
+        command.setSeq(123456L);
+        command.setTs(1_700_000_000_000L);
+    }
+
+    @Benchmark
+    public String format() {
+        return String.format(
+                "{\"type\":\"%s\", \"linear\":%f, \"angular\":%f}",
+                command.getType(), command.getLinear(), command.getAngular());
+    }
+
+    @Benchmark
+    public String encoder() {
+        return RobotCommandEncoder.encode(command, sb);
+    }
+}
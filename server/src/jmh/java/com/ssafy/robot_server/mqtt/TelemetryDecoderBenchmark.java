@@ -0,0 +1,70 @@
+package com.ssafy.robot_server.mqtt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MQTT 상태 메시지 파싱 비교.
+ * - treeFromString: 기존 경로 (byte[] → String → readTree → has()/get())
+ * - streaming: TelemetryDecoder (byte[] → 재사용 TelemetryFrame)
+ * - binary: BinaryTelemetryCodec v1 (같은 값, 21바이트)
+ * 실행: ./gradlew jmh -Pjmh.includes=TelemetryDecoderBenchmark (gc 프로파일러 기본 포함, 할당량은 gc.alloc.rate.norm)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class TelemetryDecoderBenchmark {
+
+    // 시뮬레이터(robot_simulation_full.py)가 보내는 모양 + 모르는 필드 하나
+    private static final byte[] STATUS = ("{\"batteryLevel\": 87, \"temperature\": 41.3, \"isCharging\": false, " +
+            "\"x\": 52.5, \"y\": 17.25, \"mode\": \"patrol\", \"extra\": {\"fw\": \"1.2.0\", \"rssi\": [-61, -63]}}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] STATUS_BINARY =
+            BinaryTelemetryCodec.encodeStatus(87, 41.3, false, 52.5, 17.25, "patrol");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TelemetryFrame frame = new TelemetryFrame();
+
+    @Benchmark
+    public void treeFromString(Blackhole bh) throws Exception {
+        String payload = new String(STATUS, StandardCharsets.UTF_8); // DefaultPahoMessageConverter 기본 동작
+        JsonNode json = objectMapper.readTree(payload);
+        bh.consume(json.get("batteryLevel").asInt());
+        bh.consume(json.get("temperature").asDouble());
+        bh.consume(json.get("isCharging").asBoolean());
+        bh.consume(json.has("x") ? json.get("x").asDouble() : 0.0);
+        bh.consume(json.has("y") ? json.get("y").asDouble() : 0.0);
+        bh.consume(json.has("mode") ? json.get("mode").asText() : "unknown");
+    }
+
+    @Benchmark
+    public void streaming(Blackhole bh) throws Exception {
+        TelemetryDecoder.decode(STATUS, frame, BinaryTelemetryCodec.TYPE_STATUS);
+        bh.consume(frame.batteryLevel);
+        bh.consume(frame.temperature);
+        bh.consume(frame.isCharging);
+        bh.consume(frame.x);
+        bh.consume(frame.y);
+        bh.consume(frame.mode);
+    }
+
+    @Benchmark
+    public void binary(Blackhole bh) {
+        BinaryTelemetryCodec.decode(STATUS_BINARY, frame);
+        bh.consume(frame.batteryLevel);
+        bh.consume(frame.temperature);
+        bh.consume(frame.isCharging);
+        bh.consume(frame.x);
+        bh.consume(frame.y);
+        bh.consume(frame.mode);
+    }
+}
@@ -0,0 +1,64 @@
+package com.ssafy.robot_server.security;
+
+import com.ssafy.robot_server.domain.User;
+import com.ssafy.robot_server.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.ssafy.robot_server.BenchmarkSupport.setField;
+
+/**
+ * JWT 인증 비용 (요청/STOMP CONNECT마다 하는 일).
+ * - validateThenParse: 예전 필터 (validateToken + getEmailFromToken = 서명 검증 2번)
+ * - parseClaims: 서명 검증 1번
+ * - cachedResolve: AuthenticatedUserCache 적중 (SHA-256 + 맵 조회)
+ * 실행: ./gradlew jmh -Pjmh.includes=JwtTokenProviderBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private AuthenticatedUserCache cache;
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenProvider = new JwtTokenProvider();
+        setField(tokenProvider, "secretKey", "ThisIsASecretKeyForRobotProjectMustBeVeryLongToWorkCorrectly123456");
+        tokenProvider.init();
+        token = tokenProvider.createToken("bench@example.com");
+
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("bench@example.com");
+        // findByEmail만 쓰므로 나머지 메서드는 호출되지 않음
+        UserRepository users = (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> "findByEmail".equals(method.getName()) ? Optional.of(user) : null);
+        cache = new AuthenticatedUserCache(tokenProvider, users, 10_000, 300);
+        cache.resolve(token); // 캐시 채우기
+    }
+
+    @Benchmark
+    public String validateThenParse() {
+        return tokenProvider.validateToken(token) ? tokenProvider.getEmailFromToken(token) : null;
+    }
+
+    @Benchmark
+    public String parseClaims() {
+        return tokenProvider.parseClaims(token).getSubject();
+    }
+
+    @Benchmark
+    public String cachedResolve() {
+        return cache.resolve(token).email();
+    }
+}
@@ -0,0 +1,88 @@
+package com.ssafy.robot_server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.robot_server.mqtt.BinaryTelemetryCodec;
+import com.ssafy.robot_server.mqtt.MqttGateway;
+import com.ssafy.robot_server.websocket.SignalingRelay;
+import com.ssafy.robot_server.websocket.StompSessionSender;
+import com.ssafy.robot_server.websocket.TelemetryFanout;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.ssafy.robot_server.BenchmarkSupport.setField;
+
+/**
+ * MqttService.handleMessage 전체 경로 (토픽 해석 → 파싱 → RobotStatus 생성 → 저장 큐/캐시/팬아웃).
+ * 저장 큐는 바로 버리는 큐로 바꿔서 DB 없이 수신 스레드가 하는 일만 잽니다.
+ * 실행: ./gradlew jmh -Pjmh.includes=MqttServiceBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class MqttServiceBenchmark {
+
+    private static final String STATUS_TOPIC = "/robot/robot-1/status";
+    private static final String POSE_TOPIC = "/robot/robot-1/pose";
+
+    private static final byte[] STATUS_JSON = ("{\"batteryLevel\": 87, \"temperature\": 41.3, \"isCharging\": false, " +
+            "\"x\": 52.5, \"y\": 17.25, \"mode\": \"patrol\"}").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] STATUS_BINARY = BinaryTelemetryCodec.encodeStatus(87, 41.3, false, 52.5, 17.25, "patrol");
+    private static final byte[] POSE_JSON = "{\"x\": 52.5, \"y\": 17.25}".getBytes(StandardCharsets.UTF_8);
+
+    private MqttService mqttService;
+
+    @Setup
+    public void setup() {
+        PipelineMetrics metrics = new PipelineMetrics(new SimpleMeterRegistry());
+        MessageChannel discard = (message, timeout) -> true;
+
+        TelemetryWriter writer = new TelemetryWriter(null, metrics);
+        setField(writer, "queue", new LinkedBlockingQueue<Object>() {
+            @Override
+            public boolean offer(Object o) {
+                return true; // 저장은 측정 대상이 아님
+            }
+        });
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        StompSessionSender sender = new StompSessionSender(discard, new MappingJackson2MessageConverter());
+        TelemetryFanout fanout = new TelemetryFanout(sender, objectMapper, metrics);
+        MqttGateway gateway = new MqttGateway() {
+            @Override
+            public void sendToMqtt(String data, String topic) {
+            }
+
+            @Override
+            public void sendToMqtt(String data, String topic, int qos) {
+            }
+        };
+
+        mqttService = new MqttService(gateway, writer, new RobotStateCache(),
+                fanout, new CommandLatencyTracker(), metrics, new SignalingRelay(sender, gateway, objectMapper),
+                new CatStateTable(null, null, null)); // 감지 토픽은 측정 대상 아님
+    }
+
+    @Benchmark
+    public void statusJson() {
+        mqttService.handleMessage(STATUS_JSON, STATUS_TOPIC);
+    }
+
+    @Benchmark
+    public void statusBinary() {
+        mqttService.handleMessage(STATUS_BINARY, STATUS_TOPIC);
+    }
+
+    @Benchmark
+    public void poseJson() {
+        mqttService.handleMessage(POSE_JSON, POSE_TOPIC);
+    }
+}
@@ -0,0 +1,115 @@
+package com.ssafy.robot_server.tsdb;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 압축 세그먼트 저장소 vs 행(row) 단위 고정 폭 레이아웃 비교.
+ * - 샘플당 바이트: Setup에서 출력 (행 레이아웃은 Postgres 튜플 헤더/인덱스를 뺀 순수 컬럼 크기라 실제 테이블보다 작음)
+ * - 스캔 처리량: 10Hz 상태 데이터 하루치(864,000건)를 전부 읽는 속도
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=SegmentStoreBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class SegmentStoreBenchmark {
+
+    private static final int SAMPLES = 864_000;   // 10Hz x 24시간
+    private static final int COLUMNS = 6;         // battery, temperature, charging, x, y, mode
+    private static final int ROW_BYTES = 8 + COLUMNS * 8;
+
+    private Path dir;
+    private SegmentStore store;
+    private ByteBuffer rows;
+    private long from;
+    private long to;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("tsdb-bench");
+        store = new SegmentStore(dir, 60 * 60_000L);
+        rows = ByteBuffer.allocateDirect(SAMPLES * ROW_BYTES);
+
+        // 시뮬레이터와 비슷한 데이터: 100ms 간격(약간의 지터), 천천히 움직이는 좌표, 거의 안 바뀌는 배터리/온도
+        Random random = new Random(42);
+        int batch = 500; // TelemetryWriter 기본 batch-size
+        long[] ts = new long[batch];
+        double[][] cols = new double[COLUMNS][batch];
+        long t = 1_700_000_000_000L;
+        double x = 50, y = 50, battery = 100;
+        from = t;
+
+        for (int i = 0; i < SAMPLES; i += batch) {
+            int n = Math.min(batch, SAMPLES - i);
+            for (int j = 0; j < n; j++) {
+                t += 100 + random.nextInt(3) - 1;
+                x = Math.max(0, Math.min(100, x + (random.nextInt(5) - 2) * 0.5));
+                y = Math.max(0, Math.min(100, y + (random.nextInt(5) - 2) * 0.5));
+                battery = Math.max(0, battery - 0.0001);
+                ts[j] = t;
+                cols[0][j] = (int) battery;
+                cols[1][j] = 36.5;
+                cols[2][j] = 0;
+                cols[3][j] = Math.round(x * 100) / 100.0;
+                cols[4][j] = Math.round(y * 100) / 100.0;
+                cols[5][j] = 0;
+
+                rows.putLong(ts[j]);
+                for (int c = 0; c < COLUMNS; c++) rows.putDouble(cols[c][j]);
+            }
+            store.append("status", "bench", ts, cols, new String[]{"manual"}, n);
+        }
+        rows.flip();
+        to = t + 1;
+
+        long segmentBytes = store.sizeOnDisk("status", "bench");
+        System.out.printf("%n[bytes/sample] segment=%.2f, row(raw columns)=%d%n",
+                (double) segmentBytes / SAMPLES, ROW_BYTES);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void scanSegments(Blackhole bh) {
+        store.scan("status", "bench", from, to, (ts, values, dict) -> {
+            bh.consume(ts);
+            bh.consume(values[3]);
+            bh.consume(values[4]);
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void scanRowLayout(Blackhole bh) {
+        ByteBuffer buf = rows.duplicate();
+        double[] values = new double[COLUMNS];
+        while (buf.hasRemaining()) {
+            long ts = buf.getLong();
+            for (int c = 0; c < COLUMNS; c++) values[c] = buf.getDouble();
+            if (ts >= from && ts < to) {
+                bh.consume(ts);
+                bh.consume(values[3]);
+                bh.consume(values[4]);
+            }
+        }
+    }
+}
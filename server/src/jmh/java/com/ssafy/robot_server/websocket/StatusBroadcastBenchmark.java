@@ -0,0 +1,71 @@
+package com.ssafy.robot_server.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.robot_server.domain.RobotStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 웹소켓 상태 전송 비용 (RobotStatus → STOMP 메시지).
+ * - template: SimpMessagingTemplate.convertAndSend (브로커 컨버터로 매번 JSON 변환 + 헤더 생성)
+ * - converterOnly: 같은 컨버터의 JSON 변환만
+ * - preSerialized: TelemetryFanout처럼 한 번 만든 JSON 바이트를 StompSessionSender.sendJson으로 재사용
+ * 실행: ./gradlew jmh -Pjmh.includes=StatusBroadcastBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class StatusBroadcastBenchmark {
+
+    private final MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter(); // 브로커 기본 컨버터
+    private Message<?> last;
+    private SimpMessagingTemplate template;
+    private StompSessionSender sessionSender;
+    private RobotStatus status;
+    private byte[] json;
+
+    @Setup
+    public void setup() throws Exception {
+        MessageChannel capture = (message, timeout) -> {
+            last = message;
+            return true;
+        };
+        template = new SimpMessagingTemplate(capture);
+        template.setMessageConverter(converter);
+        sessionSender = new StompSessionSender(capture, converter);
+
+        status = RobotStatus.builder()
+                .id(1L).robotId("robot-1").batteryLevel(87).temperature(41.3).isCharging(false)
+                .x(52.5).y(17.25).mode("patrol").timestamp(LocalDateTime.now())
+                .build();
+        json = converter.getObjectMapper().writeValueAsBytes(status);
+    }
+
+    @Benchmark
+    public Message<?> template() {
+        template.convertAndSend("/sub/robot/status", status);
+        return last;
+    }
+
+    @Benchmark
+    public void converterOnly(Blackhole bh) throws Exception {
+        ObjectMapper mapper = converter.getObjectMapper();
+        bh.consume(mapper.writeValueAsBytes(status));
+    }
+
+    @Benchmark
+    public Message<?> preSerialized() {
+        sessionSender.sendJson("session-1", "sub-0", "/sub/robot/status", json);
+        return last;
+    }
+}
@@ -0,0 +1,135 @@
+package com.ssafy.robot_server.loadtest;
+
+import com.ssafy.robot_server.mqtt.BinaryTelemetryCodec;
+import com.ssafy.robot_server.mqtt.TelemetryDecoder;
+import com.ssafy.robot_server.mqtt.TelemetryFrame;
+import org.HdrHistogram.Recorder;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가상 대시보드 M개 (STOMP over WebSocket, 실제 화면과 같은 /ws 엔드포인트).
+ * - /sub/robot/status 를 rate 헤더와 함께 구독하고, 받은 상태의 mode("lt{nanoTime}")로 발행→수신 지연을 기록
+ * - control-hz > 0 이면 임의 로봇에게 MOVE를 /pub/robot/control 로 보냄
+ */
+final class DashboardFleet implements AutoCloseable {
+
+    private final LoadTestConfig config;
+    private final List<StompSession> sessions = new ArrayList<>();
+    private WebSocketStompClient stompClient;
+    private ScheduledExecutorService scheduler;
+
+    // 발행 → 대시보드 수신 지연 (마이크로초, 최대 60초)
+    final Recorder latency = new Recorder(TimeUnit.SECONDS.toMicros(60), 3);
+    final AtomicLong received = new AtomicLong();
+    final AtomicLong commandsSent = new AtomicLong();
+    final AtomicLong disconnects = new AtomicLong();
+
+    DashboardFleet(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    void start(int serverPort) throws Exception {
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setInboundMessageSizeLimit(512 * 1024);
+        String url = "ws://127.0.0.1:" + serverPort + "/ws";
+        for (int i = 0; i < config.dashboards(); i++) {
+            StompSession session = stompClient.connectAsync(url, new WebSocketHttpHeaders(), new Handler())
+                    .get(10, TimeUnit.SECONDS);
+            StompHeaders headers = new StompHeaders();
+            headers.setDestination("/sub/robot/status");
+            headers.add("rate", String.valueOf(config.dashboardRateHz()));
+            session.subscribe(headers, new StatusHandler());
+            sessions.add(session);
+        }
+
+        if (config.controlHz() > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "lt-dashboard");
+                t.setDaemon(true);
+                return t;
+            });
+            long period = (long) (1_000_000 / config.controlHz());
+            for (StompSession session : sessions) {
+                scheduler.scheduleAtFixedRate(() -> sendMove(session),
+                        ThreadLocalRandom.current().nextLong(period), period, TimeUnit.MICROSECONDS);
+            }
+        }
+    }
+
+    private void sendMove(StompSession session) {
+        if (!session.isConnected()) return;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String robotId = String.format("lt-robot-%04d", random.nextInt(Math.max(1, config.robots())));
+        String move = "{\"robotId\":\"" + robotId + "\",\"type\":\"MOVE\",\"linear\":" + random.nextDouble(-1, 1)
+                + ",\"angular\":" + random.nextDouble(-1, 1) + ",\"ts\":" + System.currentTimeMillis() + "}";
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination("/pub/robot/control");
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        session.send(headers, move.getBytes(StandardCharsets.UTF_8));
+        commandsSent.incrementAndGet();
+    }
+
+    int connectedSessions() {
+        int connected = 0;
+        for (StompSession session : sessions) if (session.isConnected()) connected++;
+        return connected;
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) scheduler.shutdownNow();
+        for (StompSession session : sessions) {
+            if (session.isConnected()) session.disconnect();
+        }
+        if (stompClient != null) stompClient.stop();
+    }
+
+    private final class Handler extends StompSessionHandlerAdapter {
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            if (!session.isConnected()) disconnects.incrementAndGet();
+        }
+    }
+
+    // 세션마다 하나 (세션의 메시지는 순서대로 한 스레드에서 옴)
+    private final class StatusHandler implements StompFrameHandler {
+        private final TelemetryFrame frame = new TelemetryFrame();
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return byte[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            long now = System.nanoTime();
+            received.incrementAndGet();
+            try {
+                if (!TelemetryDecoder.decode((byte[]) payload, frame, BinaryTelemetryCodec.TYPE_STATUS)) return;
+                String mode = frame.mode;
+                if (mode == null || !mode.startsWith(RobotFleet.MODE_PREFIX)) return;
+                long sentNanos = Long.parseLong(mode, RobotFleet.MODE_PREFIX.length(), mode.length(), 10);
+                latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(now - sentNanos), TimeUnit.SECONDS.toMicros(60)));
+            } catch (Exception ignored) {
+                // 부하 테스트 로봇이 아닌 상태 메시지
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.ssafy.robot_server.loadtest;
+
+import io.moquette.broker.Server;
+import io.moquette.broker.config.MemoryConfig;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Properties;
+
+/**
+ * 네트워크 없이 한 장비에서 돌리기 위한 내장 MQTT 브로커(Moquette) + PostgreSQL(zonky, 바이너리 포함).
+ * 둘 다 127.0.0.1의 빈 포트에서 뜹니다.
+ */
+final class EmbeddedInfra implements AutoCloseable {
+
+    private Server broker;
+    private EmbeddedPostgres postgres;
+    private int mqttPort;
+
+    void startBroker() throws IOException {
+        mqttPort = freePort();
+        Properties props = new Properties();
+        props.setProperty("host", "127.0.0.1");
+        props.setProperty("port", String.valueOf(mqttPort));
+        props.setProperty("websocket_port", "disabled");
+        props.setProperty("allow_anonymous", "true");
+        props.setProperty("persistence_enabled", "false");
+        broker = new Server();
+        broker.startServer(new MemoryConfig(props));
+    }
+
+    // jdbcUrl (내장 DB)
+    String startPostgres() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        return postgres.getJdbcUrl("postgres", "postgres");
+    }
+
+    String mqttUrl() {
+        return "tcp://127.0.0.1:" + mqttPort;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (broker != null) broker.stopServer();
+        if (postgres != null) postgres.close();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ssafy.robot_server.loadtest;
+
+/**
+ * 부하 테스트 설정 (시스템 프로퍼티 loadtest.*, ./gradlew soak -Ploadtest.robots=200 처럼 전달).
+ */
+record LoadTestConfig(
+        int robots,             // 가상 로봇 수
+        double statusHz,        // 로봇당 상태 전송 주기
+        double poseHz,          // 로봇당 위치 전송 주기
+        boolean binary,         // 상태를 바이너리 형식으로 보낼지 (기본 JSON)
+        int mqttConnections,    // 로봇들이 나눠 쓰는 MQTT 연결 수
+        int dashboards,         // 가상 대시보드(STOMP 세션) 수
+        int dashboardRateHz,    // 대시보드 구독 주기 (rate 헤더)
+        double controlHz,       // 대시보드당 MOVE 전송 주기 (0이면 안 보냄)
+        long durationSeconds,   // 전체 측정 시간
+        long warmupSeconds,     // 처음 이 시간 동안의 값은 결과에서 제외
+        long reportSeconds,     // 중간 보고 주기
+        String jdbcUrl,         // 비우면 내장 PostgreSQL 사용
+        String jdbcUser,
+        String jdbcPassword,
+        String storageEngine,   // telemetry.storage.engine (jpa | tsdb)
+        int videoRobots,        // 영상 업링크를 보내는 가상 로봇 수 (0이면 영상 중계 시험 안 함)
+        int videoViewers,       // 영상 로봇당 시청자 수
+        int videoFps,           // 업링크 프레임 주기
+        int videoFrameBytes     // 가짜 프레임 크기 (앞 8바이트는 보낸 시각)
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.robots", 50),
+                doubleProp("loadtest.status-hz", 10),
+                doubleProp("loadtest.pose-hz", 20),
+                Boolean.parseBoolean(System.getProperty("loadtest.binary", "false")),
+                Integer.getInteger("loadtest.mqtt-connections", 8),
+                Integer.getInteger("loadtest.dashboards", 100),
+                Integer.getInteger("loadtest.dashboard-rate-hz", 30),
+                doubleProp("loadtest.control-hz", 2),
+                Long.getLong("loadtest.duration-seconds", 600),
+                Long.getLong("loadtest.warmup-seconds", 30),
+                Long.getLong("loadtest.report-seconds", 10),
+                System.getProperty("loadtest.jdbc-url", ""),
+                System.getProperty("loadtest.jdbc-user", "postgres"),
+                System.getProperty("loadtest.jdbc-password", "postgres"),
+                System.getProperty("loadtest.storage", "jpa"),
+                Integer.getInteger("loadtest.video-robots", 0),
+                Integer.getInteger("loadtest.video-viewers", 20),
+                Integer.getInteger("loadtest.video-fps", 15),
+                Integer.getInteger("loadtest.video-frame-bytes", 40_000));
+    }
+
+    private static double doubleProp(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : Double.parseDouble(value);
+    }
+}
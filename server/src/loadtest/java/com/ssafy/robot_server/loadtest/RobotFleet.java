@@ -0,0 +1,187 @@
+package com.ssafy.robot_server.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.robot_server.mqtt.BinaryTelemetryCodec;
+import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
+import org.eclipse.paho.client.mqttv3.MqttAsyncClient;
+import org.eclipse.paho.client.mqttv3.MqttCallback;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가상 로봇 N대 (MQTT).
+ * - 로봇마다 /robot/{id}/status, /robot/{id}/pose 를 정해진 주기로 발행 (QoS 0, 실제 로봇과 동일)
+ * - 상태의 mode 필드에 발행 시각을 넣음: "lt{System.nanoTime}" → 대시보드가 받은 시각과 비교해 종단 지연 계산
+ *   (같은 JVM이라 nanoTime을 그대로 비교할 수 있음)
+ * - /robot/+/control 을 구독해 seq가 있으면 /control/ack 로 돌려줌 (서버의 명령 지연 측정용)
+ */
+final class RobotFleet implements AutoCloseable {
+
+    static final String MODE_PREFIX = "lt";
+
+    private final LoadTestConfig config;
+    private final List<MqttAsyncClient> clients = new ArrayList<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ScheduledExecutorService scheduler;
+    private MqttAsyncClient ackClient;
+
+    final AtomicLong published = new AtomicLong();
+    final AtomicLong publishFailures = new AtomicLong();
+    final AtomicLong commandsReceived = new AtomicLong();
+
+    RobotFleet(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    void start(String brokerUrl) throws MqttException {
+        int connections = Math.max(1, Math.min(config.mqttConnections(), config.robots()));
+        for (int i = 0; i < connections; i++) {
+            clients.add(connect(brokerUrl, "lt-fleet-" + i));
+        }
+        ackClient = connect(brokerUrl, "lt-fleet-ack");
+        ackClient.setCallback(new AckCallback());
+        ackClient.subscribe("/robot/+/control", 0);
+
+        scheduler = Executors.newScheduledThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 2), r -> {
+            Thread t = new Thread(r, "lt-fleet");
+            t.setDaemon(true);
+            return t;
+        });
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int r = 0; r < config.robots(); r++) {
+            String robotId = String.format("lt-robot-%04d", r);
+            MqttAsyncClient client = clients.get(r % clients.size());
+            Robot robot = new Robot(robotId, client, random.nextDouble(0, 100), random.nextDouble(0, 100));
+            // 시작 시점을 흩어서 모든 로봇이 같은 순간에 몰리지 않게
+            if (config.statusHz() > 0) {
+                long period = (long) (1_000_000 / config.statusHz());
+                scheduler.scheduleAtFixedRate(robot::publishStatus, random.nextLong(period), period, TimeUnit.MICROSECONDS);
+            }
+            if (config.poseHz() > 0) {
+                long period = (long) (1_000_000 / config.poseHz());
+                scheduler.scheduleAtFixedRate(robot::publishPose, random.nextLong(period), period, TimeUnit.MICROSECONDS);
+            }
+        }
+    }
+
+    private static MqttAsyncClient connect(String brokerUrl, String clientId) throws MqttException {
+        MqttAsyncClient client = new MqttAsyncClient(brokerUrl, clientId, new MemoryPersistence());
+        MqttConnectOptions options = new MqttConnectOptions();
+        options.setCleanSession(true);
+        options.setMaxInflight(65_535);
+        options.setAutomaticReconnect(true);
+        client.connect(options).waitForCompletion(10_000);
+        return client;
+    }
+
+    private void publish(MqttAsyncClient client, String topic, byte[] payload) {
+        try {
+            client.publish(topic, payload, 0, false);
+            published.incrementAndGet();
+        } catch (MqttException e) {
+            publishFailures.incrementAndGet(); // 연결 끊김/전송 대기 초과 → 보내지 못한 메시지
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) scheduler.shutdownNow();
+        for (MqttAsyncClient client : clients) disconnect(client);
+        if (ackClient != null) disconnect(ackClient);
+    }
+
+    private static void disconnect(MqttAsyncClient client) {
+        try {
+            client.disconnect().waitForCompletion(2_000);
+            client.close();
+        } catch (MqttException ignored) {
+        }
+    }
+
+    private final class Robot {
+        final String statusTopic;
+        final String poseTopic;
+        final MqttAsyncClient client;
+        final StringBuilder sb = new StringBuilder(160);
+        double x;
+        double y;
+        int battery = 100;
+
+        Robot(String robotId, MqttAsyncClient client, double x, double y) {
+            this.statusTopic = "/robot/" + robotId + "/status";
+            this.poseTopic = "/robot/" + robotId + "/pose";
+            this.client = client;
+            this.x = x;
+            this.y = y;
+        }
+
+        // 스케줄러는 같은 작업을 동시에 돌리지 않지만 status/pose가 다른 스레드일 수 있어 동기화
+        synchronized void publishStatus() {
+            step();
+            String mode = MODE_PREFIX + System.nanoTime();
+            byte[] payload;
+            if (config.binary()) {
+                payload = BinaryTelemetryCodec.encodeStatus(battery, 40.0, false, x, y, mode);
+            } else {
+                sb.setLength(0);
+                sb.append("{\"batteryLevel\":").append(battery)
+                        .append(",\"temperature\":40.0,\"isCharging\":false,\"x\":").append(x)
+                        .append(",\"y\":").append(y)
+                        .append(",\"mode\":\"").append(mode).append("\"}");
+                payload = sb.toString().getBytes(StandardCharsets.UTF_8);
+            }
+            publish(client, statusTopic, payload);
+        }
+
+        synchronized void publishPose() {
+            step();
+            sb.setLength(0);
+            sb.append("{\"x\":").append(x).append(",\"y\":").append(y).append('}');
+            publish(client, poseTopic, sb.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void step() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            x = Math.max(0, Math.min(100, x + random.nextDouble(-0.5, 0.5)));
+            y = Math.max(0, Math.min(100, y + random.nextDouble(-0.5, 0.5)));
+            if (random.nextInt(1000) == 0) battery = battery <= 5 ? 100 : battery - 1;
+        }
+    }
+
+    // 서버가 보낸 명령에 ack (fake_robot/robot_simulation_full.py와 같은 형식)
+    private final class AckCallback implements MqttCallback {
+        @Override
+        public void messageArrived(String topic, MqttMessage message) {
+            commandsReceived.incrementAndGet();
+            try {
+                JsonNode command = objectMapper.readTree(message.getPayload());
+                if (!command.hasNonNull("seq")) return;
+                String ack = "{\"seq\":" + command.get("seq").asLong() + ",\"type\":\"" + command.path("type").asText()
+                        + "\",\"robotTs\":" + System.currentTimeMillis() + "}";
+                ackClient.publish(topic + "/ack", ack.getBytes(StandardCharsets.UTF_8), 0, false);
+            } catch (Exception ignored) {
+                // 부하 중 ack 실패는 서버 쪽 timeout/lost 지표로 드러남
+            }
+        }
+
+        @Override
+        public void connectionLost(Throwable cause) {
+        }
+
+        @Override
+        public void deliveryComplete(IMqttDeliveryToken token) {
+        }
+    }
+}
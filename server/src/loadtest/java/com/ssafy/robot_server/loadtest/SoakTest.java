@@ -0,0 +1,260 @@
+package com.ssafy.robot_server.loadtest;
+
+import com.ssafy.robot_server.ServerApplication;
+import com.ssafy.robot_server.domain.User;
+import com.ssafy.robot_server.repository.RobotOwnerRepository;
+import com.ssafy.robot_server.repository.UserRepository;
+import com.ssafy.robot_server.security.JwtTokenProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 한 장비에서 돌리는 소크 테스트.
+ * 1. 내장 MQTT 브로커 + (loadtest.jdbc-url이 없으면) 내장 PostgreSQL 시작
+ * 2. 같은 JVM에서 서버 시작 (임의 포트)
+ * 3. 가상 로봇 N대(RobotFleet)와 대시보드 M개(DashboardFleet) 연결 (video-robots > 0 이면 영상 중계 VideoFleet도)
+ * 4. report-seconds마다 처리량/지연/유실/힙·GC를 출력하고, 끝나면 요약 + CSV(build/loadtest/) 저장
+ * 서버와 부하 생성기가 같은 JVM이므로 힙/GC 값에는 생성기 몫도 섞여 있습니다. (상대 비교용)
+ *
+ * 실행: ./gradlew soak -Ploadtest.robots=200 -Ploadtest.dashboards=300 -Ploadtest.duration-seconds=1800
+ */
+public class SoakTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        System.out.println("🧪 소크 테스트 설정: " + config);
+
+        try (EmbeddedInfra infra = new EmbeddedInfra()) {
+            infra.startBroker();
+            String jdbcUrl = config.jdbcUrl().isBlank() ? infra.startPostgres() : config.jdbcUrl();
+
+            Map<String, Object> props = new HashMap<>();
+            props.put("server.port", 0);
+            props.put("mqtt.broker-url", infra.mqttUrl());
+            props.put("mqtt.client-id", "loadtest-server");
+            props.put("spring.datasource.url", jdbcUrl);
+            props.put("spring.datasource.username", config.jdbcUser());
+            props.put("spring.datasource.password", config.jdbcPassword());
+            props.put("spring.jpa.show-sql", false);
+            props.put("spring.jpa.properties.hibernate.format_sql", false);
+            props.put("telemetry.storage.engine", config.storageEngine());
+            props.put("telemetry.storage.tsdb.dir", "build/loadtest/tsdb");
+            props.put("video.relay.ingest-token", VIDEO_INGEST_TOKEN);
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ServerApplication.class)
+                    .properties(props).run();
+                 RobotFleet robots = new RobotFleet(config);
+                 DashboardFleet dashboards = new DashboardFleet(config);
+                 VideoFleet video = new VideoFleet(config)) {
+
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                dashboards.start(port);
+                if (config.videoRobots() > 0) video.start(port, VIDEO_INGEST_TOKEN, videoViewerToken(context, config));
+                robots.start(infra.mqttUrl());
+                new SoakTest(config, context.getBean(MeterRegistry.class), robots, dashboards, video).run();
+            }
+        }
+        System.exit(0);
+    }
+
+    private final LoadTestConfig config;
+    private final MeterRegistry registry;
+    private final RobotFleet robots;
+    private final DashboardFleet dashboards;
+    private final VideoFleet video;
+
+    private static final String VIDEO_INGEST_TOKEN = "loadtest-video-ingest";
+
+    // 워밍업 이후 전체 구간
+    private final Histogram totalLatency = new Histogram(60_000_000L, 3);
+    private final Histogram videoLatency = new Histogram(60_000_000L, 3);
+    private final Map<String, Double> previous = new HashMap<>();
+    private long measuredIngest;
+    private long measuredSeconds;
+    private long maxHeapUsed;
+
+    // 영상 시청자용: 시험 사용자를 만들고 lt-video 로봇들의 주인으로 등록한 뒤 JWT 발급
+    private static String videoViewerToken(ConfigurableApplicationContext context, LoadTestConfig config) {
+        String email = "loadtest-video@example.com";
+        UserRepository users = context.getBean(UserRepository.class);
+        User user = users.findByEmail(email).orElseGet(() -> {
+            User u = new User();
+            u.setName("loadtest");
+            u.setEmail(email);
+            u.setPassword("loadtest-password");
+            return users.save(u);
+        });
+        RobotOwnerRepository owners = context.getBean(RobotOwnerRepository.class);
+        for (int r = 0; r < config.videoRobots(); r++) owners.claimIfUnowned(VideoFleet.robotId(r), user.getId());
+        return context.getBean(JwtTokenProvider.class).createToken(email);
+    }
+
+    private SoakTest(LoadTestConfig config, MeterRegistry registry, RobotFleet robots, DashboardFleet dashboards,
+                     VideoFleet video) {
+        this.config = config;
+        this.registry = registry;
+        this.robots = robots;
+        this.dashboards = dashboards;
+        this.video = video;
+    }
+
+    private void run() throws IOException, InterruptedException {
+        Path csvPath = Path.of("build", "loadtest",
+                "soak-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+        Files.createDirectories(csvPath.getParent());
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(csvPath))) {
+            csv.println("elapsed_s,published_per_s,ingested_per_s,browser_msgs_per_s,p50_ms,p99_ms,p999_ms,max_ms,"
+                    + "publish_failures,mqtt_failed,writer_dropped,ws_dropped,writer_queue,sessions,heap_used_mb,gc_count,gc_ms");
+            long started = System.nanoTime();
+            long reportNanos = config.reportSeconds() * 1_000_000_000L;
+            long next = started + reportNanos;
+            dashboards.latency.reset();
+            video.latency.reset();
+            snapshot(); // 기준값
+
+            while (System.nanoTime() - started < config.durationSeconds() * 1_000_000_000L) {
+                long sleep = next - System.nanoTime();
+                if (sleep > 0) Thread.sleep(sleep / 1_000_000, (int) (sleep % 1_000_000));
+                next += reportNanos;
+                long elapsed = (System.nanoTime() - started) / 1_000_000_000L;
+                report(csv, elapsed, elapsed > config.warmupSeconds());
+            }
+        }
+        printSummary(csvPath);
+    }
+
+    private void report(PrintWriter csv, long elapsed, boolean measured) {
+        Map<String, Double> now = snapshot();
+        double secs = config.reportSeconds();
+        double published = delta(now, "published") / secs;
+        double ingested = delta(now, "written") / secs;
+        double browser = delta(now, "received") / secs;
+        Histogram interval = dashboards.latency.getIntervalHistogram();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        maxHeapUsed = Math.max(maxHeapUsed, heap.getUsed());
+
+        Histogram videoInterval = video.latency.getIntervalHistogram();
+        if (measured) {
+            totalLatency.add(interval);
+            videoLatency.add(videoInterval);
+            measuredIngest += (long) delta(now, "written");
+            measuredSeconds += config.reportSeconds();
+        }
+
+        System.out.printf("⏱️ %5ds 발행 %8.0f/s  저장 %8.0f/s  화면수신 %8.0f/s  지연 p50 %6.1f p99 %6.1f max %7.1f ms  "
+                        + "유실(발행 %d, 파싱 %d, 저장큐 %d, 웹소켓 %d)  힙 %d MB  GC %d회/%d ms%s%n",
+                elapsed, published, ingested, browser,
+                ms(interval.getValueAtPercentile(50)), ms(interval.getValueAtPercentile(99)), ms(interval.getMaxValue()),
+                (long) delta(now, "publishFailures"), (long) delta(now, "mqttFailed"),
+                (long) delta(now, "writerDropped"), (long) delta(now, "wsDropped"),
+                heap.getUsed() >> 20, (long) delta(now, "gcCount"), (long) delta(now, "gcMillis"),
+                measured ? "" : "  (워밍업)");
+
+        csv.printf("%d,%.1f,%.1f,%.1f,%.3f,%.3f,%.3f,%.3f,%d,%d,%d,%d,%d,%d,%d,%d,%d%n",
+                elapsed, published, ingested, browser,
+                ms(interval.getValueAtPercentile(50)), ms(interval.getValueAtPercentile(99)),
+                ms(interval.getValueAtPercentile(99.9)), ms(interval.getMaxValue()),
+                (long) delta(now, "publishFailures"), (long) delta(now, "mqttFailed"),
+                (long) delta(now, "writerDropped"), (long) delta(now, "wsDropped"),
+                (long) gauge("telemetry.writer.queue.depth"), dashboards.connectedSessions(),
+                heap.getUsed() >> 20, (long) delta(now, "gcCount"), (long) delta(now, "gcMillis"));
+        csv.flush();
+        previous.putAll(now);
+    }
+
+    private void printSummary(Path csvPath) {
+        Map<String, Double> now = snapshot();
+        System.out.println("===== 소크 테스트 결과 (워밍업 " + config.warmupSeconds() + "초 제외) =====");
+        System.out.printf("로봇 %d대 × (상태 %.1fHz + 위치 %.1fHz), 대시보드 %d개 (%dHz 구독)%n",
+                config.robots(), config.statusHz(), config.poseHz(), config.dashboards(), config.dashboardRateHz());
+        System.out.printf("지속 저장 처리량: %.0f건/s%n", measuredSeconds == 0 ? 0.0 : (double) measuredIngest / measuredSeconds);
+        System.out.printf("발행→화면 지연: p50 %.1f / p90 %.1f / p99 %.1f / p99.9 %.1f / max %.1f ms (%d건)%n",
+                ms(totalLatency.getValueAtPercentile(50)), ms(totalLatency.getValueAtPercentile(90)),
+                ms(totalLatency.getValueAtPercentile(99)), ms(totalLatency.getValueAtPercentile(99.9)),
+                ms(totalLatency.getMaxValue()), totalLatency.getTotalCount());
+        System.out.printf("유실 합계: 발행 실패 %d, 파싱 실패 %d, 저장 큐 %d, 웹소켓 송신 큐 %d, 세션 끊김 %d%n",
+                now.get("publishFailures").longValue(), now.get("mqttFailed").longValue(),
+                now.get("writerDropped").longValue(), now.get("wsDropped").longValue(), dashboards.disconnects.get());
+        System.out.printf("명령: 보냄 %d, 로봇 도착 %d, 대기 중 ack %d%n",
+                dashboards.commandsSent.get(), robots.commandsReceived.get(), (long) gauge("robot.command.pending.acks"));
+        if (config.videoRobots() > 0) {
+            long sent = video.framesSent.get();
+            long expected = sent * config.videoViewers();
+            System.out.printf("영상 중계: 로봇 %d대 × 시청자 %d명, %dfps × %d KB → 업링크 %d프레임, 시청자 수신 %d프레임 (%.1f%%), 큐에서 버림 %d, 연결 중 시청자 %d%n",
+                    config.videoRobots(), config.videoViewers(), config.videoFps(), config.videoFrameBytes() / 1024,
+                    sent, video.framesReceived.get(), expected == 0 ? 0.0 : 100.0 * video.framesReceived.get() / expected,
+                    (long) count("video.relay.dropped"), video.connectedViewers());
+            System.out.printf("영상 지연: p50 %.1f / p99 %.1f / max %.1f ms, 업링크 %.1f MB (시청자 수와 무관)%n",
+                    ms(videoLatency.getValueAtPercentile(50)), ms(videoLatency.getValueAtPercentile(99)),
+                    ms(videoLatency.getMaxValue()), count("video.relay.bytes.in") / (1024 * 1024));
+        }
+        long gcCount = 0, gcMillis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+        System.out.printf("힙 최대 사용 %d MB, GC 총 %d회 / %d ms%n", maxHeapUsed >> 20, gcCount, gcMillis);
+        System.out.println("구간별 기록: " + csvPath.toAbsolutePath());
+    }
+
+    // 누적 값들 (보고 주기마다 차이를 계산)
+    private Map<String, Double> snapshot() {
+        Map<String, Double> values = new HashMap<>();
+        values.put("published", (double) robots.published.get());
+        values.put("publishFailures", (double) robots.publishFailures.get());
+        values.put("received", (double) dashboards.received.get());
+        values.put("written", count("telemetry.writer.written"));
+        values.put("writerDropped", count("telemetry.writer.dropped"));
+        values.put("wsDropped", count("websocket.outbound.dropped"));
+        values.put("mqttFailed", count("mqtt.messages.failed"));
+        double gcCount = 0, gcMillis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+        values.put("gcCount", gcCount);
+        values.put("gcMillis", gcMillis);
+        if (previous.isEmpty()) previous.putAll(values);
+        return values;
+    }
+
+    private double delta(Map<String, Double> now, String key) {
+        return now.get(key) - previous.getOrDefault(key, 0.0);
+    }
+
+    // 같은 이름의 카운터를 태그 상관없이 합산
+    private double count(String name) {
+        double sum = 0;
+        for (Counter c : registry.find(name).counters()) sum += c.count();
+        for (FunctionCounter c : registry.find(name).functionCounters()) sum += c.count();
+        return sum;
+    }
+
+    private double gauge(String name) {
+        Gauge gauge = registry.find(name).gauge();
+        return gauge == null ? 0 : gauge.value();
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,124 @@
+package com.ssafy.robot_server.loadtest;
+
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import org.HdrHistogram.Recorder;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 영상 중계 부하: 가상 로봇 업링크 R개 × 시청자 V명 (/ws/video/ingest, /ws/video/view).
+ * 프레임은 video-frame-bytes 크기의 임의 바이트이고 앞 8바이트에 보낸 시각(nanoTime)을 넣어 업링크→시청자 지연을 잽니다.
+ * 중계 서버는 프레임을 해석하지 않으므로 실제 JPEG가 아니어도 됩니다.
+ */
+final class VideoFleet implements AutoCloseable {
+
+    private final LoadTestConfig config;
+    private final List<WebSocketSession> uplinks = new ArrayList<>();
+    private final List<WebSocketSession> viewers = new ArrayList<>();
+    private ScheduledExecutorService scheduler;
+
+    // 업링크 → 시청자 지연 (마이크로초, 최대 60초)
+    final Recorder latency = new Recorder(TimeUnit.SECONDS.toMicros(60), 3);
+    final AtomicLong framesSent = new AtomicLong();
+    final AtomicLong framesReceived = new AtomicLong();
+    final AtomicLong bytesReceived = new AtomicLong();
+
+    VideoFleet(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    static String robotId(int index) {
+        return String.format("lt-video-%03d", index);
+    }
+
+    // ingestToken: video.relay.ingest-token, accessToken: 모든 lt-video 로봇의 주인인 사용자의 JWT
+    void start(int serverPort, String ingestToken, String accessToken) throws Exception {
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxBinaryMessageBufferSize(config.videoFrameBytes() * 2);
+        StandardWebSocketClient client = new StandardWebSocketClient(container);
+        String base = "ws://127.0.0.1:" + serverPort + "/ws/video/";
+
+        for (int r = 0; r < config.videoRobots(); r++) {
+            String robotId = robotId(r);
+            for (int v = 0; v < config.videoViewers(); v++) {
+                viewers.add(client.execute(new ViewerHandler(), base + "view/" + robotId + "?access_token=" + accessToken)
+                        .get(10, TimeUnit.SECONDS));
+            }
+            uplinks.add(client.execute(new BinaryWebSocketHandler(), base + "ingest/" + robotId + "?token=" + ingestToken)
+                    .get(10, TimeUnit.SECONDS));
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "lt-video");
+            t.setDaemon(true);
+            return t;
+        });
+        byte[] filler = new byte[Math.max(8, config.videoFrameBytes())];
+        ThreadLocalRandom.current().nextBytes(filler); // 압축된 영상처럼 엔트로피가 높은 바이트
+        long period = 1_000_000L / Math.max(1, config.videoFps());
+        for (WebSocketSession uplink : uplinks) {
+            scheduler.scheduleAtFixedRate(() -> sendFrame(uplink, filler),
+                    ThreadLocalRandom.current().nextLong(period), period, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    // 업링크 하나는 이 스케줄러 스레드에서만 보냄 (WebSocketSession 전송은 동시 호출 불가)
+    private void sendFrame(WebSocketSession uplink, byte[] filler) {
+        if (!uplink.isOpen()) return;
+        byte[] frame = filler.clone();
+        ByteBuffer.wrap(frame).putLong(System.nanoTime());
+        try {
+            uplink.sendMessage(new BinaryMessage(frame));
+            framesSent.incrementAndGet();
+        } catch (Exception ignored) {
+            // 끊긴 업링크
+        }
+    }
+
+    int connectedViewers() {
+        int connected = 0;
+        for (WebSocketSession session : viewers) if (session.isOpen()) connected++;
+        return connected;
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) scheduler.shutdownNow();
+        for (WebSocketSession session : uplinks) closeQuietly(session);
+        for (WebSocketSession session : viewers) closeQuietly(session);
+    }
+
+    private static void closeQuietly(WebSocketSession session) {
+        try {
+            if (session.isOpen()) session.close(CloseStatus.NORMAL);
+        } catch (Exception ignored) {
+            // 이미 닫힘
+        }
+    }
+
+    private final class ViewerHandler extends BinaryWebSocketHandler {
+        @Override
+        protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+            long now = System.nanoTime();
+            ByteBuffer payload = message.getPayload();
+            framesReceived.incrementAndGet();
+            bytesReceived.addAndGet(payload.remaining());
+            if (payload.remaining() < 8) return;
+            long sentNanos = payload.getLong(payload.position());
+            latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(now - sentNanos), TimeUnit.SECONDS.toMicros(60)));
+        }
+    }
+}
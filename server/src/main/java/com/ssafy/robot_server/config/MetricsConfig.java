@@ -0,0 +1,132 @@
+package com.ssafy.robot_server.config;
+
+import com.ssafy.robot_server.service.CatStateTable;
+import com.ssafy.robot_server.service.CommandLatencyTracker;
+import com.ssafy.robot_server.service.RobotCommandDispatcher;
+import com.ssafy.robot_server.service.TelemetryWriter;
+import com.ssafy.robot_server.service.ThumbnailService;
+import com.ssafy.robot_server.websocket.OutboundQueueDecoratorFactory;
+import com.ssafy.robot_server.websocket.ShardedSubscriptionRegistry;
+import com.ssafy.robot_server.websocket.SignalingRelay;
+import com.ssafy.robot_server.websocket.VideoRelay;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+
+/**
+ * 다른 빈이 이미 세고 있는 값을 Micrometer 게이지/카운터로 노출합니다. (/actuator/prometheus)
+ * 값은 스크랩할 때만 읽으므로 처리 경로에는 비용이 없습니다.
+ * 메시지마다 올리는 지표는 PipelineMetrics, MQTT 연결 상태는 MqttConnectionMonitor 참고.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // 1. 텔레메트리 배치 저장기
+    @Bean
+    public MeterBinder telemetryWriterMetrics(TelemetryWriter writer) {
+        return registry -> {
+            Gauge.builder("telemetry.writer.queue.depth", writer, TelemetryWriter::getQueueDepth).register(registry);
+            Gauge.builder("telemetry.writer.queue.capacity", writer, TelemetryWriter::getQueueCapacity).register(registry);
+            FunctionCounter.builder("telemetry.writer.enqueued", writer, TelemetryWriter::getEnqueuedCount).register(registry);
+            FunctionCounter.builder("telemetry.writer.dropped", writer, TelemetryWriter::getDroppedCount).register(registry);
+            FunctionCounter.builder("telemetry.writer.written", writer, TelemetryWriter::getWrittenCount).register(registry);
+            FunctionCounter.builder("telemetry.writer.failed", writer, TelemetryWriter::getFailedCount).register(registry);
+        };
+    }
+
+    // 2. STOMP 세션/구독, 세션별 송신 큐
+    @Bean
+    public MeterBinder websocketMetrics(OutboundQueueDecoratorFactory outbound,
+                                        @Qualifier("simpleBrokerMessageHandler") AbstractBrokerMessageHandler broker) {
+        return registry -> {
+            Gauge.builder("websocket.sessions.active", outbound, OutboundQueueDecoratorFactory::getSessionCount).register(registry);
+            Gauge.builder("websocket.subscriptions.active", broker, MetricsConfig::subscriptionCount).register(registry);
+            FunctionCounter.builder("websocket.outbound.dropped", outbound, OutboundQueueDecoratorFactory::getDroppedMessages)
+                    .description("송신 큐가 가득 차서 버린 텔레메트리 프레임 수").register(registry);
+            FunctionCounter.builder("websocket.outbound.overflow.closes", outbound, OutboundQueueDecoratorFactory::getOverflowCloses)
+                    .description("제어 큐 한도를 넘어 끊은 세션 수").register(registry);
+        };
+    }
+
+    // 3. 조종 명령
+    @Bean
+    public MeterBinder robotCommandMetrics(RobotCommandDispatcher dispatcher, CommandLatencyTracker latencyTracker) {
+        return registry -> {
+            FunctionCounter.builder("robot.command.coalesced", dispatcher, RobotCommandDispatcher::getCoalescedMoves)
+                    .description("최신 값으로 덮어써서 보내지 않은 MOVE 수").register(registry);
+            Gauge.builder("robot.command.pending.acks", latencyTracker, CommandLatencyTracker::getPendingCount).register(registry);
+        };
+    }
+
+    // 4. 썸네일 캐시
+    @Bean
+    public MeterBinder thumbnailMetrics(ThumbnailService thumbnails) {
+        return registry -> {
+            FunctionCounter.builder("thumbnail.cache.hits", thumbnails, ThumbnailService::getMemoryHits).tag("tier", "memory").register(registry);
+            FunctionCounter.builder("thumbnail.cache.hits", thumbnails, ThumbnailService::getDiskHits).tag("tier", "disk").register(registry);
+            FunctionCounter.builder("thumbnail.renders", thumbnails, ThumbnailService::getRenders)
+                    .description("캐시에 없어서 새로 만든 썸네일 수").register(registry);
+            Gauge.builder("thumbnail.cache.bytes", thumbnails, ThumbnailService::getMemoryBytes).tag("tier", "memory").register(registry);
+            Gauge.builder("thumbnail.cache.bytes", thumbnails, ThumbnailService::getDiskBytes).tag("tier", "disk").register(registry);
+        };
+    }
+
+    // 5. WebRTC 시그널링
+    @Bean
+    public MeterBinder signalingMetrics(SignalingRelay relay) {
+        return registry -> {
+            Gauge.builder("webrtc.signaling.sessions", relay, SignalingRelay::getSessionCount).register(registry);
+            FunctionCounter.builder("webrtc.signaling.messages", relay, SignalingRelay::getToViewerMessages).tag("direction", "viewer").register(registry);
+            FunctionCounter.builder("webrtc.signaling.messages", relay, SignalingRelay::getToRobotMessages).tag("direction", "robot").register(registry);
+            FunctionCounter.builder("webrtc.signaling.candidates", relay, SignalingRelay::getBatchedCandidates)
+                    .description("묶어서 보낸 ICE candidate 수").register(registry);
+            FunctionCounter.builder("webrtc.signaling.denied", relay, SignalingRelay::getDeniedSubscriptions)
+                    .description("로그인 안 했거나 주인이 아니라서 거부한 시그널링 구독 수").register(registry);
+        };
+    }
+
+    // 6. 영상 중계
+    @Bean
+    public MeterBinder videoRelayMetrics(VideoRelay relay) {
+        return registry -> {
+            Gauge.builder("video.relay.viewers", relay, VideoRelay::getViewerCount).register(registry);
+            FunctionCounter.builder("video.relay.frames", relay, VideoRelay::getFramesIn).tag("direction", "in").register(registry);
+            FunctionCounter.builder("video.relay.frames", relay, VideoRelay::getFramesOut).tag("direction", "out").register(registry);
+            FunctionCounter.builder("video.relay.bytes.in", relay, VideoRelay::getBytesIn)
+                    .description("로봇 업링크로 받은 영상 바이트 (시청자 수와 무관)").register(registry);
+            FunctionCounter.builder("video.relay.dropped", relay, VideoRelay::getFramesDropped)
+                    .description("느린 시청자 큐에서 버린 프레임 수").register(registry);
+        };
+    }
+
+    // 7. 고양이 실시간 상태 (감지 수 대비 저장 행 수 = 모아 쓰기 효과)
+    @Bean
+    public MeterBinder catStateMetrics(CatStateTable table) {
+        return registry -> {
+            Gauge.builder("cats.state.tracked", table, CatStateTable::getTrackedCount).register(registry);
+            Gauge.builder("cats.state.dirty", table, CatStateTable::getDirtyCount)
+                    .description("아직 저장하지 않은 고양이 수").register(registry);
+            FunctionCounter.builder("cats.detections", table, CatStateTable::getDetectionCount).register(registry);
+            FunctionCounter.builder("cats.detections.ignored", table, CatStateTable::getIgnoredCount)
+                    .description("신뢰도 미달이거나 등록되지 않은 고양이").register(registry);
+            FunctionCounter.builder("cats.detections.not_owned", table, CatStateTable::getNotOwnedCount)
+                    .description("고양이 주인의 로봇이 아닌 로봇이 보낸 감지").register(registry);
+            FunctionCounter.builder("cats.state.pushes", table, CatStateTable::getPushCount).register(registry);
+            FunctionCounter.builder("cats.state.writes", table, CatStateTable::getWrittenCount).tag("result", "ok").register(registry);
+            FunctionCounter.builder("cats.state.writes", table, CatStateTable::getFailedCount).tag("result", "failed").register(registry);
+        };
+    }
+
+    private static double subscriptionCount(AbstractBrokerMessageHandler broker) {
+        if (broker instanceof SimpleBrokerMessageHandler simple
+                && simple.getSubscriptionRegistry() instanceof ShardedSubscriptionRegistry registry) {
+            return registry.getSubscriptionCount();
+        }
+        return Double.NaN;
+    }
+}
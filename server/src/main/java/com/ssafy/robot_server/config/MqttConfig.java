@@ -5,7 +5,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.integration.annotation.ServiceActivator;
+import com.ssafy.robot_server.mqtt.InboundPartitionGate;
+import com.ssafy.robot_server.service.PipelineMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.channel.PartitionedChannel;
 import org.springframework.integration.core.MessageProducer;
 import org.springframework.integration.mqtt.core.DefaultMqttPahoClientFactory;
 import org.springframework.integration.mqtt.core.MqttPahoClientFactory;
@@ -14,13 +18,14 @@ import org.springframework.integration.mqtt.outbound.MqttPahoMessageHandler;
 import org.springframework.integration.mqtt.support.DefaultPahoMessageConverter;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHandler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 @Configuration
 public class MqttConfig {
 
     // application.yml에 적어둔 값들을 가져옵니다.
-    //@Value("${mqtt.broker-url}")
-    private String brokerUrl = "tcp://localhost:1883";
+    @Value("${mqtt.broker-url:tcp://localhost:1883}")
+    private String brokerUrl;
 
     @Value("${mqtt.client-id}")
     private String clientId;
@@ -28,6 +33,17 @@ public class MqttConfig {
     @Value("${mqtt.default-topic}")
     private String defaultTopic;
 
+    // 수신 처리 스레드 수 (0이면 CPU 코어 수)
+    @Value("${mqtt.inbound-partitions:0}")
+    private int inboundPartitions;
+
+    // 파티션마다 처리 대기 최대 수 (넘치면 새 메시지는 버림)
+    @Value("${mqtt.inbound-queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Autowired
+    private PipelineMetrics pipelineMetrics;
+
     // 1. MQTT 연결 공장 (Connection Factory)
     @Bean
     public MqttPahoClientFactory mqttClientFactory() {
@@ -40,9 +56,19 @@ public class MqttConfig {
     }
 
     // 2. [수신용] 들어오는 데이터가 지나가는 통로 (Channel)
+    // 로봇 ID로 파티션을 나눠서, 같은 로봇의 메시지는 순서대로 / 다른 로봇끼리는 병렬로 처리합니다.
     @Bean
-    public MessageChannel mqttInputChannel() {
-        return new DirectChannel();
+    public PartitionedChannel mqttInputChannel() {
+        PartitionedChannel channel = new PartitionedChannel(inboundPartitionCount(), InboundPartitionGate::partitionKey);
+        channel.setThreadFactory(new CustomizableThreadFactory("mqtt-in-"));
+        channel.addInterceptor(pipelineMetrics.inboundBacklogInterceptor()); // 처리 대기 수 지표
+        return channel;
+    }
+
+    // 2-1. [수신용] 통로 앞 문지기 - 파티션 큐는 크기 제한이 없어서 파티션마다 대기 수를 세고 넘치면 버림
+    @Bean
+    public InboundPartitionGate mqttInboundGate() {
+        return new InboundPartitionGate(mqttInputChannel(), inboundPartitionCount(), inboundQueueCapacity, pipelineMetrics);
     }
 
     // 3. [수신용] 귀 (Inbound Adapter) - 로봇의 신호를 구독합니다.
@@ -53,9 +79,11 @@ public class MqttConfig {
                 new MqttPahoMessageDrivenChannelAdapter(clientId + "_in", mqttClientFactory(), defaultTopic);
         
         adapter.setCompletionTimeout(5000);
-        adapter.setConverter(new DefaultPahoMessageConverter());
+        DefaultPahoMessageConverter converter = new DefaultPahoMessageConverter();
+        converter.setPayloadAsBytes(true); // String 변환 없이 byte[] 그대로 (TelemetryDecoder가 직접 파싱)
+        adapter.setConverter(converter);
         adapter.setQos(1); // 메시지 도달 보장 레벨 (1: 적어도 한 번은 도착)
-        adapter.setOutputChannel(mqttInputChannel()); // 받은 데이터를 위 통로로 보냄
+        adapter.setOutputChannel(mqttInboundGate()); // 받은 데이터를 문지기를 거쳐 위 통로로 보냄
         return adapter;
     }
 
@@ -74,7 +102,12 @@ public class MqttConfig {
                 new MqttPahoMessageHandler(clientId + "_out", mqttClientFactory());
         
         messageHandler.setAsync(true); // 비동기 전송 (서버 멈춤 방지)
+        messageHandler.setAsyncEvents(true); // 전송/전달 이벤트 발행 (MqttConnectionMonitor 연결 상태용)
         messageHandler.setDefaultTopic(defaultTopic);
         return messageHandler;
     }
+
+    private int inboundPartitionCount() {
+        return inboundPartitions > 0 ? inboundPartitions : Runtime.getRuntime().availableProcessors();
+    }
 }
\ No newline at end of file
@@ -40,6 +40,9 @@ public class SecurityConfig {
 
                 // WebSocket
                 .requestMatchers("/ws/**").permitAll()
+
+                // 헬스 체크 / Prometheus 수집
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 
                 // 3. 나머지는 다 인증 필요
                 .anyRequest().authenticated()
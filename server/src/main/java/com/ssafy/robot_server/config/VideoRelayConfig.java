@@ -0,0 +1,41 @@
+package com.ssafy.robot_server.config;
+
+import com.ssafy.robot_server.websocket.VideoIngestAuthInterceptor;
+import com.ssafy.robot_server.websocket.VideoIngestHandler;
+import com.ssafy.robot_server.websocket.VideoViewerAuthInterceptor;
+import com.ssafy.robot_server.websocket.VideoViewerHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+// 영상 중계용 순수 WebSocket (STOMP 아님, 바이너리 프레임 그대로)
+@Configuration
+@EnableWebSocket
+public class VideoRelayConfig implements WebSocketConfigurer {
+
+    @Autowired
+    private VideoIngestHandler videoIngestHandler;
+
+    @Autowired
+    private VideoViewerHandler videoViewerHandler;
+
+    @Autowired
+    private VideoIngestAuthInterceptor videoIngestAuthInterceptor;
+
+    @Autowired
+    private VideoViewerAuthInterceptor videoViewerAuthInterceptor;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // 로봇 → 서버 (업링크 1개, ?token= 업링크 토큰 필수)
+        registry.addHandler(videoIngestHandler, "/ws/video/ingest/*")
+                .addInterceptors(videoIngestAuthInterceptor)
+                .setAllowedOriginPatterns("*");
+        // 서버 → 시청자 (시청자마다 복제, ?access_token= JWT + 로봇 주인만)
+        registry.addHandler(videoViewerHandler, "/ws/video/view/*")
+                .addInterceptors(videoViewerAuthInterceptor)
+                .setAllowedOriginPatterns("*");
+    }
+}
@@ -1,6 +1,10 @@
 package com.ssafy.robot_server.config;
 
+import com.ssafy.robot_server.websocket.OutboundQueueDecoratorFactory;
+import com.ssafy.robot_server.websocket.StompAuthChannelInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -11,6 +15,12 @@ import org.springframework.web.socket.config.annotation.WebSocketTransportRegist
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Autowired
+    private StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    @Autowired
+    private OutboundQueueDecoratorFactory outboundQueueDecoratorFactory;
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // ✅ 순수 WebSocket 설정 (SockJS 사용 안 함)
@@ -20,10 +30,19 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        // 메시지 구독 요청 url (받을 때)
-        registry.enableSimpleBroker("/sub");
+        // 메시지 구독 요청 url (받을 때) - /queue는 사용자별 큐 (/user/queue/...)
+        // (구독 저장소는 BrokerRegistryPostProcessor가 샤딩 버전으로 교체)
+        registry.enableSimpleBroker("/sub", "/queue");
         // 메시지 발행 요청 url (보낼 때)
         registry.setApplicationDestinationPrefixes("/pub");
+        // 사용자별 주소 (convertAndSendToUser → 그 사용자의 세션들에게만)
+        registry.setUserDestinationPrefix("/user");
+    }
+
+    // CONNECT 때 JWT로 세션 사용자 지정
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);
     }
 
     // 👇 [중요] 이 부분이 없으면 WebRTC 명함(SDP) 전송 중 끊깁니다!
@@ -35,5 +54,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registration.setSendTimeLimit(20 * 10000);
         // 버퍼 크기 늘리기
         registration.setSendBufferSizeLimit(512 * 1024);
+        // 세션별 송신 큐 (느린 탭은 텔레메트리만 버리고, 다른 세션 전송은 막지 않음)
+        // 위 전송 시간 제한은 큐에 넣는 순간만 해당 → 실제 소켓 전송 제한은 websocket.outbound.send-timeout-ms
+        registration.addDecoratorFactory(outboundQueueDecoratorFactory);
     }
 }
\ No newline at end of file
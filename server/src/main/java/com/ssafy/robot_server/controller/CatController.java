@@ -2,6 +2,7 @@ package com.ssafy.robot_server.controller;
 
 import com.ssafy.robot_server.domain.Cat;
 import com.ssafy.robot_server.repository.CatRepository;
+import com.ssafy.robot_server.service.CatStateTable;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,11 +20,14 @@ public class CatController {
     @Autowired
     private CatRepository catRepository;
 
-    // 1. 내 고양이 목록 조회
+    @Autowired
+    private CatStateTable catStateTable; // ✅ 로봇 감지로 갱신되는 실시간 상태
+
+    // 1. 내 고양이 목록 조회 (행동/건강/마지막 감지는 아직 저장 전이어도 최신 값으로)
     @GetMapping
     @Operation(summary = "고양이 목록 조회")
     public ResponseEntity<List<Cat>> getCats(@RequestParam Long userId) {
-        return ResponseEntity.ok(catRepository.findByUserId(userId));
+        return ResponseEntity.ok(catStateTable.overlay(catRepository.findByUserId(userId)));
     }
 
     // 2. 고양이 등록
@@ -35,7 +39,9 @@ public class CatController {
         if (cat.getBehaviorStatus() == null) cat.setBehaviorStatus("대기 중");
         cat.setLastDetected(LocalDateTime.now());
 
-        return ResponseEntity.ok(catRepository.save(cat));
+        Cat saved = catRepository.save(cat);
+        catStateTable.registered(saved.getId());
+        return ResponseEntity.ok(saved);
     }
 
     // 3. 고양이 삭제
@@ -43,6 +49,7 @@ public class CatController {
     @Operation(summary = "고양이 삭제")
     public ResponseEntity<?> deleteCat(@PathVariable Long id) {
         catRepository.deleteById(id);
+        catStateTable.forget(id);
         return ResponseEntity.ok("삭제되었습니다.");
     }
 }
\ No newline at end of file
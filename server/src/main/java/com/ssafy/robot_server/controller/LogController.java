@@ -1,14 +1,24 @@
 package com.ssafy.robot_server.controller;
 
 import com.ssafy.robot_server.domain.Log;
+import com.ssafy.robot_server.dto.CursorPage;
+import com.ssafy.robot_server.dto.PageCursor;
 import com.ssafy.robot_server.repository.LogRepository;
+import com.ssafy.robot_server.service.LogStatsService;
+import com.ssafy.robot_server.service.NdjsonStreamer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/logs")
@@ -18,22 +28,82 @@ public class LogController {
     @Autowired
     private LogRepository logRepository;
 
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+
+    @Autowired
+    private LogStatsService logStatsService; // ✅ 생성/삭제 시 통계도 같이 갱신
+
     // 목록 조회
+    // limit/cursor가 없으면 기존처럼 전체 목록, 있으면 커서 페이지 ({items, nextCursor})
     @GetMapping
-    public ResponseEntity<List<Log>> getLogs(@RequestParam Long userId) {
-        return ResponseEntity.ok(logRepository.findByUserIdOrderByCreatedAtDesc(userId));
+    public ResponseEntity<?> getLogs(@RequestParam Long userId,
+                                     @RequestParam(required = false) Integer limit,
+                                     @RequestParam(required = false) String cursor) {
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(logRepository.findByUserIdOrderByCreatedAtDesc(userId));
+        }
+        int size = PageCursor.clampLimit(limit);
+        List<Log> rows;
+        if (cursor == null) {
+            rows = logRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, Limit.of(size + 1));
+        } else {
+            PageCursor c;
+            try {
+                c = PageCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+            rows = logRepository.findPageAfter(userId, c.getTime(), c.getId(), Limit.of(size + 1));
+        }
+        return ResponseEntity.ok(CursorPage.of(rows, size, Log::getCreatedAt, Log::getId));
+    }
+
+    // 전체 목록 스트리밍 (NDJSON: 한 줄에 로그 하나, 서버 메모리 일정)
+    @GetMapping(value = "/stream", produces = NdjsonStreamer.NDJSON)
+    @Operation(summary = "로그 전체 스트리밍 (NDJSON)")
+    public ResponseEntity<StreamingResponseBody> streamLogs(@RequestParam Long userId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonStreamer.NDJSON))
+                .body(ndjsonStreamer.stream(() -> logRepository.streamByUserId(userId)));
+    }
+
+    // 통계 (일/주 단위 버킷: 건수, 순찰 시간, 이동 거리, 감지 수, 모드/상태별 건수)
+    // resolution: day | week, from/to: yyyy-MM-dd ([from, to), 기본: 최근 7일 / 최근 12주)
+    @GetMapping("/stats")
+    @Operation(summary = "순찰 로그 통계 (일/주 단위)")
+    public ResponseEntity<?> getStats(@RequestParam Long userId,
+                                      @RequestParam(defaultValue = "day") String resolution,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        String res = resolution.toUpperCase(Locale.ROOT);
+        LocalDate today = LocalDate.now();
+        LocalDate start, end;
+        if (LogStatsService.DAY.equals(res)) {
+            end = (to != null) ? to : today.plusDays(1);
+            start = (from != null) ? from : end.minusDays(7);
+            if (start.plusYears(2).isBefore(end)) return ResponseEntity.badRequest().body("구간은 2년 이내여야 합니다.");
+        } else if (LogStatsService.WEEK.equals(res)) {
+            end = (to != null) ? to : LogStatsService.weekStart(today).plusWeeks(1);
+            start = (from != null) ? LogStatsService.weekStart(from) : end.minusWeeks(12);
+            if (start.plusYears(10).isBefore(end)) return ResponseEntity.badRequest().body("구간은 10년 이내여야 합니다.");
+        } else {
+            return ResponseEntity.badRequest().body("resolution은 day 또는 week 입니다.");
+        }
+        if (!start.isBefore(end)) return ResponseEntity.badRequest().build();
+        return ResponseEntity.ok(logStatsService.getStats(userId, res, start, end));
     }
 
     // 생성
     @PostMapping
     public ResponseEntity<Log> createLog(@RequestBody Log log) {
-        return ResponseEntity.ok(logRepository.save(log));
+        return ResponseEntity.ok(logStatsService.create(log));
     }
 
     // 삭제
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteLog(@PathVariable Long id) {
-        logRepository.deleteById(id);
+        logStatsService.delete(id);
         return ResponseEntity.ok("삭제 완료");
     }
 }
\ No newline at end of file
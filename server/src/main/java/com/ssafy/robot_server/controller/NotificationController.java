@@ -2,11 +2,19 @@ package com.ssafy.robot_server.controller;
 
 import com.ssafy.robot_server.domain.Notification;
 import com.ssafy.robot_server.domain.User;
+import com.ssafy.robot_server.dto.CursorPage;
+import com.ssafy.robot_server.dto.PageCursor;
 import com.ssafy.robot_server.repository.NotificationRepository;
 import com.ssafy.robot_server.repository.UserRepository;
+import com.ssafy.robot_server.service.NdjsonStreamer;
+import com.ssafy.robot_server.service.NotificationCounter;
+import com.ssafy.robot_server.websocket.NotificationPushService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -21,12 +29,48 @@ public class NotificationController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+
+    @Autowired
+    private NotificationCounter notificationCounter;
+
+    @Autowired
+    private NotificationPushService notificationPushService;
+
     // 1. 목록 조회
+    // limit/cursor가 없으면 기존처럼 전체 목록, 있으면 커서 페이지 ({items, nextCursor})
     @GetMapping
-    public ResponseEntity<?> getNotifications(@RequestParam Long userId) {
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) return ResponseEntity.badRequest().body("유저 없음");
-        return ResponseEntity.ok(notificationRepository.findByUserOrderByTimestampDesc(user));
+    public ResponseEntity<?> getNotifications(@RequestParam Long userId,
+                                              @RequestParam(required = false) Integer limit,
+                                              @RequestParam(required = false) String cursor) {
+        if (limit == null && cursor == null) {
+            User user = userRepository.findById(userId).orElse(null);
+            if (user == null) return ResponseEntity.badRequest().body("유저 없음");
+            return ResponseEntity.ok(notificationRepository.findByUserOrderByTimestampDesc(user));
+        }
+        int size = PageCursor.clampLimit(limit);
+        List<Notification> rows;
+        if (cursor == null) {
+            rows = notificationRepository.findFirstPage(userId, Limit.of(size + 1));
+        } else {
+            PageCursor c;
+            try {
+                c = PageCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+            rows = notificationRepository.findPageAfter(userId, c.getTime(), c.getId(), Limit.of(size + 1));
+        }
+        return ResponseEntity.ok(CursorPage.of(rows, size, Notification::getTimestamp, Notification::getId));
+    }
+
+    // 1-1. 전체 목록 스트리밍 (NDJSON: 한 줄에 알림 하나, 서버 메모리 일정)
+    @GetMapping(value = "/stream", produces = NdjsonStreamer.NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamNotifications(@RequestParam Long userId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonStreamer.NDJSON))
+                .body(ndjsonStreamer.stream(() -> notificationRepository.streamByUserId(userId)));
     }
 
     // 2. 알림 생성 (로봇/AI 전송용)
@@ -45,16 +89,18 @@ public class NotificationController {
         noti.setUser(user);
 
         notificationRepository.save(noti);
+        notificationCounter.increment(userId);
+        notificationPushService.push(userId, noti); // 접속 중인 화면에 바로 전송
         return ResponseEntity.ok("알림 저장 완료");
     }
 
     // 3. 읽음 처리
     @PutMapping("/{id}/read")
     public ResponseEntity<?> markAsRead(@PathVariable Long id) {
-        Notification noti = notificationRepository.findById(id).orElse(null);
-        if (noti != null) {
-            noti.setRead(true);
-            notificationRepository.save(noti);
+        // UPDATE 한 번 (이미 읽은 알림이면 0건 → 카운터 그대로)
+        if (notificationRepository.markRead(id) > 0) {
+            Long userId = notificationRepository.findUserIdById(id);
+            if (userId != null) notificationCounter.decrement(userId);
         }
         return ResponseEntity.ok("읽음 처리 완료");
     }
@@ -62,31 +108,38 @@ public class NotificationController {
     // 4. 모두 읽음 처리
     @PutMapping("/read-all")
     public ResponseEntity<?> markAllAsRead(@RequestParam Long userId) {
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) return ResponseEntity.badRequest().body("유저 없음");
-        
-        List<Notification> list = notificationRepository.findByUserOrderByTimestampDesc(user);
-        for (Notification n : list) {
-            n.setRead(true);
-        }
-        notificationRepository.saveAll(list);
+        if (!userRepository.existsById(userId)) return ResponseEntity.badRequest().body("유저 없음");
+
+        // 엔티티를 읽지 않고 UPDATE 한 번
+        notificationRepository.markAllRead(userId);
+        notificationCounter.reset(userId);
         return ResponseEntity.ok("모두 읽음 처리 완료");
     }
 
     // 5. 삭제 (단건)
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteNotification(@PathVariable Long id) {
-        notificationRepository.deleteById(id);
+        Long unreadOwner = notificationRepository.findUnreadOwnerById(id);
+        if (notificationRepository.deleteOne(id) > 0 && unreadOwner != null) {
+            notificationCounter.decrement(unreadOwner);
+        }
         return ResponseEntity.ok("삭제 완료");
     }
 
     // 6. 전체 삭제
     @DeleteMapping("/all")
     public ResponseEntity<?> deleteAllNotifications(@RequestParam Long userId) {
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) return ResponseEntity.badRequest().body("유저 없음");
-        
-        notificationRepository.deleteByUser(user);
+        if (!userRepository.existsById(userId)) return ResponseEntity.badRequest().body("유저 없음");
+
+        // 엔티티를 읽지 않고 DELETE 한 번
+        notificationRepository.deleteAllByUserId(userId);
+        notificationCounter.reset(userId);
         return ResponseEntity.ok("전체 삭제 완료");
     }
+
+    // 7. 안 읽은 알림 수 (배지용, 메모리 카운터라 목록을 읽지 않음)
+    @GetMapping("/unread-count")
+    public ResponseEntity<?> getUnreadCount(@RequestParam Long userId) {
+        return ResponseEntity.ok(Map.of("userId", userId, "unreadCount", notificationCounter.get(userId)));
+    }
 }
\ No newline at end of file
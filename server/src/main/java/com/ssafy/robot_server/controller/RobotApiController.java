@@ -0,0 +1,134 @@
+package com.ssafy.robot_server.controller;
+
+import com.ssafy.robot_server.domain.RobotOwner;
+import com.ssafy.robot_server.domain.RobotStatus;
+import com.ssafy.robot_server.repository.RobotOwnerRepository;
+import com.ssafy.robot_server.repository.UserRepository;
+import com.ssafy.robot_server.service.CommandLatencyTracker;
+import com.ssafy.robot_server.service.RobotStateCache;
+import com.ssafy.robot_server.service.TelemetryHistoryService;
+import com.ssafy.robot_server.service.TrajectoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/robots")
+@Tag(name = "6. 로봇 조회", description = "로봇 현재 상태 / 이동 경로 / 이력 API")
+public class RobotApiController {
+
+    @Autowired
+    private RobotStateCache robotStateCache;
+
+    @Autowired
+    private TrajectoryService trajectoryService;
+
+    @Autowired
+    private TelemetryHistoryService telemetryHistoryService;
+
+    @Autowired
+    private CommandLatencyTracker commandLatencyTracker;
+
+    @Autowired
+    private RobotOwnerRepository robotOwnerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // 1. 전체 로봇의 현재 상태 (메모리 캐시, DB 조회 X)
+    @GetMapping("/status")
+    @Operation(summary = "전체 로봇 현재 상태")
+    public ResponseEntity<Collection<RobotStatus>> getAllStatus() {
+        return ResponseEntity.ok(robotStateCache.all());
+    }
+
+    // 2. 특정 로봇의 현재 상태
+    @GetMapping("/{robotId}/status")
+    @Operation(summary = "로봇 현재 상태")
+    public ResponseEntity<RobotStatus> getStatus(@PathVariable String robotId) {
+        RobotStatus status = robotStateCache.get(robotId);
+        if (status == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(status);
+    }
+
+    // 3. 이동 경로 (서버에서 LTTB로 줄여서 스트리밍)
+    // from/to: epoch millis (기본: 최근 1시간), maxPoints: 최대 점 개수
+    @GetMapping("/{robotId}/trajectory")
+    @Operation(summary = "로봇 이동 경로 (다운샘플링)")
+    public ResponseEntity<StreamingResponseBody> getTrajectory(@PathVariable String robotId,
+                                                               @RequestParam(required = false) Long from,
+                                                               @RequestParam(required = false) Long to,
+                                                               @RequestParam(defaultValue = "2000") int maxPoints) {
+        long end = (to != null) ? to : System.currentTimeMillis();
+        long start = (from != null) ? from : end - 60 * 60 * 1000L;
+        if (start >= end) return ResponseEntity.badRequest().build();
+        int points = Math.max(2, Math.min(maxPoints, 20_000));
+
+        StreamingResponseBody body = out -> trajectoryService.writeTrajectory(robotId, start, end, points, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // 4. 배터리/온도/이동거리/모드 이력 (구간 길이에 맞춰 RAW/MINUTE/HOUR 자동 선택)
+    // from/to: epoch millis (기본: 최근 24시간), maxPoints: 최대 점 개수
+    @GetMapping("/{robotId}/history")
+    @Operation(summary = "로봇 텔레메트리 이력 (집계)")
+    public ResponseEntity<Map<String, Object>> getHistory(@PathVariable String robotId,
+                                                          @RequestParam(required = false) Long from,
+                                                          @RequestParam(required = false) Long to,
+                                                          @RequestParam(defaultValue = "500") int maxPoints) {
+        long end = (to != null) ? to : System.currentTimeMillis();
+        long start = (from != null) ? from : end - 24 * 60 * 60 * 1000L;
+        if (start >= end) return ResponseEntity.badRequest().build();
+        int points = Math.max(2, Math.min(maxPoints, 5_000));
+
+        return ResponseEntity.ok(telemetryHistoryService.getHistory(robotId, start, end, points));
+    }
+
+    // 5. 조종 명령 왕복 지연 (전체 로봇, 구간별 p50/p99 등 ms)
+    // reset=true면 조회 후 초기화 (측정 구간을 나눌 때)
+    @GetMapping("/latency")
+    @Operation(summary = "전체 로봇 명령 지연")
+    public ResponseEntity<Map<String, Object>> getAllLatency(@RequestParam(defaultValue = "false") boolean reset) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("pending", commandLatencyTracker.getPendingCount());
+        body.put("robots", commandLatencyTracker.snapshotAll(reset));
+        return ResponseEntity.ok(body);
+    }
+
+    // 6. 특정 로봇의 명령 지연
+    @GetMapping("/{robotId}/latency")
+    @Operation(summary = "로봇 명령 지연")
+    public ResponseEntity<Map<String, Object>> getLatency(@PathVariable String robotId,
+                                                          @RequestParam(defaultValue = "false") boolean reset) {
+        Map<String, Object> latency = commandLatencyTracker.snapshot(robotId, reset);
+        if (latency == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(latency);
+    }
+
+    // 7. 로봇 등록 (주인이 없는 로봇만, 이미 내 로봇이면 그대로 성공) - 영상 시청 등 로봇별 권한 기준
+    @PostMapping("/{robotId}/claim")
+    @Operation(summary = "로봇 주인 등록")
+    public ResponseEntity<?> claim(@PathVariable String robotId, @AuthenticationPrincipal UserDetails principal) {
+        if (robotId.length() > 64) return ResponseEntity.badRequest().body("로봇 ID는 64자 이하입니다.");
+        Long userId = userRepository.findByEmail(principal.getUsername()).map(u -> u.getId()).orElse(null);
+        if (userId == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        robotOwnerRepository.claimIfUnowned(robotId, userId);
+        RobotOwner owner = robotOwnerRepository.findById(robotId).orElseThrow();
+        if (!owner.getUserId().equals(userId)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("다른 사용자가 등록한 로봇입니다.");
+        }
+        return ResponseEntity.ok(owner);
+    }
+}
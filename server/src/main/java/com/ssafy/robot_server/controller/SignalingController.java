@@ -1,42 +1,49 @@
 package com.ssafy.robot_server.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ssafy.robot_server.mqtt.RobotTopics;
+import com.ssafy.robot_server.websocket.SignalingRelay;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
-import java.util.Map; // ✅ Map 임포트 필수!
-
+/**
+ * WebRTC 시그널링 (STOMP 쪽 입구).
+ * 모든 메시지에 session(시청자-로봇 쌍 ID)이 들어 있어야 하고, 그 세션 상대에게만 전달됩니다.
+ * 세션 시작은 /sub/peer/session 구독 (SignalingRelay 참고)
+ */
 @Controller
 @CrossOrigin(origins = "*")
 public class SignalingController {
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private SignalingRelay signalingRelay;
 
-    // 1. Offer 수신 (Robot -> Web)
-    // 🚨 수정: String -> Map<String, Object>
+    // 1. Offer 수신 (STOMP로 붙은 로봇 -> 해당 세션 시청자)
     @MessageMapping("/peer/offer")
-    public void processOffer(@Payload Map<String, Object> offer) {
-        System.out.println("📹 [WebRTC] Offer 수신 (From Robot)");
-        messagingTemplate.convertAndSend("/sub/peer/offer", offer);
+    public void processOffer(@Payload JsonNode offer) {
+        String robotId = offer.path(SignalingRelay.ROBOT_HEADER).asText(RobotTopics.DEFAULT_ROBOT_ID);
+        signalingRelay.fromRobot(robotId, "offer", offer);
     }
 
-    // 2. Answer 수신 (Web -> Robot)
-    // 🚨 수정: String -> Map<String, Object>
-    // @MessageMapping("/peer/answer")
-    // public void processAnswer(@Payload Map<String, Object> answer) {
-    //     System.out.println("📹 [WebRTC] Answer 수신 (From Web)");
-    //     messagingTemplate.convertAndSend("/sub/peer/answer", answer);
-    // }
+    // 2. Answer 수신 (시청자 -> 해당 로봇 MQTT)
+    @MessageMapping("/peer/answer")
+    public void processAnswer(@Payload JsonNode answer, SimpMessageHeaderAccessor headers) {
+        signalingRelay.fromViewer(headers.getSessionId(), "answer", answer);
+    }
 
-    // 3. Candidate 교환 (Web <-> Robot)
-    // 🚨 수정: String -> Map<String, Object>
+    // 3. Candidate (시청자 -> 로봇, 짧게 모아서 한 번에)
     @MessageMapping("/peer/candidate")
-    public void processCandidate(@Payload Map<String, Object> candidate) {
-        System.out.println("📹 [WebRTC] Candidate 교환");
-        messagingTemplate.convertAndSend("/sub/peer/candidate", candidate);
+    public void processCandidate(@Payload JsonNode candidate, SimpMessageHeaderAccessor headers) {
+        signalingRelay.fromViewer(headers.getSessionId(), "candidate", candidate);
+    }
+
+    // 4. 시청 종료 (구독 해지/연결 끊김도 같은 처리)
+    @MessageMapping("/peer/bye")
+    public void processBye(@Payload JsonNode bye, SimpMessageHeaderAccessor headers) {
+        signalingRelay.fromViewer(headers.getSessionId(), "bye", bye);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.ssafy.robot_server.controller;
+
+import com.ssafy.robot_server.service.TelemetryWriter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/telemetry")
+@Tag(name = "5. 텔레메트리", description = "텔레메트리 파이프라인 상태 API")
+public class TelemetryController {
+
+    @Autowired
+    private TelemetryWriter telemetryWriter;
+
+    // 배치 저장기 상태 (큐 깊이, 저장 지연 등)
+    @GetMapping("/writer")
+    @Operation(summary = "배치 저장기 지표 조회")
+    public ResponseEntity<Map<String, Object>> getWriterStats() {
+        long flushes = telemetryWriter.getFlushCount();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", telemetryWriter.getQueueDepth());
+        stats.put("queueCapacity", telemetryWriter.getQueueCapacity());
+        stats.put("enqueued", telemetryWriter.getEnqueuedCount());
+        stats.put("dropped", telemetryWriter.getDroppedCount());
+        stats.put("written", telemetryWriter.getWrittenCount());
+        stats.put("failed", telemetryWriter.getFailedCount());
+        stats.put("flushes", flushes);
+        stats.put("lastFlushMs", telemetryWriter.getLastFlushNanos() / 1_000_000.0);
+        stats.put("maxFlushMs", telemetryWriter.getMaxFlushNanos() / 1_000_000.0);
+        stats.put("avgFlushMs", flushes == 0 ? 0.0 : telemetryWriter.getFlushNanosTotal() / 1_000_000.0 / flushes);
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -2,6 +2,7 @@ package com.ssafy.robot_server.controller;
 
 import com.ssafy.robot_server.domain.User;
 import com.ssafy.robot_server.repository.UserRepository;
+import com.ssafy.robot_server.security.AuthenticatedUserCache;
 import com.ssafy.robot_server.security.JwtTokenProvider; // ✅ 여기가 중요! (util 아님)
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -23,6 +24,9 @@ public class UserController {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private AuthenticatedUserCache authenticatedUserCache;
+
     // 1. 회원가입
     @PostMapping
     @Operation(summary = "회원가입")
@@ -72,6 +76,7 @@ public class UserController {
 
         user.setName(request.get("name"));
         userRepository.save(user);
+        authenticatedUserCache.invalidate(user.getEmail()); // 캐시된 인증 정보 갱신
         return ResponseEntity.ok(user);
     }
 
@@ -98,6 +103,7 @@ public class UserController {
 
         user.setPassword(request.get("newPassword"));
         userRepository.save(user);
+        authenticatedUserCache.invalidate(user.getEmail()); // 캐시된 인증 정보 제거
         return ResponseEntity.ok("비밀번호가 변경되었습니다.");
     }
 }
\ No newline at end of file
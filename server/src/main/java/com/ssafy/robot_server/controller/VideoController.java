@@ -1,14 +1,37 @@
 package com.ssafy.robot_server.controller;
 
 import com.ssafy.robot_server.domain.Video;
+import com.ssafy.robot_server.dto.CursorPage;
+import com.ssafy.robot_server.dto.PageCursor;
 import com.ssafy.robot_server.repository.VideoRepository;
+import com.ssafy.robot_server.service.ClipStorage;
+import com.ssafy.robot_server.service.NdjsonStreamer;
+import com.ssafy.robot_server.service.ThumbnailService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/api/videos") // 👈 프론트엔드가 요청하는 주소와 일치해야 함
@@ -18,10 +41,52 @@ public class VideoController {
     @Autowired
     private VideoRepository videoRepository;
 
+    @Autowired
+    private NdjsonStreamer ndjsonStreamer;
+
+    @Autowired
+    private ClipStorage clipStorage;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    // Content-Range: bytes 0-1048575/5000000 | bytes 0-1048575/* | bytes */5000000
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (?:(\\d+)-(\\d+)|\\*)/(\\d+|\\*)");
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String DEFAULT_CLIP_TYPE = "video/mp4";
+
     // 1. 목록 조회
+    // limit/cursor가 없으면 기존처럼 전체 목록, 있으면 커서 페이지 ({items, nextCursor})
     @GetMapping
-    public ResponseEntity<List<Video>> getVideos(@RequestParam Long userId) {
-        return ResponseEntity.ok(videoRepository.findByUserIdOrderByCreatedAtDesc(userId));
+    public ResponseEntity<?> getVideos(@RequestParam Long userId,
+                                       @RequestParam(required = false) Integer limit,
+                                       @RequestParam(required = false) String cursor) {
+        if (limit == null && cursor == null) {
+            return ResponseEntity.ok(videoRepository.findByUserIdOrderByCreatedAtDesc(userId));
+        }
+        int size = PageCursor.clampLimit(limit);
+        List<Video> rows;
+        if (cursor == null) {
+            rows = videoRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, Limit.of(size + 1));
+        } else {
+            PageCursor c;
+            try {
+                c = PageCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+            rows = videoRepository.findPageAfter(userId, c.getTime(), c.getId(), Limit.of(size + 1));
+        }
+        return ResponseEntity.ok(CursorPage.of(rows, size, Video::getCreatedAt, Video::getId));
+    }
+
+    // 1-1. 전체 목록 스트리밍 (NDJSON: 한 줄에 영상 하나, 서버 메모리 일정)
+    @GetMapping(value = "/stream", produces = NdjsonStreamer.NDJSON)
+    @Operation(summary = "영상 목록 스트리밍 (NDJSON)")
+    public ResponseEntity<StreamingResponseBody> streamVideos(@RequestParam Long userId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonStreamer.NDJSON))
+                .body(ndjsonStreamer.stream(() -> videoRepository.streamByUserId(userId)));
     }
 
     // 2. 영상 생성 (이게 없으면 404/403 에러 발생!)
@@ -31,10 +96,214 @@ public class VideoController {
         return ResponseEntity.ok(videoRepository.save(video));
     }
 
-    // 3. 삭제
+    // 3. 삭제 (영상 파일도 같이)
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteVideo(@PathVariable Long id) {
         videoRepository.deleteById(id);
+        clipStorage.delete(id);
+        thumbnailService.delete(id);
         return ResponseEntity.ok("삭제 완료");
     }
+
+    // 4. 영상 파일 업로드 (로봇 → 서버, 청크 이어 올리기)
+    // Content-Range: bytes {start}-{end}/{전체 크기 또는 *} (없으면 본문이 파일 전체)
+    // 아직 남았으면 202 + Upload-Offset, 마지막 청크까지 받으면 200 + 영상 정보
+    // 본문 길이가 범위와 다르면 400, 영상/저장소 크기 한도를 넘으면 413
+    // 본문은 힙에 모으지 않고 디스크로 바로 씁니다.
+    @PutMapping("/{id}/clip")
+    @Operation(summary = "영상 파일 업로드 (청크/이어 올리기)")
+    public ResponseEntity<?> uploadClip(@PathVariable Long id,
+                                        @RequestHeader(value = HttpHeaders.CONTENT_RANGE, required = false) String contentRange,
+                                        @RequestHeader(value = "X-Clip-Content-Type", required = false) String clipType,
+                                        HttpServletRequest request) throws IOException {
+        Video video = videoRepository.findById(id).orElse(null);
+        if (video == null) return ResponseEntity.notFound().build();
+
+        long bodyLength = request.getContentLengthLong(); // chunked 본문이면 -1
+        long total;
+        long offset;
+        try {
+            if (contentRange == null) {
+                // 본문 = 파일 전체. 길이를 모르면(-1) 본문 끝까지 받고, 받은 만큼이 전체 크기
+                if (bodyLength > clipStorage.getMaxClipBytes()) return clipTooLarge();
+                offset = append(id, 0, bodyLength, request);
+                total = offset;
+            } else {
+                Matcher m = CONTENT_RANGE.matcher(contentRange.trim());
+                if (!m.matches()) return ResponseEntity.badRequest().body("Content-Range 형식 오류");
+                total = "*".equals(m.group(3)) ? -1 : Long.parseLong(m.group(3));
+                if (total > clipStorage.getMaxClipBytes()) return clipTooLarge();
+                if (m.group(1) == null) {
+                    // "bytes */전체" 는 본문 없이 완료 확인만
+                    offset = clipStorage.uploadedBytes(id);
+                } else {
+                    long start = Long.parseLong(m.group(1));
+                    long end = Long.parseLong(m.group(2));
+                    if (end < start || (total >= 0 && end >= total)) {
+                        return ResponseEntity.badRequest().body("Content-Range 범위 오류");
+                    }
+                    long length = end - start + 1;
+                    if (bodyLength >= 0 && bodyLength != length) {
+                        return ResponseEntity.badRequest().body("본문 길이가 Content-Range와 다름");
+                    }
+                    offset = append(id, start, length, request);
+                }
+            }
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body("Content-Range 형식 오류");
+        } catch (IllegalArgumentException e) {
+            // 본문이 선언보다 짧거나 김 → 이번 청크는 버려짐, 같은 위치부터 다시
+            return ResponseEntity.badRequest()
+                    .header(UPLOAD_OFFSET, String.valueOf(clipStorage.uploadedBytes(id))).body(e.getMessage());
+        } catch (ClipStorage.ClipTooLargeException e) {
+            return clipTooLarge();
+        }
+        if (offset < 0) {
+            // 이미 받은 위치와 다름 → 클라이언트는 Upload-Offset부터 다시 보냄
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(UPLOAD_OFFSET, String.valueOf(clipStorage.uploadedBytes(id))).build();
+        }
+        if (total >= 0 && offset > total) return ResponseEntity.badRequest().body("전체 크기보다 많이 받음");
+        if (total < 0 || offset < total) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).header(UPLOAD_OFFSET, String.valueOf(offset)).build();
+        }
+
+        ClipStorage.StoredClip clip = clipStorage.finish(id);
+        video.setClipFile(clip.file());
+        video.setClipSize(clip.size());
+        video.setClipEtag(clip.etag());
+        video.setClipContentType(clipType != null ? clipType : DEFAULT_CLIP_TYPE);
+        return ResponseEntity.ok(videoRepository.save(video));
+    }
+
+    // 4-1. 업로드 진행 위치 (끊긴 뒤 이어 올릴 때)
+    @GetMapping("/{id}/clip/upload")
+    @Operation(summary = "영상 업로드 진행 위치")
+    public ResponseEntity<?> getUploadOffset(@PathVariable Long id) throws IOException {
+        if (!videoRepository.existsById(id)) return ResponseEntity.notFound().build();
+        long offset = clipStorage.uploadedBytes(id);
+        return ResponseEntity.ok().header(UPLOAD_OFFSET, String.valueOf(offset)).body(Map.of("offset", offset));
+    }
+
+    // 5. 영상 재생 (Range 지원: 화면에서 원하는 위치로 바로 이동)
+    // 한 구간은 sendfile/transferTo로 파일에서 소켓으로 바로, 여러 구간은 ResourceRegion(multipart/byteranges)
+    // ETag(내용 해시)가 같으면 304
+    @GetMapping("/{id}/clip")
+    @Operation(summary = "영상 재생 (Range)")
+    public ResponseEntity<?> getClip(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Video video = videoRepository.findById(id).orElse(null);
+        if (video == null || video.getClipFile() == null) return ResponseEntity.notFound().build();
+        Path file = clipStorage.path(video.getClipFile());
+        if (!Files.exists(file)) return ResponseEntity.notFound().build();
+
+        String etag = "\"" + video.getClipEtag() + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) return null; // 304
+
+        long size = Files.size(file);
+        String contentType = video.getClipContentType() != null ? video.getClipContentType() : DEFAULT_CLIP_TYPE;
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate().getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // If-Range가 현재 ETag와 다르면 (영상이 바뀜) Range 무시하고 전체 전송
+        List<HttpRange> ranges = List.of();
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                return rangeNotSatisfiable(size);
+            }
+        }
+
+        if (ranges.size() > 1) {
+            try {
+                return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                        .contentType(MediaType.parseMediaType(contentType))
+                        .body(HttpRange.toResourceRegions(ranges, new FileSystemResource(file)));
+            } catch (IllegalArgumentException e) {
+                return rangeNotSatisfiable(size);
+            }
+        }
+
+        long start = 0;
+        long length = size;
+        if (ranges.size() == 1) {
+            HttpRange r = ranges.get(0);
+            long end;
+            try {
+                start = r.getRangeStart(size);
+                end = r.getRangeEnd(size);
+            } catch (IllegalArgumentException e) {
+                return rangeNotSatisfiable(size);
+            }
+            if (start >= size || end < start) return rangeNotSatisfiable(size);
+            length = end - start + 1;
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+        response.setContentType(contentType);
+        response.setContentLengthLong(length);
+        if (!"HEAD".equals(request.getMethod())) clipStorage.send(file, start, length, request, response);
+        return null; // 응답은 이미 씀
+    }
+
+    // 6. 대표 프레임 업로드 (로봇 → 서버, 본문 = 이미지 파일 1장)
+    @PutMapping("/{id}/thumbnail")
+    @Operation(summary = "대표 프레임 업로드")
+    public ResponseEntity<?> uploadThumbnail(@PathVariable Long id, HttpServletRequest request) throws IOException {
+        Video video = videoRepository.findById(id).orElse(null);
+        if (video == null) return ResponseEntity.notFound().build();
+
+        String frameEtag;
+        try {
+            frameEtag = thumbnailService.storeFrame(id, request.getInputStream());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        video.setFrameEtag(frameEtag);
+        return ResponseEntity.ok(videoRepository.save(video));
+    }
+
+    // 7. 썸네일 (?w= 폭에 맞춘 JPEG, 처음 요청 때 만들고 캐시)
+    // 폭은 정해진 단계로 올림, ETag(프레임 해시 + 폭)가 같으면 렌더링 없이 304
+    @GetMapping("/{id}/thumbnail")
+    @Operation(summary = "썸네일 (폭 지정)")
+    public ResponseEntity<?> getThumbnail(@PathVariable Long id,
+                                          @RequestParam(defaultValue = "320") int w,
+                                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Video video = videoRepository.findById(id).orElse(null);
+        if (video == null || video.getFrameEtag() == null) return ResponseEntity.notFound().build();
+
+        int width = thumbnailService.snapWidth(w);
+        String etag = "\"" + thumbnailService.etag(video.getFrameEtag(), width) + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) return null; // 304
+
+        byte[] image = thumbnailService.get(id, video.getFrameEtag(), width);
+        if (image == null) return ResponseEntity.notFound().build();
+        // 주소에 프레임 해시(?v=)가 들어가므로 오래 캐시해도 됨
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .cacheControl(CacheControl.maxAge(7, TimeUnit.DAYS).cachePrivate())
+                .body(image);
+    }
+
+    // 청크 쓰기 (위치가 안 맞으면 -1, length = -1이면 본문 끝까지)
+    private long append(Long id, long start, long length, HttpServletRequest request) throws IOException {
+        try {
+            return clipStorage.appendChunk(id, start, length, request.getInputStream());
+        } catch (IllegalStateException e) {
+            return -1;
+        }
+    }
+
+    private static ResponseEntity<?> clipTooLarge() {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body("영상 크기 한도 초과");
+    }
+
+    private static ResponseEntity<?> rangeNotSatisfiable(long size) {
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size).build();
+    }
 }
\ No newline at end of file
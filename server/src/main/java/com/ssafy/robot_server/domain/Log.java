@@ -7,12 +7,13 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "logs")
+@Table(name = "logs", indexes = @Index(name = "idx_logs_user_created", columnList = "user_id, created_at, id")) // 커서 페이지용
 public class Log {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "user_id")
     private Long userId;        // ✅ 숫자 ID로 변경 (User 객체 X)
 
     private String mode;
@@ -24,6 +25,6 @@ public class Log {
     private String details;
 
     @CreationTimestamp
-    @Column(updatable = false)
+    @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.ssafy.robot_server.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * 사용자별 순찰 로그 집계 (일/주 단위).
+ * 로그를 만들거나 지울 때 해당 버킷에 더하거나 빼서 유지합니다. (다시 계산하지 않음)
+ */
+@Entity
+@Getter @Setter
+@NoArgsConstructor
+@Table(name = "log_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uk_log_stats",
+                columnNames = {"user_id", "resolution", "bucket_start"}))
+public class LogStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JsonIgnore
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    @JsonIgnore
+    private Long userId;
+
+    @Column(name = "resolution", length = 16, nullable = false)
+    private String resolution; // DAY, WEEK (주는 월요일 시작)
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    private long logCount;
+    private long durationMinutes; // durationNum 합계
+    private double distance;
+    private long detections;      // detectionCount 합계
+}
@@ -0,0 +1,44 @@
+package com.ssafy.robot_server.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * 순찰 로그 모드/상태별 건수 (일/주 단위).
+ */
+@Entity
+@Getter @Setter
+@NoArgsConstructor
+@Table(name = "log_stat_counts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_log_stat_counts",
+                columnNames = {"user_id", "resolution", "bucket_start", "dimension", "value"}))
+public class LogStatCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JsonIgnore
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    @JsonIgnore
+    private Long userId;
+
+    @Column(name = "resolution", length = 16, nullable = false)
+    private String resolution; // DAY, WEEK
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    @Column(name = "dimension", length = 16, nullable = false)
+    private String dimension; // mode, status
+
+    @Column(name = "value", length = 64, nullable = false)
+    private String value;
+
+    private long count;
+}
@@ -7,7 +7,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = @Index(name = "idx_notifications_user_ts", columnList = "user_id, timestamp, id")) // 커서 페이지용
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,29 @@
+package com.ssafy.robot_server.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 로봇 주인 (로봇 ID당 사용자 한 명). 영상 시청 등 로봇별 권한 확인에 씁니다.
+ */
+@Entity
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "robot_owners", indexes = @Index(name = "idx_robot_owners_user", columnList = "user_id"))
+public class RobotOwner {
+
+    @Id
+    @Column(name = "robot_id", length = 64)
+    private String robotId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    private LocalDateTime claimedAt;
+}
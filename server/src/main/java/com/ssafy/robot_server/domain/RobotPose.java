@@ -10,16 +10,23 @@ import java.sql.Timestamp;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "robot_pose")
+@Table(name = "robot_pose", indexes = {
+        @Index(name = "idx_robot_pose_robot_ts", columnList = "robot_id, timestamp"),
+        @Index(name = "idx_robot_pose_ts", columnList = "timestamp") // 보존 기간 삭제용
+})
 public class RobotPose {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "robot_id", length = 64)
+    private String robotId; // 로봇 ID (토픽 /robot/{robotId}/pose 에서 추출)
+
     private double x; // 가로 위치
     
     private double y; // 세로 위치
 
+    @Setter // 배치 저장 경로는 수신 시각을 직접 기록 (TelemetryWriter)
     @CreationTimestamp
     private Timestamp timestamp; // 시간 기록
 }
\ No newline at end of file
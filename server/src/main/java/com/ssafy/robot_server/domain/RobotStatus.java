@@ -9,12 +9,20 @@ import java.time.LocalDateTime;
 @Builder              // ✅ MqttService 에러 해결 (Builder 패턴 추가)
 @NoArgsConstructor    // ✅ JPA 필수
 @AllArgsConstructor   // ✅ Builder 사용 시 필수
+@Table(name = "robot_status", indexes = {
+        @Index(name = "idx_robot_status_robot_ts", columnList = "robot_id, timestamp"),
+        @Index(name = "idx_robot_status_ts", columnList = "timestamp") // 보존 기간 삭제/집계용
+})
 public class RobotStatus {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // ✅ 멀티 로봇 구분용 (토픽 /robot/{robotId}/status 에서 추출)
+    @Column(name = "robot_id", length = 64)
+    private String robotId;
+
     // ✅ MqttService에서 사용하는 필드명으로 통일
     private Integer batteryLevel; // (기존 battery -> batteryLevel 변경)
     private Double temperature;
@@ -0,0 +1,27 @@
+package com.ssafy.robot_server.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 집계 작업 진행 위치 (이 시각 이전까지는 집계 완료).
+ */
+@Entity
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "rollup_watermark")
+public class RollupWatermark {
+
+    @Id
+    private String name;
+
+    private LocalDateTime watermark;
+}
@@ -0,0 +1,40 @@
+package com.ssafy.robot_server.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 모드별 체류 시간 집계 (분/시간 단위).
+ */
+@Entity
+@Getter @Setter
+@NoArgsConstructor
+@Table(name = "telemetry_mode_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_telemetry_mode_rollup",
+                columnNames = {"robot_id", "resolution", "bucket_start", "mode"}))
+public class TelemetryModeRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JsonIgnore
+    private Long id;
+
+    @Column(name = "robot_id", length = 64, nullable = false)
+    private String robotId;
+
+    @Column(name = "resolution", length = 16, nullable = false)
+    private String resolution; // MINUTE, HOUR
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "mode", length = 64, nullable = false)
+    private String mode;
+
+    private double seconds; // 해당 모드로 있었던 시간(초)
+}
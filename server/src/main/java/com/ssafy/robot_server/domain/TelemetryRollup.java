@@ -0,0 +1,63 @@
+package com.ssafy.robot_server.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 텔레메트리 집계 (분/시간 단위).
+ * 평균은 합계/개수로 계산하므로 시간 단위는 분 단위 행을 다시 합쳐서 만들 수 있습니다.
+ * 값이 없는 샘플(NaN)은 합계에서 빠지므로 개수도 항목별로 따로 둡니다. (sampleCount로 나누면 평균이 낮아짐)
+ */
+@Entity
+@Getter @Setter
+@NoArgsConstructor
+@Table(name = "telemetry_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_telemetry_rollup",
+                columnNames = {"robot_id", "resolution", "bucket_start"}))
+public class TelemetryRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JsonIgnore
+    private Long id;
+
+    @Column(name = "robot_id", length = 64, nullable = false)
+    private String robotId;
+
+    @Column(name = "resolution", length = 16, nullable = false)
+    private String resolution; // MINUTE, HOUR
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    private long sampleCount;
+
+    private Double batteryMin;
+    private Double batteryMax;
+    @JsonIgnore
+    private Double batterySum;
+    @JsonIgnore
+    private long batteryCount; // 값이 있는 배터리 샘플 수 (평균의 분모)
+
+    private Double temperatureMin;
+    private Double temperatureMax;
+    @JsonIgnore
+    private Double temperatureSum;
+    @JsonIgnore
+    private long temperatureCount; // 값이 있는 온도 샘플 수 (평균의 분모)
+
+    private double distance; // 이동 거리 (맵 좌표 단위)
+
+    public Double getBatteryAvg() {
+        return (batterySum == null || batteryCount == 0) ? null : batterySum / batteryCount;
+    }
+
+    public Double getTemperatureAvg() {
+        return (temperatureSum == null || temperatureCount == 0) ? null : temperatureSum / temperatureCount;
+    }
+}
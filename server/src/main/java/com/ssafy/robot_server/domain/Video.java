@@ -1,5 +1,6 @@
 package com.ssafy.robot_server.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
@@ -7,12 +8,13 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "videos")
+@Table(name = "videos", indexes = @Index(name = "idx_videos_user_created", columnList = "user_id, created_at, id")) // 커서 페이지용
 public class Video {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "user_id")
     private Long userId;        // 유저 ID (숫자)
     private String catName;     // 고양이 이름
     private String behavior;    // 행동 (예: 밥 먹음)
@@ -21,7 +23,30 @@ public class Video {
     @Column(length = 1000)
     private String thumbnailUrl; // 썸네일 주소
 
+    // ✅ 영상 파일 (ClipStorage 디스크에 저장, 업로드가 끝나야 채워짐)
+    @JsonIgnore
+    private String clipFile;        // 저장 파일 이름
+    @JsonIgnore
+    private String clipEtag;        // 내용 해시 (강한 ETag)
+    private Long clipSize;          // 바이트
+    private String clipContentType; // 예: video/mp4
+
+    // ✅ 대표 프레임 (ThumbnailService가 폭별로 줄여서 제공)
+    @JsonIgnore
+    private String frameEtag;       // 원본 프레임 해시 (없으면 서버 썸네일 없음)
+
     @CreationTimestamp
-    @Column(updatable = false)
+    @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
-}
\ No newline at end of file
+
+    // 재생 주소 (파일이 없으면 null)
+    public String getClipUrl() {
+        return (clipFile == null || id == null) ? null : "/api/videos/" + id + "/clip";
+    }
+
+    // 서버 썸네일 주소 (프레임 해시를 붙여서 프레임이 바뀌면 주소도 바뀜 → 브라우저가 오래 캐시해도 됨)
+    // 화면은 &w=폭 을 붙여서 요청
+    public String getThumbUrl() {
+        return (frameEtag == null || id == null) ? null : "/api/videos/" + id + "/thumbnail?v=" + frameEtag;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ssafy.robot_server.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서 기반 페이지 응답.
+ * nextCursor를 다음 요청의 cursor로 그대로 넘기면 이어서 조회합니다. (마지막 페이지면 null)
+ */
+public class CursorPage<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * limit + 1건을 조회한 결과로 페이지를 만듭니다. (한 건 더 있으면 다음 페이지가 있다는 뜻)
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, LocalDateTime> time, Function<T, Long> id) {
+        if (rows.size() <= limit) return new CursorPage<>(rows, null);
+        List<T> items = rows.subList(0, limit);
+        T last = items.get(limit - 1);
+        return new CursorPage<>(items, new PageCursor(time.apply(last), id.apply(last)).encode());
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+}
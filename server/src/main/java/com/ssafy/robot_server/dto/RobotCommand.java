@@ -1,12 +1,21 @@
 package com.ssafy.robot_server.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class RobotCommand {
+    private String robotId; // 대상 로봇 ID (없으면 기본 로봇)
     private String type;   // "MOVE", "STOP", "MODE"
     private double linear; // 전진 속도
     private double angular;// 회전 속도
     private String value;  // 모드 값 ("auto", "manual")
+    private Long seq;      // 명령 번호 (서버가 매김, 로봇이 ack로 그대로 돌려줌)
+    private Long ts;       // 화면에서 보낸 시각 (epoch millis)
+    @JsonIgnore
+    private long receivedNanos; // 서버가 STOMP로 받은 시각 (System.nanoTime, 지연 측정용)
 
     // Getter & Setter
+    public String getRobotId() { return robotId; }
+    public void setRobotId(String robotId) { this.robotId = robotId; }
     public String getType() { return type; }
     public void setType(String type) { this.type = type; }
     public double getLinear() { return linear; }
@@ -15,4 +24,12 @@ public class RobotCommand {
     public void setAngular(double angular) { this.angular = angular; }
     public String getValue() { return value; }
     public void setValue(String value) { this.value = value; }
+    public Long getSeq() { return seq; }
+    public void setSeq(Long seq) { this.seq = seq; }
+    public Long getTs() { return ts; }
+    public void setTs(Long ts) { this.ts = ts; }
+    @JsonIgnore
+    public long getReceivedNanos() { return receivedNanos; }
+    @JsonIgnore
+    public void setReceivedNanos(long receivedNanos) { this.receivedNanos = receivedNanos; }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.ssafy.robot_server.mqtt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 고정 레이아웃 바이너리 텔레메트리 (v1, big-endian). fake_robot/telemetry_codec.py와 같은 규칙입니다.
+ *
+ *   status: [u8 version=1][u8 type=1][f32 x][f32 y][i16 temperature x100][u8 batteryLevel][u8 flags][u8 modeLen][mode utf8]
+ *           flags bit0 = isCharging → 15바이트 + mode (JSON 약 110바이트)
+ *           온도는 0.01도 단위 정수라 41.3 같은 값이 float 오차 없이 그대로 복원됩니다.
+ *   pose  : [u8 version=1][u8 type=2][f32 x][f32 y] → 10바이트
+ *
+ * MQTT 3.1.1에는 content-type 속성이 없어서 첫 바이트로 구분합니다.
+ * JSON은 항상 '{', 공백 등 출력 가능한 문자로 시작하므로 0x01~0x1F(제어 문자)는 바이너리 버전으로 예약합니다.
+ * 그래서 같은 토픽에 JSON 로봇과 바이너리 로봇이 섞여 있어도 메시지마다 알아서 디코딩됩니다.
+ */
+public final class BinaryTelemetryCodec {
+
+    public static final byte VERSION = 1;
+    public static final byte TYPE_STATUS = 1;
+    public static final byte TYPE_POSE = 2;
+
+    private static final int STATUS_HEADER = 15;
+    private static final int POSE_SIZE = 10;
+    private static final byte FLAG_CHARGING = 0x01;
+
+    private BinaryTelemetryCodec() {
+    }
+
+    // 바이너리 형식인지 (제어 문자 범위 = 버전 번호)
+    public static boolean isBinary(byte[] payload) {
+        return payload.length > 0 && payload[0] >= 0x01 && payload[0] < 0x20 && payload[0] != '\t'
+                && payload[0] != '\n' && payload[0] != '\r';
+    }
+
+    /**
+     * @return 디코딩한 메시지 종류 (TYPE_STATUS / TYPE_POSE)
+     * @throws IllegalArgumentException 지원하지 않는 버전/종류이거나 길이가 맞지 않을 때
+     */
+    public static int decode(byte[] payload, TelemetryFrame frame) {
+        if (payload.length < 2 || payload[0] != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 텔레메트리 버전: " + (payload.length > 0 ? payload[0] : -1));
+        }
+        String previousMode = frame.mode;
+        frame.reset();
+        ByteBuffer buf = ByteBuffer.wrap(payload); // 기본 big-endian
+        byte type = payload[1];
+
+        if (type == TYPE_POSE) {
+            if (payload.length < POSE_SIZE) throw new IllegalArgumentException("pose 길이 부족: " + payload.length);
+            frame.x = buf.getFloat(2);
+            frame.y = buf.getFloat(6);
+            return TYPE_POSE;
+        }
+        if (type == TYPE_STATUS) {
+            if (payload.length < STATUS_HEADER) throw new IllegalArgumentException("status 길이 부족: " + payload.length);
+            frame.x = buf.getFloat(2);
+            frame.y = buf.getFloat(6);
+            frame.temperature = buf.getShort(10) / 100.0;
+            frame.batteryLevel = payload[12] & 0xFF;
+            frame.isCharging = (payload[13] & FLAG_CHARGING) != 0;
+            int modeLen = payload[14] & 0xFF;
+            if (payload.length < STATUS_HEADER + modeLen) throw new IllegalArgumentException("mode 길이 부족");
+            frame.mode = modeLen == 0 ? TelemetryFrame.UNKNOWN_MODE : mode(payload, STATUS_HEADER, modeLen, previousMode);
+            return TYPE_STATUS;
+        }
+        throw new IllegalArgumentException("알 수 없는 텔레메트리 종류: " + type);
+    }
+
+    public static byte[] encodeStatus(int batteryLevel, double temperature, boolean isCharging,
+                                      double x, double y, String mode) {
+        byte[] modeBytes = mode == null ? new byte[0] : mode.getBytes(StandardCharsets.UTF_8);
+        int modeLen = Math.min(modeBytes.length, 255);
+        ByteBuffer buf = ByteBuffer.allocate(STATUS_HEADER + modeLen);
+        buf.put(VERSION).put(TYPE_STATUS)
+                .putFloat((float) x).putFloat((float) y)
+                .putShort((short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(temperature * 100))))
+                .put((byte) Math.max(0, Math.min(255, batteryLevel)))
+                .put(isCharging ? FLAG_CHARGING : 0)
+                .put((byte) modeLen)
+                .put(modeBytes, 0, modeLen);
+        return buf.array();
+    }
+
+    public static byte[] encodePose(double x, double y) {
+        return ByteBuffer.allocate(POSE_SIZE).put(VERSION).put(TYPE_POSE)
+                .putFloat((float) x).putFloat((float) y).array();
+    }
+
+    // 직전 mode와 바이트가 같으면 그대로 재사용 (대부분 ASCII 모드 이름)
+    private static String mode(byte[] payload, int offset, int length, String previous) {
+        if (previous != null && previous.length() == length) {
+            boolean same = true;
+            for (int i = 0; i < length; i++) {
+                byte b = payload[offset + i];
+                if (b < 0 || previous.charAt(i) != b) {
+                    same = false;
+                    break;
+                }
+            }
+            if (same) return previous;
+        }
+        return new String(payload, offset, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,80 @@
+package com.ssafy.robot_server.mqtt;
+
+import com.ssafy.robot_server.service.PipelineMetrics;
+import org.springframework.integration.channel.PartitionedChannel;
+import org.springframework.integration.mqtt.support.MqttHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MQTT 수신 채널(PartitionedChannel) 앞단의 파티션별 대기 수 제한.
+ * 파티션 실행기의 큐는 크기 제한이 없어서, 처리보다 빨리 들어오면 메모리가 끝없이 늘어납니다.
+ * - 파티션(로봇 ID 해시)마다 대기 중인 메시지 수를 세고, capacity에 닿으면 새 메시지는 버림 (mqtt.inbound.dropped)
+ * - Paho 콜백 스레드에서 기다리거나 예외를 던지면 브로커 연결이 끊기므로 바로 버리고 정상 처리로 돌려줌
+ * 한 파티션이 밀려도 다른 파티션의 로봇은 영향을 받지 않습니다.
+ */
+public class InboundPartitionGate implements MessageChannel {
+
+    private final PartitionedChannel target;
+    private final int capacity;
+    private final PipelineMetrics pipelineMetrics;
+    private final AtomicInteger[] pending;
+
+    public InboundPartitionGate(PartitionedChannel target, int partitions, int capacity, PipelineMetrics pipelineMetrics) {
+        this.target = target;
+        this.capacity = capacity;
+        this.pipelineMetrics = pipelineMetrics;
+        this.pending = new AtomicInteger[partitions];
+        for (int i = 0; i < partitions; i++) pending[i] = new AtomicInteger();
+        target.addInterceptor(new ExecutorChannelInterceptor() {
+            @Override
+            public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+                pending[partition(message)].decrementAndGet(); // 처리 끝 (실패 포함)
+            }
+        });
+    }
+
+    // 파티션 키 = 로봇 ID (같은 로봇은 항상 같은 파티션 → 순서 보장)
+    public static Object partitionKey(Message<?> message) {
+        String robotId = RobotTopics.robotId(message.getHeaders().get(MqttHeaders.RECEIVED_TOPIC, String.class));
+        return robotId != null ? robotId : RobotTopics.DEFAULT_ROBOT_ID;
+    }
+
+    @Override
+    public boolean send(Message<?> message, long timeout) {
+        AtomicInteger counter = pending[partition(message)];
+        if (counter.incrementAndGet() > capacity) {
+            counter.decrementAndGet();
+            String topic = message.getHeaders().get(MqttHeaders.RECEIVED_TOPIC, String.class);
+            pipelineMetrics.inboundDropped(PipelineMetrics.kindIndex(RobotTopics.kind(topic)));
+            return true;
+        }
+        boolean sent;
+        try {
+            sent = target.send(message, timeout);
+        } catch (RuntimeException e) {
+            counter.decrementAndGet();
+            throw e;
+        }
+        if (!sent) counter.decrementAndGet();
+        return sent;
+    }
+
+    public int getPendingCount() {
+        int sum = 0;
+        for (AtomicInteger counter : pending) sum += counter.get();
+        return sum;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private int partition(Message<?> message) {
+        return Math.abs(partitionKey(message).hashCode() % pending.length);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ssafy.robot_server.mqtt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.integration.mqtt.event.MqttConnectionFailedEvent;
+import org.springframework.integration.mqtt.event.MqttMessageDeliveredEvent;
+import org.springframework.integration.mqtt.event.MqttMessageSentEvent;
+import org.springframework.integration.mqtt.event.MqttSubscribedEvent;
+import org.springframework.integration.mqtt.inbound.MqttPahoMessageDrivenChannelAdapter;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MQTT 연결 상태 (수신용 _in / 발신용 _out 클라이언트 각각).
+ * Spring Integration이 보내는 이벤트로 상태를 바꿉니다.
+ * - _in: 구독 성공(MqttSubscribedEvent) → 1, 연결 실패/끊김 → 0 (어댑터가 알아서 재연결)
+ * - _out: 전송/전달 이벤트 → 1, 연결 실패 → 0 (발신 클라이언트는 첫 전송 때 연결하므로 그 전까지 0)
+ * 지표: mqtt.connection.state{client=in|out}, mqtt.connection.failures{client=in|out}
+ */
+@Slf4j
+@Component
+public class MqttConnectionMonitor {
+
+    private final AtomicInteger inbound = new AtomicInteger();
+    private final AtomicInteger outbound = new AtomicInteger();
+    private final Counter inboundFailures;
+    private final Counter outboundFailures;
+
+    public MqttConnectionMonitor(MeterRegistry registry) {
+        Gauge.builder("mqtt.connection.state", inbound, AtomicInteger::get).tag("client", "in")
+                .description("1 = 연결됨, 0 = 끊김").register(registry);
+        Gauge.builder("mqtt.connection.state", outbound, AtomicInteger::get).tag("client", "out")
+                .description("1 = 연결됨, 0 = 끊김").register(registry);
+        inboundFailures = Counter.builder("mqtt.connection.failures").tag("client", "in").register(registry);
+        outboundFailures = Counter.builder("mqtt.connection.failures").tag("client", "out").register(registry);
+    }
+
+    @EventListener
+    public void onSubscribed(MqttSubscribedEvent event) {
+        if (inbound.getAndSet(1) == 0) log.info("✅ MQTT 수신 연결: {}", event.getMessage());
+    }
+
+    @EventListener
+    public void onSent(MqttMessageSentEvent event) {
+        outbound.set(1);
+    }
+
+    @EventListener
+    public void onDelivered(MqttMessageDeliveredEvent event) {
+        outbound.set(1);
+    }
+
+    @EventListener
+    public void onConnectionFailed(MqttConnectionFailedEvent event) {
+        boolean isInbound = event.getSource() instanceof MqttPahoMessageDrivenChannelAdapter;
+        if (isInbound) {
+            inbound.set(0);
+            inboundFailures.increment();
+        } else {
+            outbound.set(0);
+            outboundFailures.increment();
+        }
+        log.warn("⚠️ MQTT {} 연결 끊김: {}", isInbound ? "수신" : "발신",
+                event.getCause() != null ? event.getCause().getMessage() : "-");
+    }
+
+    public boolean isInboundConnected() {
+        return inbound.get() == 1;
+    }
+
+    public boolean isOutboundConnected() {
+        return outbound.get() == 1;
+    }
+}
@@ -9,4 +9,7 @@ public interface MqttGateway {
     
     // 이 함수를 호출하면 MQTT로 메시지가 날아갑니다.
     void sendToMqtt(String data, @Header(MqttHeaders.TOPIC) String topic);
-}
\ No newline at end of file
+
+    // QoS를 메시지마다 지정 (0: 최대 한 번, 1: 적어도 한 번, 2: 정확히 한 번)
+    void sendToMqtt(String data, @Header(MqttHeaders.TOPIC) String topic, @Header(MqttHeaders.QOS) int qos);
+}
@@ -0,0 +1,58 @@
+package com.ssafy.robot_server.mqtt;
+
+import com.ssafy.robot_server.dto.RobotCommand;
+
+/**
+ * 로봇 제어 명령 → JSON 문자열 (String.format 없이 StringBuilder로 바로 씀).
+ * 필드: type, linear, angular, (있으면) value, seq, ts
+ * 예: {"type":"MOVE","linear":0.5,"angular":-0.2,"seq":42,"ts":1700000000000}
+ */
+public final class RobotCommandEncoder {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private RobotCommandEncoder() {
+    }
+
+    public static String encode(RobotCommand command, StringBuilder sb) {
+        sb.setLength(0);
+        sb.append("{\"type\":");
+        appendString(sb, command.getType());
+        sb.append(",\"linear\":");
+        appendNumber(sb, command.getLinear());
+        sb.append(",\"angular\":");
+        appendNumber(sb, command.getAngular());
+        if (command.getValue() != null) {
+            sb.append(",\"value\":");
+            appendString(sb, command.getValue());
+        }
+        if (command.getSeq() != null) sb.append(",\"seq\":").append(command.getSeq().longValue());
+        if (command.getTs() != null) sb.append(",\"ts\":").append(command.getTs().longValue());
+        return sb.append('}').toString();
+    }
+
+    // NaN/Infinity는 JSON에 없으므로 0으로 보냄 (로봇이 멈추는 쪽이 안전)
+    private static void appendNumber(StringBuilder sb, double v) {
+        sb.append(Double.isFinite(v) ? v : 0.0);
+    }
+
+    private static void appendString(StringBuilder sb, String s) {
+        if (s == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                // 제어 문자 (0x00~0x1F) → 역슬래시 + u00 + 16진수 두 자리
+                sb.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+}
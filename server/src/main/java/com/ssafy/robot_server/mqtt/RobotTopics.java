@@ -0,0 +1,51 @@
+package com.ssafy.robot_server.mqtt;
+
+import java.util.Set;
+
+/**
+ * 로봇 MQTT 토픽 규칙.
+ * - 멀티 로봇: /robot/{robotId}/status, /robot/{robotId}/pose, /robot/{robotId}/peer/offer ...
+ * - 기존 단일 로봇: /robot/status, /robot/pose, /robot/peer/offer ... (robotId = DEFAULT_ROBOT_ID)
+ */
+public final class RobotTopics {
+
+    public static final String PREFIX = "/robot/";
+    public static final String DEFAULT_ROBOT_ID = "default";
+
+    // 기존 단일 로봇 토픽의 첫 구간 (로봇 ID로 쓸 수 없는 예약어)
+    private static final Set<String> LEGACY_KINDS = Set.of("status", "pose", "peer", "control", "video", "detection");
+
+    private RobotTopics() {
+    }
+
+    // 토픽에서 로봇 ID 추출 (로봇 토픽이 아니면 null)
+    public static String robotId(String topic) {
+        if (topic == null || !topic.startsWith(PREFIX)) return null;
+        int start = PREFIX.length();
+        int end = topic.indexOf('/', start);
+        String first = (end < 0) ? topic.substring(start) : topic.substring(start, end);
+        if (first.isEmpty()) return null;
+        return LEGACY_KINDS.contains(first) ? DEFAULT_ROBOT_ID : first;
+    }
+
+    // 토픽에서 종류 추출 (예: "status", "pose", "peer/offer")
+    public static String kind(String topic) {
+        if (topic == null || !topic.startsWith(PREFIX)) return null;
+        int start = PREFIX.length();
+        int end = topic.indexOf('/', start);
+        if (end < 0) {
+            String first = topic.substring(start);
+            return LEGACY_KINDS.contains(first) ? first : null;
+        }
+        String first = topic.substring(start, end);
+        return LEGACY_KINDS.contains(first) ? topic.substring(start) : topic.substring(end + 1);
+    }
+
+    // 로봇에게 보낼 토픽 (기본 로봇은 기존 토픽 유지 → 예전 시뮬레이터도 그대로 동작)
+    public static String of(String robotId, String kind) {
+        if (robotId == null || robotId.isEmpty() || DEFAULT_ROBOT_ID.equals(robotId)) {
+            return PREFIX + kind;
+        }
+        return PREFIX + robotId + "/" + kind;
+    }
+}
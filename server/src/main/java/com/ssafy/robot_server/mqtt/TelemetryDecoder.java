@@ -0,0 +1,136 @@
+package com.ssafy.robot_server.mqtt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * MQTT 텔레메트리(JSON) 디코더.
+ * byte[]를 Jackson 스트리밍 파서로 한 번 훑으면서 TelemetryFrame에 바로 채웁니다.
+ * - 중간 String / JsonNode 트리 없음
+ * - 필드 이름은 Jackson 심볼 테이블에서 재사용되는 문자열이라 switch 비교만 함
+ * - 모르는 필드는 값(객체/배열 포함)을 통째로 건너뜀
+ * - mode 문자열은 직전 값과 같으면 새로 만들지 않음 (대부분 같은 모드가 계속 옴)
+ * 필수 필드가 없거나 숫자/불리언이 아니면 false (0으로 채워서 실제 샘플처럼 저장하지 않음)
+ * - status: batteryLevel, temperature, isCharging (x, y, mode는 없으면 0 / "unknown")
+ * - pose  : x, y
+ */
+public final class TelemetryDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // 받은 필드 비트
+    private static final int BATTERY = 1;
+    private static final int TEMPERATURE = 1 << 1;
+    private static final int CHARGING = 1 << 2;
+    private static final int X = 1 << 3;
+    private static final int Y = 1 << 4;
+    private static final int STATUS_REQUIRED = BATTERY | TEMPERATURE | CHARGING;
+    private static final int POSE_REQUIRED = X | Y;
+
+    private TelemetryDecoder() {
+    }
+
+    /**
+     * @param type BinaryTelemetryCodec.TYPE_STATUS 또는 TYPE_POSE (필수 필드 기준)
+     * @return 최상위가 JSON 객체가 아니거나, 필수 필드가 없거나, 값이 숫자/불리언이 아니면 false
+     */
+    public static boolean decode(byte[] payload, TelemetryFrame frame, int type) throws IOException {
+        String previousMode = frame.mode;
+        frame.reset();
+        int seen = 0;
+        try (JsonParser p = JSON_FACTORY.createParser(payload)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return false;
+
+            String field;
+            while ((field = p.nextFieldName()) != null) {
+                JsonToken value = p.nextToken();
+                switch (field) {
+                    case "batteryLevel" -> {
+                        double v = number(p, value);
+                        if (Double.isNaN(v)) return false;
+                        frame.batteryLevel = (int) Math.round(v);
+                        seen |= BATTERY;
+                    }
+                    case "temperature" -> {
+                        frame.temperature = number(p, value);
+                        if (Double.isNaN(frame.temperature)) return false;
+                        seen |= TEMPERATURE;
+                    }
+                    case "isCharging" -> {
+                        int v = bool(p, value);
+                        if (v < 0) return false;
+                        frame.isCharging = v == 1;
+                        seen |= CHARGING;
+                    }
+                    case "x" -> {
+                        frame.x = number(p, value);
+                        if (Double.isNaN(frame.x)) return false;
+                        seen |= X;
+                    }
+                    case "y" -> {
+                        frame.y = number(p, value);
+                        if (Double.isNaN(frame.y)) return false;
+                        seen |= Y;
+                    }
+                    case "mode" -> frame.mode = mode(p, value, previousMode);
+                    default -> p.skipChildren(); // 스칼라 값이면 아무 것도 안 함
+                }
+            }
+            int required = type == BinaryTelemetryCodec.TYPE_POSE ? POSE_REQUIRED : STATUS_REQUIRED;
+            if ((seen & required) != required) return false;
+            if (frame.mode == null) frame.mode = TelemetryFrame.UNKNOWN_MODE;
+            return true;
+        }
+    }
+
+    // 숫자 (또는 "12.5" 처럼 문자열로 온 숫자). 아니면 NaN
+    private static double number(JsonParser p, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT || value == JsonToken.VALUE_NUMBER_FLOAT) return p.getDoubleValue();
+        if (value == JsonToken.VALUE_STRING) {
+            try {
+                double v = Double.parseDouble(p.getText());
+                return Double.isFinite(v) ? v : Double.NaN;
+            } catch (NumberFormatException ignored) {
+                return Double.NaN;
+            }
+        }
+        return Double.NaN;
+    }
+
+    // true/false, 0/1, "true"/"false" → 1/0, 그 밖에는 -1
+    private static int bool(JsonParser p, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_TRUE) return 1;
+        if (value == JsonToken.VALUE_FALSE) return 0;
+        if (value == JsonToken.VALUE_NUMBER_INT) return p.getIntValue() != 0 ? 1 : 0;
+        if (value == JsonToken.VALUE_STRING) {
+            if ("true".equalsIgnoreCase(p.getText())) return 1;
+            if ("false".equalsIgnoreCase(p.getText())) return 0;
+        }
+        return -1;
+    }
+
+    private static String mode(JsonParser p, JsonToken value, String previous) throws IOException {
+        if (value != JsonToken.VALUE_STRING) {
+            p.skipChildren();
+            return TelemetryFrame.UNKNOWN_MODE;
+        }
+        // 파서 내부 버퍼와 직전 값을 비교해서 같으면 재사용
+        char[] chars = p.getTextCharacters();
+        int offset = p.getTextOffset();
+        int length = p.getTextLength();
+        if (previous != null && previous.length() == length) {
+            boolean same = true;
+            for (int i = 0; i < length; i++) {
+                if (previous.charAt(i) != chars[offset + i]) {
+                    same = false;
+                    break;
+                }
+            }
+            if (same) return previous;
+        }
+        return new String(chars, offset, length);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ssafy.robot_server.mqtt;
+
+/**
+ * MQTT 텔레메트리 한 건을 담는 재사용 버퍼 (파티션 스레드마다 하나, 메시지마다 reset).
+ * 값은 모두 기본형이라 디코딩 중에 박싱/객체 생성이 없습니다.
+ * status/pose 공용: pose는 x, y만 채워집니다.
+ */
+public final class TelemetryFrame {
+
+    public static final String UNKNOWN_MODE = "unknown";
+
+    public int batteryLevel;
+    public double temperature;
+    public boolean isCharging;
+    public double x;
+    public double y;
+    public String mode;
+
+    public TelemetryFrame reset() {
+        batteryLevel = 0;
+        temperature = 0.0;
+        isCharging = false;
+        x = 0.0;
+        y = 0.0;
+        mode = null;
+        return this;
+    }
+}
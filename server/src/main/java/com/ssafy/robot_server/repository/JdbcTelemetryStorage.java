@@ -0,0 +1,109 @@
+package com.ssafy.robot_server.repository;
+
+import com.ssafy.robot_server.domain.RobotPose;
+import com.ssafy.robot_server.domain.RobotStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기존 Postgres 테이블(robot_status, robot_pose)에 저장하는 엔진.
+ * IDENTITY id라 Hibernate 배치가 안 되므로 JDBC 배치 INSERT를 직접 사용합니다.
+ * 조회는 커서(fetch size)로 조금씩 읽어 힙에 전체를 올리지 않습니다. (Postgres는 트랜잭션 안에서만 커서 사용)
+ */
+@Repository
+@ConditionalOnProperty(name = "telemetry.storage.engine", havingValue = "jpa", matchIfMissing = true)
+public class JdbcTelemetryStorage implements TelemetryStorage {
+
+    private static final String INSERT_STATUS =
+            "INSERT INTO robot_status (robot_id, battery_level, temperature, is_charging, x, y, mode, timestamp) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_POSE =
+            "INSERT INTO robot_pose (robot_id, x, y, timestamp) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_STATUS =
+            "SELECT timestamp, battery_level, temperature, is_charging, x, y, mode FROM robot_status " +
+            "WHERE robot_id = ? AND timestamp >= ? AND timestamp < ? ORDER BY timestamp";
+    private static final String SELECT_POSE =
+            "SELECT timestamp, x, y FROM robot_pose WHERE robot_id = ? AND timestamp >= ? AND timestamp < ? ORDER BY timestamp";
+
+    private static final String SELECT_ROBOTS =
+            "SELECT DISTINCT robot_id FROM robot_status WHERE timestamp >= ? AND timestamp < ? AND robot_id IS NOT NULL";
+    // 한 번에 limit건씩만 지워서 긴 잠금/거대한 트랜잭션을 피함
+    private static final String DELETE_STATUS =
+            "DELETE FROM robot_status WHERE id IN (SELECT id FROM robot_status WHERE timestamp < ? LIMIT ?)";
+    private static final String DELETE_POSE =
+            "DELETE FROM robot_pose WHERE id IN (SELECT id FROM robot_pose WHERE timestamp < ? LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcTelemetryStorage(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+    }
+
+    @Override
+    public void saveStatuses(List<RobotStatus> statuses) {
+        if (statuses.isEmpty()) return;
+        List<Object[]> rows = new ArrayList<>(statuses.size());
+        for (RobotStatus s : statuses) {
+            rows.add(new Object[]{
+                    s.getRobotId(), s.getBatteryLevel(), s.getTemperature(), s.getIsCharging(),
+                    s.getX(), s.getY(), s.getMode(), Timestamp.valueOf(s.getTimestamp())});
+        }
+        jdbcTemplate.batchUpdate(INSERT_STATUS, rows);
+    }
+
+    @Override
+    public void savePoses(List<RobotPose> poses) {
+        if (poses.isEmpty()) return;
+        Timestamp now = new Timestamp(System.currentTimeMillis()); // 수신 시각이 없을 때만 (TelemetryWriter가 기록함)
+        List<Object[]> rows = new ArrayList<>(poses.size());
+        for (RobotPose p : poses) {
+            rows.add(new Object[]{
+                    p.getRobotId(), p.getX(), p.getY(), p.getTimestamp() != null ? p.getTimestamp() : now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_POSE, rows);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void scanStatuses(String robotId, long from, long to, StatusVisitor visitor) {
+        jdbcTemplate.query(SELECT_STATUS, (RowCallbackHandler) rs -> {
+            // NULL → NaN (StatusVisitor 규칙, tsdb 엔진과 같음)
+            visitor.accept(rs.getTimestamp(1).getTime(), doubleOrNaN(rs, 2), doubleOrNaN(rs, 3), rs.getBoolean(4),
+                    doubleOrNaN(rs, 5), doubleOrNaN(rs, 6), rs.getString(7));
+        }, robotId, new Timestamp(from), new Timestamp(to));
+    }
+
+    private static double doubleOrNaN(ResultSet rs, int column) throws SQLException {
+        double v = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : v;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void scanPoses(String robotId, long from, long to, PoseVisitor visitor) {
+        jdbcTemplate.query(SELECT_POSE, (RowCallbackHandler) rs -> {
+            visitor.accept(rs.getTimestamp(1).getTime(), rs.getDouble(2), rs.getDouble(3));
+        }, robotId, new Timestamp(from), new Timestamp(to));
+    }
+
+    @Override
+    public List<String> robotIds(long from, long to) {
+        return jdbcTemplate.queryForList(SELECT_ROBOTS, String.class, new Timestamp(from), new Timestamp(to));
+    }
+
+    @Override
+    public int deleteBefore(long cutoff, int limit) {
+        Timestamp before = new Timestamp(cutoff);
+        return jdbcTemplate.update(DELETE_STATUS, before, limit) + jdbcTemplate.update(DELETE_POSE, before, limit);
+    }
+}
@@ -1,10 +1,35 @@
 package com.ssafy.robot_server.repository;
 
 import com.ssafy.robot_server.domain.Log;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface LogRepository extends JpaRepository<Log, Long> {
     // 특정 유저의 로그만 최신순으로 가져오기
     List<Log> findByUserIdOrderByCreatedAtDesc(Long userId);
-}
\ No newline at end of file
+
+    // 커서 페이지: 첫 페이지 / (createdAt, id) 이후 페이지
+    List<Log> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Limit limit);
+
+    @Query("select l from Log l where l.userId = :userId " +
+           "and (l.createdAt < :createdAt or (l.createdAt = :createdAt and l.id < :id)) " +
+           "order by l.createdAt desc, l.id desc")
+    List<Log> findPageAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                            @Param("id") Long id, Limit limit);
+
+    // NDJSON 스트리밍용 (트랜잭션 안에서 커서로 조금씩 읽음)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select l from Log l where l.userId = :userId order by l.createdAt desc, l.id desc")
+    Stream<Log> streamByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,17 @@
+package com.ssafy.robot_server.repository;
+
+import com.ssafy.robot_server.domain.LogStatCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface LogStatCountRepository extends JpaRepository<LogStatCount, Long> {
+
+    @Query("select c from LogStatCount c where c.userId = :userId and c.resolution = :resolution " +
+           "and c.bucketStart >= :from and c.bucketStart < :to order by c.bucketStart")
+    List<LogStatCount> findRange(@Param("userId") Long userId, @Param("resolution") String resolution,
+                                 @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,17 @@
+package com.ssafy.robot_server.repository;
+
+import com.ssafy.robot_server.domain.LogStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface LogStatRepository extends JpaRepository<LogStat, Long> {
+
+    @Query("select s from LogStat s where s.userId = :userId and s.resolution = :resolution " +
+           "and s.bucketStart >= :from and s.bucketStart < :to order by s.bucketStart")
+    List<LogStat> findRange(@Param("userId") Long userId, @Param("resolution") String resolution,
+                            @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -2,13 +2,78 @@ package com.ssafy.robot_server.repository;
 
 import com.ssafy.robot_server.domain.Notification;
 import com.ssafy.robot_server.domain.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserOrderByTimestampDesc(User user);
     
+    // --- 일괄 변경 (엔티티를 읽지 않고 UPDATE/DELETE 한 번) ---
+    @Transactional
+    @Modifying
+    @Query("update Notification n set n.isRead = true where n.id = :id and n.isRead = false")
+    int markRead(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update Notification n set n.isRead = true where n.user.id = :userId and n.isRead = false")
+    int markAllRead(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Notification n where n.id = :id")
+    int deleteOne(@Param("id") Long id);
+
     @Transactional
-    void deleteByUser(User user); // 전체 삭제용
-}
\ No newline at end of file
+    @Modifying
+    @Query("delete from Notification n where n.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId); // 전체 삭제용
+
+    // --- 안 읽은 알림 수 (NotificationCounter 초기값/보정용) ---
+    @Query("select n.user.id from Notification n where n.id = :id")
+    Long findUserIdById(@Param("id") Long id);
+
+    // 안 읽은 알림이면 주인 userId, 아니면 null
+    @Query("select n.user.id from Notification n where n.id = :id and n.isRead = false")
+    Long findUnreadOwnerById(@Param("id") Long id);
+
+    @Query("select count(n) from Notification n where n.user.id = :userId and n.isRead = false")
+    long countUnread(@Param("userId") Long userId);
+
+    // [userId, count] 목록
+    @Query("select n.user.id, count(n) from Notification n where n.isRead = false and n.user.id in :userIds group by n.user.id")
+    List<Object[]> countUnreadByUser(@Param("userIds") Collection<Long> userIds);
+
+    // 커서 페이지: 첫 페이지 / (timestamp, id) 이후 페이지 (User 엔티티를 읽지 않도록 id로 조회)
+    @Query("select n from Notification n where n.user.id = :userId order by n.timestamp desc, n.id desc")
+    List<Notification> findFirstPage(@Param("userId") Long userId, Limit limit);
+
+    @Query("select n from Notification n where n.user.id = :userId " +
+           "and (n.timestamp < :timestamp or (n.timestamp = :timestamp and n.id < :id)) " +
+           "order by n.timestamp desc, n.id desc")
+    List<Notification> findPageAfter(@Param("userId") Long userId, @Param("timestamp") LocalDateTime timestamp,
+                                     @Param("id") Long id, Limit limit);
+
+    // 재접속 시 다시 보낼 안 읽은 알림 (최신순)
+    @Query("select n from Notification n where n.user.id = :userId and n.isRead = false order by n.timestamp desc, n.id desc")
+    List<Notification> findUnread(@Param("userId") Long userId, Limit limit);
+
+    // NDJSON 스트리밍용 (트랜잭션 안에서 커서로 조금씩 읽음)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select n from Notification n where n.user.id = :userId order by n.timestamp desc, n.id desc")
+    Stream<Notification> streamByUserId(@Param("userId") Long userId);
+}
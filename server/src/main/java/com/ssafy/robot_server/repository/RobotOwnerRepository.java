@@ -0,0 +1,20 @@
+package com.ssafy.robot_server.repository;
+
+import com.ssafy.robot_server.domain.RobotOwner;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RobotOwnerRepository extends JpaRepository<RobotOwner, String> {
+
+    boolean existsByRobotIdAndUserId(String robotId, Long userId);
+
+    // 주인이 없을 때만 등록 (이미 있으면 아무것도 안 함 → 동시에 등록해도 먼저 들어온 한 명만)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO robot_owners (robot_id, user_id, claimed_at) VALUES (:robotId, :userId, now()) " +
+                   "ON CONFLICT (robot_id) DO NOTHING", nativeQuery = true)
+    int claimIfUnowned(@Param("robotId") String robotId, @Param("userId") Long userId);
+}
@@ -0,0 +1,7 @@
+package com.ssafy.robot_server.repository;
+
+import com.ssafy.robot_server.domain.RollupWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RollupWatermarkRepository extends JpaRepository<RollupWatermark, String> {
+}
@@ -0,0 +1,17 @@
+package com.ssafy.robot_server.repository;
+
+import com.ssafy.robot_server.domain.TelemetryRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TelemetryRollupRepository extends JpaRepository<TelemetryRollup, Long> {
+
+    @Query("select r from TelemetryRollup r where r.robotId = :robotId and r.resolution = :resolution " +
+           "and r.bucketStart >= :from and r.bucketStart < :to order by r.bucketStart")
+    List<TelemetryRollup> findRange(@Param("robotId") String robotId, @Param("resolution") String resolution,
+                                    @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
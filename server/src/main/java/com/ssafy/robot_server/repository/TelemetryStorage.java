@@ -0,0 +1,44 @@
+package com.ssafy.robot_server.repository;
+
+import com.ssafy.robot_server.domain.RobotPose;
+import com.ssafy.robot_server.domain.RobotStatus;
+
+import java.util.List;
+
+/**
+ * 텔레메트리(상태/위치) 저장 엔진.
+ * telemetry.storage.engine 설정으로 선택합니다.
+ * - jpa  : 기존 robot_status / robot_pose 테이블 (JdbcTelemetryStorage)
+ * - tsdb : 로봇/시간 블록별 압축 세그먼트 파일 (TsdbTelemetryStorage)
+ * 조회는 엔티티를 만들지 않고 콜백으로 한 행씩 흘려보냅니다. (시간 = epoch millis, [from, to) 구간)
+ */
+public interface TelemetryStorage {
+
+    /**
+     * 값이 없는(NULL) 항목은 두 엔진 모두 같은 규칙으로 넘깁니다.
+     * - 숫자(batteryLevel, temperature, x, y): NaN (0으로 넘기면 실제 값처럼 평균/거리에 섞임)
+     * - charging: false, mode: null
+     */
+    interface StatusVisitor {
+        void accept(long timestamp, double batteryLevel, double temperature, boolean charging,
+                    double x, double y, String mode);
+    }
+
+    interface PoseVisitor {
+        void accept(long timestamp, double x, double y);
+    }
+
+    void saveStatuses(List<RobotStatus> statuses);
+
+    void savePoses(List<RobotPose> poses);
+
+    void scanStatuses(String robotId, long from, long to, StatusVisitor visitor);
+
+    void scanPoses(String robotId, long from, long to, PoseVisitor visitor);
+
+    // [from, to) 구간에 상태 데이터가 있는 로봇 목록 (집계 작업용)
+    List<String> robotIds(long from, long to);
+
+    // cutoff 이전 원본 데이터를 최대 limit 단위로 삭제하고 삭제한 양을 반환 (0이면 더 지울 것 없음)
+    int deleteBefore(long cutoff, int limit);
+}
@@ -1,9 +1,34 @@
 package com.ssafy.robot_server.repository;
 
 import com.ssafy.robot_server.domain.Video;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface VideoRepository extends JpaRepository<Video, Long> {
     List<Video> findByUserIdOrderByCreatedAtDesc(Long userId);
-}
\ No newline at end of file
+
+    // 커서 페이지: 첫 페이지 / (createdAt, id) 이후 페이지
+    List<Video> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Limit limit);
+
+    @Query("select v from Video v where v.userId = :userId " +
+           "and (v.createdAt < :createdAt or (v.createdAt = :createdAt and v.id < :id)) " +
+           "order by v.createdAt desc, v.id desc")
+    List<Video> findPageAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                              @Param("id") Long id, Limit limit);
+
+    // NDJSON 스트리밍용 (트랜잭션 안에서 커서로 조금씩 읽음)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select v from Video v where v.userId = :userId order by v.createdAt desc, v.id desc")
+    Stream<Video> streamByUserId(@Param("userId") Long userId);
+}
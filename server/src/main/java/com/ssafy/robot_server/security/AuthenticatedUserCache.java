@@ -0,0 +1,94 @@
+package com.ssafy.robot_server.security;
+
+import com.ssafy.robot_server.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 검증된 JWT → 사용자 캐시.
+ * 같은 토큰이 다시 오면 서명 검증도 DB 조회도 하지 않습니다. (처음 한 번만 서명 1회 + findByEmail 1회)
+ * - 키: 토큰 SHA-256 (토큰 원문은 메모리에 남기지 않음)
+ * - 만료: ttl과 토큰 exp 중 빠른 쪽
+ * - 크기: max-size 초과 시 가장 오래 안 쓴 항목부터 제거 (LRU)
+ * - 프로필/비밀번호가 바뀌면 해당 이메일 항목을 지움 (invalidate)
+ */
+@Component
+public class AuthenticatedUserCache {
+
+    public record CachedUser(Long userId, String email, long expiresAt) {
+    }
+
+    private final JwtTokenProvider tokenProvider;
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final Map<String, CachedUser> cache;
+
+    public AuthenticatedUserCache(JwtTokenProvider tokenProvider, UserRepository userRepository,
+                                  @Value("${jwt.cache.max-size:10000}") int maxSize,
+                                  @Value("${jwt.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.tokenProvider = tokenProvider;
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    // 토큰 → 사용자 (잘못된/만료된 토큰이거나 없는 사용자면 null)
+    public CachedUser resolve(String token) {
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            CachedUser hit = cache.get(key);
+            if (hit != null) {
+                if (hit.expiresAt() > now) return hit;
+                cache.remove(key);
+            }
+        }
+
+        // 캐시에 없을 때만 서명 검증 1회 + DB 1회
+        Claims claims = tokenProvider.parseClaims(token);
+        if (claims == null) return null;
+        long expiresAt = now + ttlMillis;
+        if (claims.getExpiration() != null) expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+
+        long exp = expiresAt;
+        CachedUser user = userRepository.findByEmail(claims.getSubject())
+                .map(u -> new CachedUser(u.getId(), u.getEmail(), exp))
+                .orElse(null);
+        if (user != null) {
+            synchronized (cache) {
+                cache.put(key, user);
+            }
+        }
+        return user;
+    }
+
+    // 사용자 정보가 바뀌면 그 사용자의 토큰 항목 전부 제거
+    public void invalidate(String email) {
+        if (email == null) return;
+        synchronized (cache) {
+            cache.values().removeIf(u -> email.equals(u.email()));
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.ssafy.robot_server.security;
 
-import com.ssafy.robot_server.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,12 +17,10 @@ import java.util.Collections;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider tokenProvider;
-    private final UserRepository userRepository;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserRepository userRepository) {
-        this.tokenProvider = tokenProvider;
-        this.userRepository = userRepository;
+    public JwtAuthenticationFilter(AuthenticatedUserCache authenticatedUserCache) {
+        this.authenticatedUserCache = authenticatedUserCache;
     }
 
     @Override
@@ -33,21 +30,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 1. 요청 헤더에서 토큰 꺼내기
         String token = parseBearerToken(request);
 
-        // 2. 토큰이 있고 유효하다면 인증 처리
-        if (token != null && tokenProvider.validateToken(token)) {
-            String email = tokenProvider.getEmailFromToken(token);
-            
-            // DB에서 유저 확인 (UserDetails 생성)
-            userRepository.findByEmail(email).ifPresent(user -> {
-                UserDetails userDetails = new org.springframework.security.core.userdetails.User(
-                        user.getEmail(), user.getPassword(), Collections.emptyList());
-                
-                // 스프링 시큐리티에 "이 사람 로그인 됐음" 도장 찍기
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            });
+        // 2. 토큰이 유효하면 인증 처리 (캐시에 있으면 서명 검증/DB 조회 없이 바로)
+        AuthenticatedUserCache.CachedUser user = (token != null) ? authenticatedUserCache.resolve(token) : null;
+        if (user != null) {
+            // 비밀번호는 캐시/컨텍스트에 두지 않음 (토큰으로 이미 인증됨)
+            UserDetails userDetails = new org.springframework.security.core.userdetails.User(
+                    user.email(), "", Collections.emptyList());
+
+            // 스프링 시큐리티에 "이 사람 로그인 됐음" 도장 찍기
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+
+            SecurityContextHolder.getContext().setAuthentication(authentication);
         }
 
         filterChain.doFilter(request, response);
@@ -58,6 +52,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
         }
+        // <video src>/<img src>는 헤더를 못 붙이므로 영상 재생/썸네일 GET만 쿼리로 허용 (?access_token=)
+        if (isMediaRequest(request)) {
+            String queryToken = request.getParameter("access_token");
+            if (StringUtils.hasText(queryToken)) return queryToken;
+        }
         return null;
     }
+
+    private static boolean isMediaRequest(HttpServletRequest request) {
+        String method = request.getMethod();
+        String uri = request.getRequestURI();
+        return ("GET".equals(method) || "HEAD".equals(method))
+                && uri.startsWith("/api/videos/") && (uri.endsWith("/clip") || uri.endsWith("/thumbnail"));
+    }
 }
\ No newline at end of file
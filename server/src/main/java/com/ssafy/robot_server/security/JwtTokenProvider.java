@@ -16,11 +16,13 @@ public class JwtTokenProvider {
     private String secretKey;
 
     private Key key;
+    private JwtParser parser; // 스레드 안전, 한 번만 생성
     private final long EXPIRATION_TIME = 1000 * 60 * 60 * 24; // 24시간
 
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     // 1. 토큰 생성
@@ -33,21 +35,22 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    // 2. 토큰에서 이메일 추출
+    // 2. 서명 검증 + 내용 추출을 한 번에 (유효하지 않으면 null)
+    public Claims parseClaims(String token) {
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // 3. 토큰에서 이메일 추출
     public String getEmailFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
-    // 3. 토큰 유효성 검증
+    // 4. 토큰 유효성 검증
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return parseClaims(token) != null;
     }
 }
\ No newline at end of file
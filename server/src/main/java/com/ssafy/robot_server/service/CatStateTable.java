@@ -0,0 +1,258 @@
+package com.ssafy.robot_server.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ssafy.robot_server.domain.Cat;
+import com.ssafy.robot_server.domain.RobotOwner;
+import com.ssafy.robot_server.repository.CatRepository;
+import com.ssafy.robot_server.repository.RobotOwnerRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 고양이별 실시간 상태표 (행동/건강/마지막 감지 시각).
+ * 로봇 감지(/robot/{id}/detection)는 카메라 프레임마다 올 수 있어서 DB에 바로 쓰지 않습니다.
+ * - 감지가 오면 메모리 표를 갱신하고, 행동/건강이 바뀌면 주인에게 바로 STOMP로 보냄 (/user/queue/cats)
+ * - 바뀐 고양이만 표시해 두었다가 flush-interval마다 한 번의 배치 UPDATE로 저장 (고양이당 주기마다 최대 1행)
+ * 감지는 그 고양이 주인이 등록한 로봇(robot_owners)이 보낸 것만 반영합니다. 남의 로봇이 보낸 감지는 세고 버림
+ * 목록 조회(getCats)는 DB 행 위에 이 표의 값을 덮어서 돌려주므로 저장 전이라도 최신 상태가 보입니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatStateTable {
+
+    public static final String QUEUE = "/queue/cats";
+
+    // 고양이 행은 등록할 때 이미 만들어지므로 상태 컬럼만 덮어씀
+    private static final String UPDATE_STATE =
+            "UPDATE cats SET behavior_status = ?, health_status = ?, last_detected = ? WHERE id = ?";
+    // 없는 고양이 ID / 주인 없는 로봇이 계속 보내도 DB를 매번 조회하지 않도록 기억 (넘치면 비움)
+    private static final int MAX_UNKNOWN = 10_000;
+
+    private final CatRepository catRepository;
+    private final RobotOwnerRepository robotOwnerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Value("${cats.state.min-confidence:0.5}")
+    private double minConfidence;
+
+    // 행동/건강이 그대로일 때 '마지막 감지' 갱신을 보내는 최소 간격
+    @Value("${cats.state.push-interval-ms:1000}")
+    private long pushIntervalMs;
+
+    // 주인 없는 로봇을 다시 조회하는 간격 (그 사이에 등록될 수 있음)
+    @Value("${cats.state.owner-recheck-ms:5000}")
+    private long ownerRecheckMs;
+
+    // 고양이 ID → 상태
+    private final Map<Long, CatState> states = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final Set<Long> unknown = ConcurrentHashMap.newKeySet();
+    // 로봇 ID → 주인 ID (주인은 한 번 정해지면 바뀌지 않으므로 계속 기억)
+    private final Map<String, Long> owners = new ConcurrentHashMap<>();
+    // 주인 없는 로봇 ID → 마지막 조회 시각
+    private final Map<String, Long> unowned = new ConcurrentHashMap<>();
+
+    // 📊 지표
+    private final AtomicLong detections = new AtomicLong();
+    private final AtomicLong ignored = new AtomicLong();
+    private final AtomicLong notOwned = new AtomicLong();
+    private final AtomicLong pushes = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    // 1. 로봇 감지 (MQTT 파티션 스레드에서 호출)
+    // {"catId": 3, "behavior": "sleeping", "health": "normal", "confidence": 0.93}
+    // 또는 한 프레임에 여러 마리: {"detections": [{...}, {...}]}
+    public void onDetection(String robotId, JsonNode payload) {
+        JsonNode list = payload.has("detections") ? payload.get("detections") : payload;
+        if (list.isArray()) {
+            for (JsonNode detection : list) apply(robotId, detection);
+        } else {
+            apply(robotId, list);
+        }
+    }
+
+    // 2. 목록 조회: DB 행에 실시간 상태 덮어쓰기
+    public List<Cat> overlay(List<Cat> cats) {
+        for (Cat cat : cats) {
+            CatState state = states.get(cat.getId());
+            if (state == null) continue;
+            synchronized (state) {
+                cat.setBehaviorStatus(state.behaviorStatus);
+                cat.setHealthStatus(state.healthStatus);
+                cat.setLastDetected(state.lastDetected);
+            }
+        }
+        return cats;
+    }
+
+    // 3. 고양이 삭제/등록 시 표 정리
+    public void forget(Long catId) {
+        states.remove(catId);
+        dirty.remove(catId);
+    }
+
+    public void registered(Long catId) {
+        unknown.remove(catId);
+    }
+
+    // 4. 바뀐 고양이만 모아서 배치 저장
+    @Scheduled(fixedDelayString = "${cats.state.flush-interval-ms:2000}")
+    public void flush() {
+        if (dirty.isEmpty()) return;
+        List<Long> ids = new ArrayList<>(dirty.size());
+        List<Object[]> rows = new ArrayList<>(dirty.size());
+        for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+            Long id = it.next();
+            it.remove(); // 읽은 뒤에 또 바뀌면 다시 표시되어 다음 주기에 저장됨
+            CatState state = states.get(id);
+            if (state == null) continue;
+            synchronized (state) {
+                rows.add(new Object[]{state.behaviorStatus, state.healthStatus, Timestamp.valueOf(state.lastDetected), id});
+            }
+            ids.add(id);
+        }
+        if (rows.isEmpty()) return;
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_STATE, rows);
+            written.addAndGet(rows.size());
+        } catch (Exception e) {
+            failed.addAndGet(rows.size());
+            for (Long id : ids) if (states.containsKey(id)) dirty.add(id); // 다음 주기에 다시 시도
+            log.error("❌ 고양이 상태 저장 실패 ({}건): {}", rows.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush(); // 종료 직전 남은 상태까지 저장
+    }
+
+    // --- 지표 조회 ---
+    public int getTrackedCount() { return states.size(); }
+    public int getDirtyCount() { return dirty.size(); }
+    public long getDetectionCount() { return detections.get(); }
+    public long getIgnoredCount() { return ignored.get(); }
+    public long getNotOwnedCount() { return notOwned.get(); }
+    public long getPushCount() { return pushes.get(); }
+    public long getWrittenCount() { return written.get(); }
+    public long getFailedCount() { return failed.get(); }
+
+    private void apply(String robotId, JsonNode detection) {
+        detections.incrementAndGet();
+        if (!detection.hasNonNull("catId") || detection.path("confidence").asDouble(1.0) < minConfidence) {
+            ignored.incrementAndGet();
+            return;
+        }
+        long catId = detection.get("catId").asLong();
+        CatState state = state(catId);
+        if (state == null) {
+            ignored.incrementAndGet();
+            log.debug("로봇 {}가 등록되지 않은 고양이 {}를 감지", robotId, catId);
+            return;
+        }
+        Long owner = owner(robotId);
+        if (owner == null || !owner.equals(state.userId)) {
+            notOwned.incrementAndGet();
+            log.debug("로봇 {}가 주인이 다른 고양이 {}를 감지 → 무시", robotId, catId);
+            return;
+        }
+
+        String behavior = text(detection, "behavior");
+        String health = text(detection, "health");
+        long now = System.currentTimeMillis();
+        CatUpdate update = null;
+        synchronized (state) {
+            boolean changed = (behavior != null && !behavior.equals(state.behaviorStatus))
+                    || (health != null && !health.equals(state.healthStatus));
+            if (behavior != null) state.behaviorStatus = behavior;
+            if (health != null) state.healthStatus = health;
+            state.lastDetected = LocalDateTime.now(); // 로봇 시계 대신 서버 시각
+            if (changed || now - state.lastPushedAt >= pushIntervalMs) {
+                state.lastPushedAt = now;
+                update = new CatUpdate(catId, state.behaviorStatus, state.healthStatus, state.lastDetected);
+            }
+        }
+        dirty.add(catId);
+
+        if (update != null) {
+            messagingTemplate.convertAndSendToUser(String.valueOf(state.userId), QUEUE, update);
+            pushes.incrementAndGet();
+        }
+    }
+
+    // 처음 보는 고양이는 DB에서 한 번만 읽어 표에 올림 (주인 ID와 저장된 상태)
+    private CatState state(long catId) {
+        CatState state = states.get(catId);
+        if (state != null || unknown.contains(catId)) return state;
+        Cat cat = catRepository.findById(catId).orElse(null);
+        if (cat == null) {
+            if (unknown.size() >= MAX_UNKNOWN) unknown.clear();
+            unknown.add(catId);
+            return null;
+        }
+        return states.computeIfAbsent(catId, id -> new CatState(cat));
+    }
+
+    // 로봇 주인 ID (없으면 null). 주인 없는 로봇은 owner-recheck-ms마다만 DB 조회
+    private Long owner(String robotId) {
+        Long owner = owners.get(robotId);
+        if (owner != null) return owner;
+        long now = System.currentTimeMillis();
+        Long checkedAt = unowned.get(robotId);
+        if (checkedAt != null && now - checkedAt < ownerRecheckMs) return null;
+
+        owner = robotOwnerRepository.findById(robotId).map(RobotOwner::getUserId).orElse(null);
+        if (owner == null) {
+            if (unowned.size() >= MAX_UNKNOWN) unowned.clear();
+            unowned.put(robotId, now);
+            return null;
+        }
+        unowned.remove(robotId);
+        owners.put(robotId, owner);
+        return owner;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() || value.asText().isEmpty() ? null : value.asText();
+    }
+
+    private static final class CatState {
+        final Long userId;
+        String behaviorStatus;
+        String healthStatus;
+        LocalDateTime lastDetected;
+        long lastPushedAt;
+
+        CatState(Cat cat) {
+            this.userId = cat.getUserId();
+            this.behaviorStatus = cat.getBehaviorStatus();
+            this.healthStatus = cat.getHealthStatus();
+            this.lastDetected = cat.getLastDetected();
+        }
+    }
+
+    // 화면으로 보내는 변경분 (필드 이름은 Cat과 같게 → 클라이언트가 그대로 병합)
+    public record CatUpdate(Long id, String behaviorStatus, String healthStatus, LocalDateTime lastDetected) {
+    }
+}
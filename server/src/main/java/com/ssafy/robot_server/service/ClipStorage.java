@@ -0,0 +1,245 @@
+package com.ssafy.robot_server.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 특이행동 영상 파일 저장소 (로컬 디스크).
+ * - 업로드: {id}.part 에 이어 쓰기 (청크 단위, 끊기면 현재 크기부터 다시). 요청 본문을 힙에 모으지 않고 파일 채널로 바로 씀
+ *   청크 길이가 선언과 다르면 쓴 만큼 되돌림. 영상 하나(max-bytes)와 저장소 전체(quota-bytes) 크기 제한
+ * - 완료: {id}.clip 으로 이름 변경 + SHA-256 (강한 ETag)
+ * - 전송: Tomcat sendfile(커널이 파일→소켓 직접 복사), 안 되면 FileChannel.transferTo
+ *   어느 쪽이든 파일 전체를 메모리에 올리지 않습니다.
+ */
+@Slf4j
+@Service
+public class ClipStorage {
+
+    private static final String PART = ".part";
+    private static final String CLIP = ".clip";
+    private static final int COPY_CHUNK = 256 * 1024;
+
+    // Tomcat sendfile 요청 속성
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Value("${videos.clips.dir:./data/clips}")
+    private String dir;
+
+    @Value("${videos.clips.max-bytes:536870912}")
+    private long maxClipBytes;
+
+    @Value("${videos.clips.quota-bytes:21474836480}")
+    private long quotaBytes;
+
+    private Path root;
+    // 영상 ID별 업로드 잠금 (같은 영상에 청크가 동시에 들어오면 순서대로)
+    private final Map<Long, Object> uploadLocks = new ConcurrentHashMap<>();
+    // 저장소 전체 사용량 (.part + .clip)
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    public record StoredClip(String file, long size, String etag) {
+    }
+
+    // 영상 하나 또는 저장소 전체 크기 제한 초과 (413)
+    public static class ClipTooLargeException extends RuntimeException {
+        public ClipTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    private interface LockedAction<T> {
+        T run(Object lock) throws IOException;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Path.of(dir).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        try (Stream<Path> files = Files.list(root)) {
+            usedBytes.set(files.filter(Files::isRegularFile).mapToLong(ClipStorage::sizeOf).sum());
+        }
+        log.info("🎞️ 영상 저장소: {} (사용 {} MB / 한도 {} MB, 영상당 최대 {} MB)",
+                root, usedBytes.get() >> 20, quotaBytes >> 20, maxClipBytes >> 20);
+    }
+
+    public long getMaxClipBytes() {
+        return maxClipBytes;
+    }
+
+    // 지금까지 받은 바이트 수 (이어 올리기 시작 위치)
+    public long uploadedBytes(Long videoId) throws IOException {
+        Path part = root.resolve(videoId + PART);
+        return Files.exists(part) ? Files.size(part) : 0;
+    }
+
+    /**
+     * 청크 하나를 start 위치에 이어 씀. start가 현재 크기와 다르면 IllegalStateException (클라이언트가 offset을 다시 물어봐야 함)
+     * length: 선언된 청크 길이 (-1이면 본문 끝까지). 본문이 더 짧거나 길면 쓴 것을 되돌리고 IllegalArgumentException
+     * 영상 크기/저장소 한도를 넘으면 되돌리고 ClipTooLargeException
+     * @return 쓴 뒤 전체 크기
+     */
+    public long appendChunk(Long videoId, long start, long length, InputStream body) throws IOException {
+        return withUploadLock(videoId, lock -> {
+            Path part = root.resolve(videoId + PART);
+            try (FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                long size = out.size();
+                if (start != size) throw new IllegalStateException("업로드 위치 불일치: 현재 " + size + "바이트");
+
+                // 쓸 수 있는 최대 = 영상 한도와 저장소 남은 공간 중 작은 쪽
+                long room = Math.min(maxClipBytes - start, quotaBytes - usedBytes.get());
+                if (length > room) throw new ClipTooLargeException("영상 크기 한도 초과");
+                // 선언 길이보다 1바이트 더 읽어 보면 본문이 긴지 알 수 있음
+                long limit = (length >= 0 ? length : Math.max(0, room)) + 1;
+
+                // 스트림 채널에서는 0이 돌아오면 본문 끝 (버퍼는 파일 채널 내부 임시 버퍼만 사용)
+                ReadableByteChannel in = Channels.newChannel(body);
+                long position = size;
+                long n;
+                while (position - size < limit
+                        && (n = out.transferFrom(in, position, Math.min(COPY_CHUNK, limit - (position - size)))) > 0) {
+                    position += n;
+                }
+                long written = position - size;
+                usedBytes.addAndGet(written);
+
+                String error = null;
+                if (length >= 0 && written != length) error = "청크 길이 불일치: 선언 " + length + "바이트";
+                else if (length < 0 && written > room) error = "영상 크기 한도 초과";
+                if (error != null) {
+                    out.truncate(size); // 이번 청크는 없던 것으로
+                    usedBytes.addAndGet(-written);
+                    if (length < 0) throw new ClipTooLargeException(error);
+                    throw new IllegalArgumentException(error);
+                }
+                return position;
+            }
+        });
+    }
+
+    // 업로드 완료: .part → .clip, 내용 해시 계산 (파일을 한 번 순서대로 읽음)
+    public StoredClip finish(Long videoId) throws IOException {
+        return withUploadLock(videoId, lock -> {
+            Path part = root.resolve(videoId + PART);
+            Path clip = root.resolve(videoId + CLIP);
+            String etag = sha256(part);
+            long replaced = sizeOf(clip);
+            Files.move(part, clip, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            usedBytes.addAndGet(-replaced);
+            // 잠금을 쥔 채로 이 잠금 객체만 제거 → 기다리던 스레드는 withUploadLock에서 새 잠금으로 다시 시도
+            uploadLocks.remove(videoId, lock);
+            return new StoredClip(clip.getFileName().toString(), Files.size(clip), etag);
+        });
+    }
+
+    public Path path(String file) {
+        Path path = root.resolve(file).normalize();
+        if (!path.startsWith(root)) throw new IllegalArgumentException("잘못된 파일 이름: " + file);
+        return path;
+    }
+
+    public void delete(Long videoId) {
+        try {
+            withUploadLock(videoId, lock -> {
+                for (Path file : new Path[]{root.resolve(videoId + PART), root.resolve(videoId + CLIP)}) {
+                    long size = sizeOf(file);
+                    if (Files.deleteIfExists(file)) usedBytes.addAndGet(-size);
+                }
+                uploadLocks.remove(videoId, lock);
+                return null;
+            });
+        } catch (IOException e) {
+            log.warn("⚠️ 영상 파일 삭제 실패 ({}): {}", videoId, e.getMessage());
+        }
+    }
+
+    // 잠금을 잡은 뒤 그 잠금이 아직 현재 것인지 확인 (finish/delete가 치운 잠금이면 새 잠금으로 다시)
+    private <T> T withUploadLock(Long videoId, LockedAction<T> action) throws IOException {
+        while (true) {
+            Object lock = uploadLocks.computeIfAbsent(videoId, id -> new Object());
+            synchronized (lock) {
+                if (uploadLocks.get(videoId) != lock) continue;
+                return action.run(lock);
+            }
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * [start, start + length) 구간을 응답 본문으로 보냄. (Content-Length 등 헤더는 호출하는 쪽에서 설정)
+     * Tomcat이 sendfile을 지원하면 속성만 걸어두고 리턴 → 서블릿이 끝난 뒤 커널이 직접 전송
+     */
+    public void send(Path file, long start, long length, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (length == 0) return;
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream os = response.getOutputStream();
+            WritableByteChannel out = Channels.newChannel(os);
+            long position = start;
+            long end = start + length;
+            while (position < end) {
+                long n = in.transferTo(position, Math.min(COPY_CHUNK, end - position), out);
+                if (n <= 0) break;
+                position += n;
+            }
+            os.flush();
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(COPY_CHUNK);
+            while (in.read(buffer) > 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()).substring(0, 32);
+    }
+}
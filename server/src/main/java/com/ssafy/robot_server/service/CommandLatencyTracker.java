@@ -0,0 +1,210 @@
+package com.ssafy.robot_server.service;
+
+import com.ssafy.robot_server.dto.RobotCommand;
+import com.ssafy.robot_server.mqtt.RobotTopics;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 조종 명령 왕복 지연 측정 (화면 → 서버 → MQTT → 로봇 → ack).
+ * 서버가 명령마다 seq를 매기고, 로봇이 /robot/{id}/control/ack 로 seq를 돌려주면 대기 목록에서 찾아 구간별로 기록합니다.
+ * - client: 화면 ts → 서버 수신 (화면/서버 시계 차이가 섞임, 음수면 기록 안 함)
+ * - queue: 서버 수신 → MQTT 발행 (전송기 대기)
+ * - ack: MQTT 발행 → 로봇 ack 수신
+ * - total: 서버 수신 → 로봇 ack 수신
+ * 값은 로봇별/구간별 HDR 히스토그램(마이크로초)에 쌓이고, ack가 안 오면 timeout → 더 지나면 lost로 셉니다.
+ * (덮어써서 보내지 않은 MOVE는 발행 전이므로 대기 목록에 들어가지 않음)
+ */
+@Slf4j
+@Service
+public class CommandLatencyTracker {
+
+    public enum Stage {
+        CLIENT("client"), QUEUE("queue"), ACK("ack"), TOTAL("total");
+
+        private final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    @Value("${robot.command.ack-timeout-ms:2000}")
+    private long ackTimeoutMs;
+
+    @Value("${robot.command.lost-after-ms:30000}")
+    private long lostAfterMs;
+
+    private final AtomicLong seqGenerator = new AtomicLong();
+    // seq → 발행했지만 아직 ack가 안 온 명령
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final Map<String, RobotLatency> robots = new ConcurrentHashMap<>();
+
+    // STOMP 수신 직후: 번호와 수신 시각 기록
+    public void onReceived(RobotCommand command) {
+        long now = System.nanoTime();
+        command.setSeq(seqGenerator.incrementAndGet());
+        command.setReceivedNanos(now);
+        if (command.getTs() != null) {
+            long clientMicros = (System.currentTimeMillis() - command.getTs()) * 1000;
+            if (clientMicros >= 0) robot(robotId(command)).record(Stage.CLIENT, clientMicros);
+        }
+    }
+
+    // MQTT 발행 직후: ack 대기 목록에 등록
+    public void onPublished(RobotCommand command) {
+        if (command.getSeq() == null) return;
+        long now = System.nanoTime();
+        String robotId = robotId(command);
+        RobotLatency robot = robot(robotId);
+        robot.published.incrementAndGet();
+        robot.record(Stage.QUEUE, TimeUnit.NANOSECONDS.toMicros(now - command.getReceivedNanos()));
+        pending.put(command.getSeq(), new Pending(robotId, command.getReceivedNanos(), now));
+    }
+
+    // 로봇 ack 수신 (MQTT 수신 스레드)
+    public void onAck(String robotId, long seq) {
+        long now = System.nanoTime();
+        // 먼저 조회만 → 다른 로봇이 같은 seq로 ack해도 진짜 주인의 대기 항목은 지워지지 않음
+        Pending p = pending.get(seq);
+        if (p == null || !p.robotId.equals(robotId) || !pending.remove(seq, p)) {
+            robot(robotId).unknownAcks.incrementAndGet(); // 이미 lost 처리됐거나 다른 서버가 보낸 명령
+            return;
+        }
+        RobotLatency robot = robot(robotId);
+        robot.acked.incrementAndGet();
+        if (p.timedOut) robot.lateAcks.incrementAndGet();
+        robot.record(Stage.ACK, TimeUnit.NANOSECONDS.toMicros(now - p.publishedNanos));
+        robot.record(Stage.TOTAL, TimeUnit.NANOSECONDS.toMicros(now - p.receivedNanos));
+    }
+
+    // ack가 안 온 명령 정리: ack-timeout 지나면 timeout, lost-after 지나면 대기 목록에서 빼고 lost
+    @Scheduled(fixedDelayString = "${robot.command.sweep-interval-ms:500}")
+    public void sweep() {
+        if (pending.isEmpty()) return;
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(ackTimeoutMs);
+        long lostNanos = TimeUnit.MILLISECONDS.toNanos(lostAfterMs);
+
+        Iterator<Pending> it = pending.values().iterator();
+        while (it.hasNext()) {
+            Pending p = it.next();
+            long age = now - p.publishedNanos;
+            if (age >= lostNanos) {
+                it.remove();
+                robot(p.robotId).lost.incrementAndGet();
+            } else if (!p.timedOut && age >= timeoutNanos) {
+                p.timedOut = true;
+                robot(p.robotId).timeouts.incrementAndGet();
+            }
+        }
+    }
+
+    // 로봇별 지연 요약 (ms), reset이면 조회 후 히스토그램/카운터 초기화
+    public Map<String, Object> snapshot(String robotId, boolean reset) {
+        RobotLatency robot = robots.get(robotId);
+        return robot == null ? null : robot.toMap(reset);
+    }
+
+    public Map<String, Object> snapshotAll(boolean reset) {
+        Map<String, Object> result = new TreeMap<>();
+        robots.forEach((id, robot) -> result.put(id, robot.toMap(reset)));
+        return result;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private RobotLatency robot(String robotId) {
+        return robots.computeIfAbsent(robotId, id -> new RobotLatency());
+    }
+
+    private static String robotId(RobotCommand command) {
+        String robotId = command.getRobotId();
+        return robotId == null || robotId.isEmpty() ? RobotTopics.DEFAULT_ROBOT_ID : robotId;
+    }
+
+    private static final class Pending {
+        final String robotId;
+        final long receivedNanos;
+        final long publishedNanos;
+        volatile boolean timedOut;
+
+        Pending(String robotId, long receivedNanos, long publishedNanos) {
+            this.robotId = robotId;
+            this.receivedNanos = receivedNanos;
+            this.publishedNanos = publishedNanos;
+        }
+    }
+
+    private static final class RobotLatency {
+        final Map<Stage, Histogram> histograms = new EnumMap<>(Stage.class);
+        final AtomicLong published = new AtomicLong();
+        final AtomicLong acked = new AtomicLong();
+        final AtomicLong timeouts = new AtomicLong();
+        final AtomicLong lost = new AtomicLong();
+        final AtomicLong lateAcks = new AtomicLong();
+        final AtomicLong unknownAcks = new AtomicLong();
+
+        RobotLatency() {
+            for (Stage stage : Stage.values()) histograms.put(stage, new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3));
+        }
+
+        void record(Stage stage, long micros) {
+            histograms.get(stage).recordValue(Math.max(0, Math.min(micros, MAX_TRACKABLE_MICROS)));
+        }
+
+        Map<String, Object> toMap(boolean reset) {
+            Map<String, Object> stages = new LinkedHashMap<>();
+            for (Stage stage : Stage.values()) {
+                Histogram h = histograms.get(stage);
+                Histogram copy = h.copy();
+                if (reset) h.reset();
+                stages.put(stage.label, summary(copy));
+            }
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("published", counter(published, reset));
+            map.put("acked", counter(acked, reset));
+            map.put("timeouts", counter(timeouts, reset));
+            map.put("lost", counter(lost, reset));
+            map.put("lateAcks", counter(lateAcks, reset));
+            map.put("unknownAcks", counter(unknownAcks, reset));
+            map.put("stages", stages);
+            return map;
+        }
+
+        private static long counter(AtomicLong c, boolean reset) {
+            return reset ? c.getAndSet(0) : c.get();
+        }
+
+        private static Map<String, Object> summary(Histogram h) {
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("count", h.getTotalCount());
+            if (h.getTotalCount() == 0) return s;
+            s.put("minMs", h.getMinValue() / 1000.0);
+            s.put("meanMs", Math.round(h.getMean()) / 1000.0);
+            s.put("p50Ms", h.getValueAtPercentile(50) / 1000.0);
+            s.put("p90Ms", h.getValueAtPercentile(90) / 1000.0);
+            s.put("p99Ms", h.getValueAtPercentile(99) / 1000.0);
+            s.put("p999Ms", h.getValueAtPercentile(99.9) / 1000.0);
+            s.put("maxMs", h.getMaxValue() / 1000.0);
+            return s;
+        }
+    }
+}
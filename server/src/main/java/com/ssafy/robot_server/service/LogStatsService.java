@@ -0,0 +1,180 @@
+package com.ssafy.robot_server.service;
+
+import com.ssafy.robot_server.domain.Log;
+import com.ssafy.robot_server.domain.LogStat;
+import com.ssafy.robot_server.domain.LogStatCount;
+import com.ssafy.robot_server.domain.RollupWatermark;
+import com.ssafy.robot_server.repository.LogRepository;
+import com.ssafy.robot_server.repository.LogStatCountRepository;
+import com.ssafy.robot_server.repository.LogStatRepository;
+import com.ssafy.robot_server.repository.RollupWatermarkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 순찰 로그 통계 (사용자별 일/주 단위: 건수, 순찰 시간, 이동 거리, 감지 수, 모드/상태별 건수).
+ * 로그를 만들거나 지울 때 같은 트랜잭션에서 해당 버킷에 더하거나 빼므로, 조회 비용은 로그 수가 아니라 버킷 수에 비례합니다.
+ * 기존 로그는 처음 한 번만 logs 테이블에서 다시 집계합니다. (backfill)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogStatsService {
+
+    public static final String DAY = "DAY";
+    public static final String WEEK = "WEEK";
+
+    private static final String BACKFILL_NAME = "log_stats_backfill";
+    private static final int MAX_LABEL = 64;
+
+    private static final String UPSERT_STAT =
+            "INSERT INTO log_stats (user_id, resolution, bucket_start, log_count, duration_minutes, distance, detections) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, resolution, bucket_start) DO UPDATE SET log_count = log_stats.log_count + EXCLUDED.log_count, " +
+            "duration_minutes = log_stats.duration_minutes + EXCLUDED.duration_minutes, " +
+            "distance = log_stats.distance + EXCLUDED.distance, detections = log_stats.detections + EXCLUDED.detections";
+    private static final String UPSERT_COUNT =
+            "INSERT INTO log_stat_counts (user_id, resolution, bucket_start, dimension, value, count) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, resolution, bucket_start, dimension, value) DO UPDATE SET count = log_stat_counts.count + EXCLUDED.count";
+    // 마지막 로그가 빠진 버킷은 지움 (차트에 0건 행이 남지 않도록)
+    private static final String DELETE_EMPTY_STATS = "DELETE FROM log_stats WHERE user_id = ? AND log_count <= 0";
+    private static final String DELETE_EMPTY_COUNTS = "DELETE FROM log_stat_counts WHERE user_id = ? AND count <= 0";
+    // 지운 행을 그대로 돌려받음 → 동시에 두 번 지워도 실제로 지운 쪽만 통계에서 뺌
+    private static final String DELETE_LOG =
+            "DELETE FROM logs WHERE id = ? RETURNING user_id, created_at, mode, status, duration_num, distance, detection_count";
+
+    // 처음 한 번: 기존 로그 전체 집계 (주는 월요일 시작, Java 쪽 weekStart와 같음)
+    private static final String BACKFILL_STATS =
+            "INSERT INTO log_stats (user_id, resolution, bucket_start, log_count, duration_minutes, distance, detections) " +
+            "SELECT user_id, '%s', %s, COUNT(*), SUM(duration_num), SUM(distance), SUM(detection_count) " +
+            "FROM logs WHERE user_id IS NOT NULL AND created_at IS NOT NULL GROUP BY 1, 3";
+    private static final String BACKFILL_COUNTS =
+            "INSERT INTO log_stat_counts (user_id, resolution, bucket_start, dimension, value, count) " +
+            "SELECT user_id, '%s', %s, '%s', LEFT(COALESCE(NULLIF(%s, ''), 'unknown'), " + MAX_LABEL + "), COUNT(*) " +
+            "FROM logs WHERE user_id IS NOT NULL AND created_at IS NOT NULL GROUP BY 1, 3, 5";
+    private static final Map<String, String> BUCKET_SQL = Map.of(
+            DAY, "CAST(created_at AS date)",
+            WEEK, "CAST(date_trunc('week', created_at) AS date)");
+
+    private final LogRepository logRepository;
+    private final LogStatRepository statRepository;
+    private final LogStatCountRepository countRepository;
+    private final RollupWatermarkRepository watermarkRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // 1. 로그 생성 + 통계 반영 (한 트랜잭션)
+    public Log create(Log entry) {
+        entry.setId(null); // 생성 API로 기존 로그를 덮어쓰면 통계가 두 번 더해짐
+        return transactionTemplate.execute(status -> {
+            Log saved = logRepository.saveAndFlush(entry); // createdAt 확정
+            apply(saved, 1);
+            return saved;
+        });
+    }
+
+    // 2. 로그 삭제 + 통계 반영 (없는 로그면 false)
+    public boolean delete(Long id) {
+        Boolean deleted = transactionTemplate.execute(status -> {
+            List<Log> removed = jdbcTemplate.query(DELETE_LOG, (rs, i) -> {
+                Log entry = new Log();
+                entry.setUserId(rs.getObject("user_id", Long.class));
+                entry.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+                entry.setMode(rs.getString("mode"));
+                entry.setStatus(rs.getString("status"));
+                entry.setDurationNum(rs.getInt("duration_num"));
+                entry.setDistance(rs.getDouble("distance"));
+                entry.setDetectionCount(rs.getInt("detection_count"));
+                return entry;
+            }, id);
+            if (removed.isEmpty()) return false;
+            apply(removed.get(0), -1);
+            return true;
+        });
+        return Boolean.TRUE.equals(deleted);
+    }
+
+    // 3. 조회: [from, to) 구간의 버킷만 읽음
+    public Map<String, Object> getStats(Long userId, String resolution, LocalDate from, LocalDate to) {
+        List<LogStat> points = statRepository.findRange(userId, resolution, from, to);
+        List<LogStatCount> counts = countRepository.findRange(userId, resolution, from, to);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("userId", userId);
+        result.put("resolution", resolution);
+        result.put("from", from);
+        result.put("to", to);
+        result.put("points", points);
+        result.put("counts", counts);
+        return result;
+    }
+
+    public static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    // 4. 처음 한 번 기존 로그로 통계 채우기 (logs를 잠가서 그동안 생성/삭제는 대기 → 빠지거나 두 번 세는 로그 없음)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (watermarkRepository.existsById(BACKFILL_NAME)) return;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("LOCK TABLE logs IN SHARE MODE");
+                if (watermarkRepository.existsById(BACKFILL_NAME)) return; // 다른 인스턴스가 먼저 끝냄
+                jdbcTemplate.update("DELETE FROM log_stats");
+                jdbcTemplate.update("DELETE FROM log_stat_counts");
+                BUCKET_SQL.forEach((resolution, bucket) -> {
+                    jdbcTemplate.update(String.format(BACKFILL_STATS, resolution, bucket));
+                    jdbcTemplate.update(String.format(BACKFILL_COUNTS, resolution, bucket, "mode", "mode"));
+                    jdbcTemplate.update(String.format(BACKFILL_COUNTS, resolution, bucket, "status", "status"));
+                });
+                watermarkRepository.save(new RollupWatermark(BACKFILL_NAME, LocalDateTime.now()));
+            });
+            log.info("📊 순찰 로그 통계 초기 집계 완료");
+        } catch (Exception e) {
+            log.error("❌ 순찰 로그 통계 초기 집계 실패: {}", e.getMessage());
+        }
+    }
+
+    // 로그 한 건을 일/주 버킷에 더하기(sign = 1) 또는 빼기(sign = -1)
+    private void apply(Log entry, int sign) {
+        if (entry.getUserId() == null || entry.getCreatedAt() == null) return;
+        LocalDate day = entry.getCreatedAt().toLocalDate();
+
+        List<Object[]> stats = new ArrayList<>(2);
+        List<Object[]> counts = new ArrayList<>(4);
+        for (String resolution : List.of(DAY, WEEK)) {
+            Date bucket = Date.valueOf(DAY.equals(resolution) ? day : weekStart(day));
+            stats.add(new Object[]{entry.getUserId(), resolution, bucket, (long) sign,
+                    (long) sign * entry.getDurationNum(), sign * entry.getDistance(), (long) sign * entry.getDetectionCount()});
+            counts.add(new Object[]{entry.getUserId(), resolution, bucket, "mode", label(entry.getMode()), (long) sign});
+            counts.add(new Object[]{entry.getUserId(), resolution, bucket, "status", label(entry.getStatus()), (long) sign});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_STAT, stats);
+        jdbcTemplate.batchUpdate(UPSERT_COUNT, counts);
+        if (sign < 0) {
+            jdbcTemplate.update(DELETE_EMPTY_STATS, entry.getUserId());
+            jdbcTemplate.update(DELETE_EMPTY_COUNTS, entry.getUserId());
+        }
+    }
+
+    private static String label(String value) {
+        if (value == null || value.isEmpty()) return "unknown";
+        return value.length() > MAX_LABEL ? value.substring(0, MAX_LABEL) : value;
+    }
+}
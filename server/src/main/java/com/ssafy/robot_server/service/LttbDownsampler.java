@@ -0,0 +1,147 @@
+package com.ssafy.robot_server.service;
+
+import com.ssafy.robot_server.repository.TelemetryStorage;
+
+import java.util.Arrays;
+
+/**
+ * 스트리밍 LTTB(Largest-Triangle-Three-Buckets) 다운샘플러.
+ * 전체 개수를 미리 알 수 없으므로 [from, to) 구간을 (maxPoints - 2)개의 시간 버킷으로 나누고,
+ * 버킷 두 개(선택 대기 + 채우는 중)만 메모리에 들고 있으면서 버킷마다 점 하나를 골라 바로 내보냅니다.
+ * 면적은 지도 좌표(x, y) 평면에서 계산하므로 경로의 꺾이는 지점이 보존됩니다.
+ * 첫 점과 마지막 점은 항상 그대로 포함됩니다. 입력은 시간 순이어야 합니다.
+ * maxPoints가 3 미만이면 버킷 없이 첫 점(과 maxPoints가 2면 마지막 점)만 내보냅니다.
+ */
+public class LttbDownsampler implements TelemetryStorage.PoseVisitor {
+
+    public interface PointSink {
+        void accept(long timestamp, double x, double y);
+    }
+
+    private final long from;
+    private final double bucketWidth;
+    private final int buckets;
+    private final boolean keepLast;
+    private final PointSink sink;
+
+    private Bucket pending = new Bucket();  // 다음 버킷 평균을 기다리는 버킷
+    private Bucket current = new Bucket();  // 지금 채우는 버킷
+    private int currentIndex = -1;
+
+    private boolean started;
+    private double ax, ay;                  // 마지막으로 고른 점
+
+    private boolean hasLast;                // 마지막 원본 점은 끝까지 보류했다가 그대로 내보냄
+    private long lastTs;
+    private double lastX, lastY;
+
+    private long inputCount;
+    private long outputCount;
+
+    public LttbDownsampler(long from, long to, int maxPoints, PointSink sink) {
+        this.from = from;
+        this.buckets = Math.max(0, maxPoints - 2);
+        this.keepLast = maxPoints >= 2;
+        this.bucketWidth = Math.max(1.0, (double) (to - from) / Math.max(1, buckets));
+        this.sink = sink;
+    }
+
+    @Override
+    public void accept(long timestamp, double x, double y) {
+        inputCount++;
+        if (!started) {
+            started = true;
+            emit(timestamp, x, y);
+            return;
+        }
+        if (hasLast && buckets > 0) add(lastTs, lastX, lastY);
+        hasLast = true;
+        lastTs = timestamp;
+        lastX = x;
+        lastY = y;
+    }
+
+    // 스캔이 끝나면 호출: 남은 버킷 정리 + 마지막 점
+    public void finish() {
+        if (!pending.isEmpty()) {
+            if (!current.isEmpty()) select(pending, current.avgX(), current.avgY());
+            else select(pending, lastX, lastY);
+        }
+        if (!current.isEmpty()) select(current, lastX, lastY);
+        if (hasLast && keepLast) emit(lastTs, lastX, lastY);
+        pending.clear();
+        current.clear();
+        hasLast = false;
+    }
+
+    public long getInputCount() { return inputCount; }
+    public long getOutputCount() { return outputCount; }
+
+    private void add(long ts, double x, double y) {
+        int index = (int) Math.min(buckets - 1, Math.max(0, (long) ((ts - from) / bucketWidth)));
+        if (index != currentIndex) {
+            // current 버킷이 완성됨 → pending에서 한 점 고르고 한 칸씩 밀기
+            if (!pending.isEmpty()) select(pending, current.avgX(), current.avgY());
+            Bucket done = pending;
+            pending = current;
+            current = done;
+            current.clear();
+            currentIndex = index;
+        }
+        current.add(ts, x, y);
+    }
+
+    // 이전에 고른 점 A, 다음 버킷 평균 C와 만드는 삼각형이 가장 큰 점 선택
+    private void select(Bucket bucket, double cx, double cy) {
+        int best = 0;
+        double bestArea = -1;
+        for (int i = 0; i < bucket.size; i++) {
+            double area = Math.abs((ax - cx) * (bucket.y[i] - ay) - (ax - bucket.x[i]) * (cy - ay));
+            if (area > bestArea) {
+                bestArea = area;
+                best = i;
+            }
+        }
+        emit(bucket.ts[best], bucket.x[best], bucket.y[best]);
+        bucket.clear();
+    }
+
+    private void emit(long ts, double x, double y) {
+        ax = x;
+        ay = y;
+        outputCount++;
+        sink.accept(ts, x, y);
+    }
+
+    private static final class Bucket {
+        long[] ts = new long[64];
+        double[] x = new double[64];
+        double[] y = new double[64];
+        int size;
+        double sumX, sumY;
+
+        void add(long t, double px, double py) {
+            if (size == ts.length) {
+                ts = Arrays.copyOf(ts, size * 2);
+                x = Arrays.copyOf(x, size * 2);
+                y = Arrays.copyOf(y, size * 2);
+            }
+            ts[size] = t;
+            x[size] = px;
+            y[size] = py;
+            size++;
+            sumX += px;
+            sumY += py;
+        }
+
+        boolean isEmpty() { return size == 0; }
+        double avgX() { return sumX / size; }
+        double avgY() { return sumY / size; }
+
+        void clear() {
+            size = 0;
+            sumX = 0;
+            sumY = 0;
+        }
+    }
+}
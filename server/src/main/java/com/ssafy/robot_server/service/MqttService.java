@@ -4,74 +4,127 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ssafy.robot_server.domain.RobotPose;
 import com.ssafy.robot_server.domain.RobotStatus;
-import com.ssafy.robot_server.mqtt.MqttGateway;
-import com.ssafy.robot_server.repository.RobotPoseRepository;
-import com.ssafy.robot_server.repository.RobotStatusRepository;
+import com.ssafy.robot_server.mqtt.BinaryTelemetryCodec;
+import com.ssafy.robot_server.mqtt.RobotTopics;
+import com.ssafy.robot_server.mqtt.TelemetryDecoder;
+import com.ssafy.robot_server.mqtt.TelemetryFrame;
+import com.ssafy.robot_server.websocket.SignalingRelay;
+import com.ssafy.robot_server.websocket.TelemetryFanout;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.integration.annotation.ServiceActivator;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.integration.mqtt.support.MqttHeaders;
-import org.springframework.messaging.simp.SimpMessagingTemplate; // ✅ 웹소켓 통신용
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MqttService {
 
-    private final MqttGateway mqttGateway;
-    private final RobotStatusRepository statusRepository;
-    private final RobotPoseRepository poseRepository;
-    private final SimpMessagingTemplate messagingTemplate; // ✅ [추가] 웹으로 쏘는 확성기
+    private final TelemetryWriter telemetryWriter; // ✅ DB 저장은 배치 저장기에 위임
+    private final RobotStateCache robotStateCache; // ✅ 로봇별 최신 상태 (메모리)
+    private final TelemetryFanout telemetryFanout; // ✅ 구독자별 주기로 병합 전송
+    private final CommandLatencyTracker commandLatencyTracker; // ✅ 명령 왕복 지연 측정
+    private final PipelineMetrics pipelineMetrics; // ✅ 수신/실패 지표
+    private final SignalingRelay signalingRelay; // ✅ WebRTC 시그널링 (세션 상대에게만)
+    private final CatStateTable catStateTable; // ✅ 고양이 감지 → 실시간 상태 (DB는 모아서 저장)
     
     private final ObjectMapper objectMapper = new ObjectMapper(); 
 
+    // 파티션 스레드마다 하나씩 재사용 (status/pose는 매 메시지마다 새 객체를 만들지 않음)
+    private final ThreadLocal<TelemetryFrame> frames = ThreadLocal.withInitial(TelemetryFrame::new);
+
+    // mqttInputChannel이 로봇 ID별 파티션 스레드에서 호출 (같은 로봇은 항상 같은 스레드 → 순서 보장)
     @ServiceActivator(inputChannel = "mqttInputChannel")
-    public void handleMessage(String payload, @Header(MqttHeaders.RECEIVED_TOPIC) String topic) {
+    public void handleMessage(byte[] payload, @Header(MqttHeaders.RECEIVED_TOPIC) String topic) {
+        int kindIndex = PipelineMetrics.kindIndex(RobotTopics.kind(topic));
+        pipelineMetrics.received(kindIndex);
         try {
             // log.info("📩 MQTT 수신 [{}]: {}", topic, payload); (로그 너무 많으면 주석 처리)
 
-            JsonNode json = objectMapper.readTree(payload);
+            // /robot/{robotId}/status 또는 기존 /robot/status
+            String robotId = RobotTopics.robotId(topic);
+            String kind = RobotTopics.kind(topic);
+            if (robotId == null || kind == null) return;
+            if ("control/ack".equals(kind)) {
+                // 로봇이 명령을 받았다는 응답 ({"seq": ...}) → 왕복 지연 기록
+                JsonNode ack = objectMapper.readTree(payload);
+                if (ack.hasNonNull("seq")) commandLatencyTracker.onAck(robotId, ack.get("seq").asLong());
+                return;
+            }
+            if (kind.startsWith("control")) return; // 서버가 보낸 명령은 무시
+
+            if ("status".equals(kind)) {
+                TelemetryFrame f = decode(payload, BinaryTelemetryCodec.TYPE_STATUS);
+                if (f == null) {
+                    pipelineMetrics.failed(kindIndex);
+                    return;
+                }
 
-            if ("/robot/status".equals(topic)) {
                 // 1. 상태 데이터 저장
                 RobotStatus s = RobotStatus.builder()
-                        .batteryLevel(json.get("batteryLevel").asInt())
-                        .temperature(json.get("temperature").asDouble())
-                        .isCharging(json.get("isCharging").asBoolean())
-                        // 시뮬레이터가 보낸 좌표도 같이 저장 (엔티티에 필드가 있다면)
-                        .x(json.has("x") ? json.get("x").asDouble() : 0.0)
-                        .y(json.has("y") ? json.get("y").asDouble() : 0.0)
-                        .mode(json.has("mode") ? json.get("mode").asText() : "unknown")
+                        .robotId(robotId)
+                        .batteryLevel(f.batteryLevel)
+                        .temperature(f.temperature)
+                        .isCharging(f.isCharging)
+                        .x(f.x)
+                        .y(f.y)
+                        .mode(f.mode)
+                        .timestamp(LocalDateTime.now())
                         .build();
                 
-                statusRepository.save(s); // DB 저장
+                telemetryWriter.enqueue(s); // DB 저장 (큐에 넣기만 하고 바로 리턴)
+                robotStateCache.update(s);  // 최신 상태 캐시 갱신
 
                 // 2. ✅ [추가] 웹 클라이언트들에게 실시간 전송!
-                // (Entity를 그대로 보내거나, Map으로 가공해서 보냄)
-                messagingTemplate.convertAndSend("/sub/robot/status", s);
+                // (최신 값만 남겨두고 구독자가 고른 주기로 전송 → 중간 프레임은 버림)
+                telemetryFanout.publish("/sub/robot/status", robotId, s);
+
+            } else if ("pose".equals(kind)) {
+                TelemetryFrame f = decode(payload, BinaryTelemetryCodec.TYPE_POSE);
+                if (f == null) {
+                    pipelineMetrics.failed(kindIndex);
+                    return;
+                }
 
-            } else if ("/robot/pose".equals(topic)) {
                 RobotPose p = RobotPose.builder()
-                        .x(json.get("x").asDouble())
-                        .y(json.get("y").asDouble())
+                        .robotId(robotId)
+                        .x(f.x)
+                        .y(f.y)
+                        .timestamp(new Timestamp(System.currentTimeMillis())) // 수신 시각 (저장 시각 X)
                         .build();
-                poseRepository.save(p);
-            } else if ("/robot/peer/offer".equals(topic)){
-                log.info("📹 WebRTC Offer 수신 (로봇 -> 웹)");
-                messagingTemplate.convertAndSend("/sub/peer/offer", json);
+                telemetryWriter.enqueue(p);
+            } else if ("detection".equals(kind)) {
+                // 고양이 감지는 프레임마다 올 수 있음 → 메모리 상태표만 갱신 (저장은 주기마다 한 번)
+                catStateTable.onDetection(robotId, objectMapper.readTree(payload));
+            } else if (kind.startsWith("peer/")) {
+                // 시그널링은 드물고 구조가 자유로우므로 트리로 파싱 (offer/candidate/bye → 그 세션 시청자에게만, 서버가 보낸 것은 무시)
+                signalingRelay.fromRobot(robotId, kind.substring("peer/".length()), objectMapper.readTree(payload));
             }
 
         } catch (Exception e) {
+            pipelineMetrics.failed(kindIndex);
             log.error("❌ 처리 실패: {}", e.getMessage());
         }
     }
 
-    public void sendCommand(String topic, String message) {
-        mqttGateway.sendToMqtt(message, topic);
+    // 텔레메트리 → 재사용 프레임 (첫 바이트로 바이너리/JSON 구분, 형식이 안 맞으면 null)
+    private TelemetryFrame decode(byte[] payload, int expectedType) throws IOException {
+        TelemetryFrame frame = frames.get();
+        if (BinaryTelemetryCodec.isBinary(payload)) {
+            int type = BinaryTelemetryCodec.decode(payload, frame);
+            if (type != expectedType) {
+                // 잘못 설정된 로봇은 매 프레임 이럴 수 있음 → 로그는 debug, 개수는 호출하는 쪽에서 failed로 셈
+                log.debug("토픽과 다른 종류의 바이너리 텔레메트리 (type={})", type);
+                return null;
+            }
+            return frame;
+        }
+        return TelemetryDecoder.decode(payload, frame, expectedType) ? frame : null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.ssafy.robot_server.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 목록을 NDJSON(한 줄에 JSON 하나)으로 스트리밍합니다.
+ * 읽기 전용 트랜잭션 안에서 JDBC 커서(fetch size)로 조금씩 읽고, 한 건 쓸 때마다 영속성 컨텍스트에서 떼어내므로
+ * 행이 몇 건이든 응답 메모리는 일정합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class NdjsonStreamer {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private static final int FLUSH_EVERY = 200;
+
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public <T> StreamingResponseBody stream(Supplier<Stream<T>> query) {
+        return out -> {
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setReadOnly(true); // Postgres는 트랜잭션 안에서만 커서 사용
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                gen.setRootValueSeparator(null);
+                tx.executeWithoutResult(status -> {
+                    try (Stream<T> rows = query.get()) {
+                        int[] count = {0};
+                        rows.forEach(row -> {
+                            try {
+                                writer.writeValue(gen, row);
+                                gen.writeRaw('\n');
+                                entityManager.detach(row); // 이미 쓴 엔티티는 바로 놓아줌
+                                if (++count[0] % FLUSH_EVERY == 0) gen.flush();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause(); // 클라이언트가 연결을 끊은 경우 등
+            }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package com.ssafy.robot_server.service;
+
+import com.ssafy.robot_server.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 유저별 안 읽은 알림 수 (메모리).
+ * 처음 조회할 때 DB에서 COUNT 한 번으로 채우고, 이후에는 생성/읽음/삭제 때 증감만 합니다.
+ * 서버 여러 대이거나 DB를 직접 고친 경우를 대비해 주기적으로 DB 값과 맞춥니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationCounter {
+
+    private final NotificationRepository notificationRepository;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    public long get(Long userId) {
+        return counter(userId).value.get();
+    }
+
+    public void increment(Long userId) {
+        add(userId, 1);
+    }
+
+    public void decrement(Long userId) {
+        add(userId, -1);
+    }
+
+    // 모두 읽음/전체 삭제 후
+    public void reset(Long userId) {
+        Counter c = counters.get(userId);
+        if (c == null) return; // 아직 안 불러왔으면 다음 조회 때 DB에서 읽음
+        c.modifications.incrementAndGet();
+        c.value.set(0);
+    }
+
+    private void add(Long userId, long delta) {
+        Counter c = counters.get(userId);
+        if (c == null) return;
+        c.modifications.incrementAndGet();
+        c.value.updateAndGet(v -> Math.max(0, v + delta));
+    }
+
+    private Counter counter(Long userId) {
+        return counters.computeIfAbsent(userId, id -> new Counter(notificationRepository.countUnread(id)));
+    }
+
+    // 메모리 값 보정: 조회하는 동안 바뀐 유저는 건너뜀 (다음 주기에 다시 맞춤)
+    @Scheduled(fixedDelayString = "${notifications.unread-reconcile-ms:300000}")
+    public void reconcile() {
+        if (counters.isEmpty()) return;
+        try {
+            Map<Long, Long> before = new HashMap<>();
+            counters.forEach((id, c) -> before.put(id, c.modifications.get()));
+
+            Map<Long, Long> actual = new HashMap<>();
+            List<Long> ids = new ArrayList<>(before.keySet());
+            for (int i = 0; i < ids.size(); i += 1000) {
+                for (Object[] row : notificationRepository.countUnreadByUser(ids.subList(i, Math.min(i + 1000, ids.size())))) {
+                    actual.put((Long) row[0], (Long) row[1]);
+                }
+            }
+
+            int fixed = 0;
+            for (Map.Entry<Long, Long> e : before.entrySet()) {
+                Counter c = counters.get(e.getKey());
+                if (c == null || c.modifications.get() != e.getValue()) continue;
+                long value = actual.getOrDefault(e.getKey(), 0L);
+                if (c.value.getAndSet(value) != value) fixed++;
+            }
+            if (fixed > 0) log.info("🔔 안 읽은 알림 수 보정: {}명", fixed);
+        } catch (Exception e) {
+            log.error("❌ 안 읽은 알림 수 보정 실패: {}", e.getMessage());
+        }
+    }
+
+    private static final class Counter {
+        final AtomicLong value;
+        final AtomicLong modifications = new AtomicLong();
+
+        Counter(long initial) {
+            this.value = new AtomicLong(initial);
+        }
+    }
+}
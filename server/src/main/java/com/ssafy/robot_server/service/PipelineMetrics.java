@@ -0,0 +1,104 @@
+package com.ssafy.robot_server.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 텔레메트리 파이프라인 지표 (MQTT 수신 → DB 저장 → 웹소켓 전송).
+ * 태그 값이 정해진 카운터/타이머는 시작할 때 미리 만들어 두고, 메시지마다 조회/할당 없이 올리기만 합니다.
+ * - kind 태그: status / pose / peer / control_ack / other (로봇 ID는 태그로 쓰지 않음)
+ * 다른 빈이 이미 들고 있는 값(큐 깊이, 누적 카운터 등)은 MetricsConfig에서 게이지로 읽어 갑니다.
+ */
+@Component
+public class PipelineMetrics {
+
+    private static final String[] KINDS = {"status", "pose", "peer", "control_ack", "other"};
+
+    private final Counter[] received = new Counter[KINDS.length];
+    private final Counter[] failed = new Counter[KINDS.length];
+    private final Counter[] dropped = new Counter[KINDS.length];
+    private final Timer persist;
+    private final Timer broadcast;
+    private final AtomicLong inboundBacklog = new AtomicLong();
+
+    public PipelineMetrics(MeterRegistry registry) {
+        for (int i = 0; i < KINDS.length; i++) {
+            received[i] = Counter.builder("mqtt.messages.received").tag("kind", KINDS[i])
+                    .description("MQTT 수신 메시지 수").register(registry);
+            failed[i] = Counter.builder("mqtt.messages.failed").tag("kind", KINDS[i])
+                    .description("파싱/처리 실패 메시지 수").register(registry);
+            dropped[i] = Counter.builder("mqtt.inbound.dropped").tag("kind", KINDS[i])
+                    .description("수신 파티션 대기열이 가득 차서 버린 메시지 수").register(registry);
+        }
+        persist = Timer.builder("telemetry.persist.latency")
+                .description("텔레메트리 배치 한 번을 저장하는 데 걸린 시간")
+                .publishPercentileHistogram().register(registry);
+        broadcast = Timer.builder("telemetry.broadcast.latency")
+                .description("MQTT 수신부터 웹소켓 전송까지 걸린 시간 (프레임/주기당 1회)")
+                .publishPercentileHistogram().register(registry);
+        Gauge.builder("mqtt.inbound.backlog", inboundBacklog, AtomicLong::get)
+                .description("수신 채널에 쌓여 아직 처리되지 않은 메시지 수").register(registry);
+    }
+
+    // topic kind (RobotTopics.kind) → 태그 인덱스
+    public static int kindIndex(String kind) {
+        if (kind == null) return 4;
+        return switch (kind) {
+            case "status" -> 0;
+            case "pose" -> 1;
+            case "control/ack" -> 3;
+            default -> kind.startsWith("peer/") ? 2 : 4;
+        };
+    }
+
+    public void received(int kindIndex) {
+        received[kindIndex].increment();
+    }
+
+    public void failed(int kindIndex) {
+        failed[kindIndex].increment();
+    }
+
+    public void inboundDropped(int kindIndex) {
+        dropped[kindIndex].increment();
+    }
+
+    public void recordPersist(long nanos) {
+        persist.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordBroadcast(long nanos) {
+        broadcast.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 수신 채널 대기 수: 넣을 때 +1 (Paho 스레드), 처리 끝나면 -1 (파티션 스레드)
+    public ExecutorChannelInterceptor inboundBacklogInterceptor() {
+        return new ExecutorChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                inboundBacklog.incrementAndGet();
+                return message;
+            }
+
+            @Override
+            public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+                if (!sent) inboundBacklog.decrementAndGet(); // 큐에 못 넣음
+            }
+
+            @Override
+            public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+                inboundBacklog.decrementAndGet();
+            }
+        };
+    }
+}
@@ -0,0 +1,153 @@
+package com.ssafy.robot_server.service;
+
+import com.ssafy.robot_server.dto.RobotCommand;
+import com.ssafy.robot_server.mqtt.MqttGateway;
+import com.ssafy.robot_server.mqtt.RobotCommandEncoder;
+import com.ssafy.robot_server.mqtt.RobotTopics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 원격 조종 명령 전송기 (웹 → MQTT → 로봇).
+ * - MOVE: 로봇별 최신 값 하나만 보관 (latest-wins). 조이스틱이 30~60Hz로 보내도 밀린 MOVE는 쌓이지 않고 덮어씀
+ * - STOP/MODE: 우선 레인. 대기 중인 MOVE보다 항상 먼저 나가고, STOP은 그 로봇의 대기 MOVE를 지움
+ * - QoS는 명령 종류별 (MOVE는 곧 다음 값이 오므로 0, STOP/MODE는 유실되면 안 되므로 1)
+ * 전송은 전용 스레드 하나가 하므로 STOMP 수신 스레드는 넣기만 하고 바로 리턴합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RobotCommandDispatcher {
+
+    public static final String MOVE = "MOVE";
+    public static final String STOP = "STOP";
+    public static final String MODE = "MODE";
+
+    private final MqttGateway mqttGateway;
+    private final CommandLatencyTracker latencyTracker;
+
+    @Value("${robot.command.qos.move:0}")
+    private int moveQos;
+
+    @Value("${robot.command.qos.stop:1}")
+    private int stopQos;
+
+    @Value("${robot.command.qos.mode:1}")
+    private int modeQos;
+
+    // 우선 레인 (STOP/MODE/기타, 순서대로)
+    private final Queue<RobotCommand> priority = new ConcurrentLinkedQueue<>();
+    // 로봇ID → 아직 안 보낸 최신 MOVE
+    private final Map<String, RobotCommand> pendingMoves = new ConcurrentHashMap<>();
+    // MOVE가 대기 중인 로봇 (먼저 들어온 순서, 로봇당 한 번만)
+    private final Queue<String> readyRobots = new ConcurrentLinkedQueue<>();
+    private final Semaphore signal = new Semaphore(0);
+
+    private final AtomicLong coalescedMoves = new AtomicLong();
+    private final StringBuilder sb = new StringBuilder(96); // 전송 스레드 전용
+    private volatile boolean running;
+    private Thread sender;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        sender = new Thread(this::run, "robot-command");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        sender.interrupt();
+    }
+
+    public void submit(RobotCommand command) {
+        if (command == null || command.getType() == null) return;
+        latencyTracker.onReceived(command); // seq 부여 + 수신 시각
+        String robotId = robotId(command);
+
+        if (MOVE.equals(command.getType())) {
+            // 이전 MOVE가 아직 대기 중이면 덮어쓰기만 (대기열에 로봇을 다시 넣지 않음)
+            if (pendingMoves.put(robotId, command) == null) {
+                readyRobots.add(robotId);
+            } else {
+                coalescedMoves.incrementAndGet();
+            }
+        } else {
+            // STOP 뒤에 예전 MOVE가 나가면 다시 움직이므로 대기 MOVE 제거
+            if (STOP.equals(command.getType())) pendingMoves.remove(robotId);
+            priority.add(command);
+        }
+        signal.release();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                signal.tryAcquire(1, TimeUnit.SECONDS);
+                signal.drainPermits();
+
+                boolean sent = true;
+                while (sent && running) {
+                    sent = false;
+                    // 1. 우선 레인 전부
+                    RobotCommand urgent;
+                    while ((urgent = priority.poll()) != null) {
+                        send(urgent);
+                        sent = true;
+                    }
+                    // 2. MOVE는 로봇 하나씩 (사이사이 우선 레인을 다시 확인)
+                    String robotId = readyRobots.poll();
+                    if (robotId != null) {
+                        RobotCommand move = pendingMoves.remove(robotId);
+                        if (move != null) send(move);
+                        sent = true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ 로봇 명령 전송 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void send(RobotCommand command) {
+        String payload = RobotCommandEncoder.encode(command, sb);
+        mqttGateway.sendToMqtt(payload, RobotTopics.of(command.getRobotId(), "control"), qos(command.getType()));
+        latencyTracker.onPublished(command);
+    }
+
+    private int qos(String type) {
+        return switch (type) {
+            case MOVE -> moveQos;
+            case STOP -> stopQos;
+            case MODE -> modeQos;
+            default -> stopQos;
+        };
+    }
+
+    private static String robotId(RobotCommand command) {
+        String robotId = command.getRobotId();
+        return robotId == null || robotId.isEmpty() ? RobotTopics.DEFAULT_ROBOT_ID : robotId;
+    }
+
+    // 모니터링용: 덮어써서 보내지 않은 MOVE 수
+    public long getCoalescedMoves() {
+        return coalescedMoves.get();
+    }
+}
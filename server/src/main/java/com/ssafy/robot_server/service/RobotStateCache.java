@@ -0,0 +1,32 @@
+package com.ssafy.robot_server.service;
+
+import com.ssafy.robot_server.domain.RobotStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로봇별 최신 상태 캐시.
+ * MQTT/STOMP로 상태가 들어올 때마다 덮어쓰고, 조회는 락 없이 메모리에서 바로 읽습니다. (DB 조회 X)
+ * 저장된 RobotStatus 객체는 캐시에 들어간 뒤로는 수정하지 않습니다.
+ */
+@Component
+public class RobotStateCache {
+
+    private final ConcurrentHashMap<String, RobotStatus> latest = new ConcurrentHashMap<>();
+
+    public void update(RobotStatus status) {
+        if (status.getRobotId() == null) return;
+        latest.put(status.getRobotId(), status);
+    }
+
+    public RobotStatus get(String robotId) {
+        return latest.get(robotId);
+    }
+
+    public Collection<RobotStatus> all() {
+        return Collections.unmodifiableCollection(latest.values());
+    }
+}
@@ -0,0 +1,133 @@
+package com.ssafy.robot_server.service;
+
+import com.ssafy.robot_server.domain.TelemetryModeRollup;
+import com.ssafy.robot_server.domain.TelemetryRollup;
+import com.ssafy.robot_server.repository.TelemetryStorage;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 상태 샘플을 시간 버킷별로 모으는 집계기 (스캔 한 번에 스트리밍으로 누적).
+ * - emitFrom 이전 샘플은 집계하지 않고 "직전 샘플"(이동 거리/모드 시간 계산용)으로만 씁니다.
+ * - 두 샘플 간격이 maxGapMillis보다 크면 끊긴 것으로 보고 거리/모드 시간에 넣지 않습니다.
+ * - 값이 NaN인 항목은 그 항목의 합계/개수에서 빠지므로 평균은 sampleCount가 아니라 항목별 개수로 나눕니다.
+ */
+class RollupAccumulator implements TelemetryStorage.StatusVisitor {
+
+    private final String robotId;
+    private final long bucketMillis;
+    private final long emitFrom;
+    private final long maxGapMillis;
+
+    private final TreeMap<Long, Bucket> buckets = new TreeMap<>();
+
+    private boolean hasPrev;
+    private long prevTs;
+    private double prevX;
+    private double prevY;
+    private String prevMode;
+
+    RollupAccumulator(String robotId, long bucketMillis, long emitFrom, long maxGapMillis) {
+        this.robotId = robotId;
+        this.bucketMillis = bucketMillis;
+        this.emitFrom = emitFrom;
+        this.maxGapMillis = maxGapMillis;
+    }
+
+    @Override
+    public void accept(long ts, double battery, double temperature, boolean charging, double x, double y, String mode) {
+        if (ts >= emitFrom) {
+            Bucket b = buckets.computeIfAbsent(Math.floorDiv(ts, bucketMillis) * bucketMillis, k -> new Bucket());
+            b.count++;
+            if (!Double.isNaN(battery)) b.battery.add(battery);
+            if (!Double.isNaN(temperature)) b.temperature.add(temperature);
+
+            // 직전 샘플과 이어진 구간만 거리/모드 시간에 반영 (구간은 현재 샘플의 버킷에 귀속)
+            long gap = ts - prevTs;
+            if (hasPrev && gap > 0 && gap <= maxGapMillis) {
+                double d = Math.hypot(x - prevX, y - prevY);
+                if (!Double.isNaN(d)) b.distance += d;
+                if (prevMode != null) b.modeSeconds.merge(prevMode, gap / 1000.0, Double::sum);
+            }
+        }
+        hasPrev = true;
+        prevTs = ts;
+        prevX = x;
+        prevY = y;
+        prevMode = mode;
+    }
+
+    boolean isEmpty() {
+        return buckets.isEmpty();
+    }
+
+    List<TelemetryRollup> rollups(String resolution) {
+        List<TelemetryRollup> result = new ArrayList<>(buckets.size());
+        for (Map.Entry<Long, Bucket> e : buckets.entrySet()) {
+            Bucket b = e.getValue();
+            TelemetryRollup r = new TelemetryRollup();
+            r.setRobotId(robotId);
+            r.setResolution(resolution);
+            r.setBucketStart(new Timestamp(e.getKey()).toLocalDateTime());
+            r.setSampleCount(b.count);
+            if (b.battery.count > 0) {
+                r.setBatteryMin(b.battery.min);
+                r.setBatteryMax(b.battery.max);
+                r.setBatterySum(b.battery.sum);
+                r.setBatteryCount(b.battery.count);
+            }
+            if (b.temperature.count > 0) {
+                r.setTemperatureMin(b.temperature.min);
+                r.setTemperatureMax(b.temperature.max);
+                r.setTemperatureSum(b.temperature.sum);
+                r.setTemperatureCount(b.temperature.count);
+            }
+            r.setDistance(b.distance);
+            result.add(r);
+        }
+        return result;
+    }
+
+    List<TelemetryModeRollup> modeRollups(String resolution) {
+        List<TelemetryModeRollup> result = new ArrayList<>();
+        for (Map.Entry<Long, Bucket> e : buckets.entrySet()) {
+            for (Map.Entry<String, Double> m : e.getValue().modeSeconds.entrySet()) {
+                TelemetryModeRollup r = new TelemetryModeRollup();
+                r.setRobotId(robotId);
+                r.setResolution(resolution);
+                r.setBucketStart(new Timestamp(e.getKey()).toLocalDateTime());
+                r.setMode(m.getKey());
+                r.setSeconds(m.getValue());
+                result.add(r);
+            }
+        }
+        return result;
+    }
+
+    private static final class Bucket {
+        long count;
+        final MinMaxSum battery = new MinMaxSum();
+        final MinMaxSum temperature = new MinMaxSum();
+        double distance;
+        final Map<String, Double> modeSeconds = new HashMap<>(4);
+    }
+
+    private static final class MinMaxSum {
+        long count;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum;
+
+        void add(double v) {
+            count++;
+            if (v < min) min = v;
+            if (v > max) max = v;
+            sum += v;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.ssafy.robot_server.service;
+
+import com.ssafy.robot_server.domain.TelemetryModeRollup;
+import com.ssafy.robot_server.domain.TelemetryRollup;
+import com.ssafy.robot_server.repository.TelemetryModeRollupRepository;
+import com.ssafy.robot_server.repository.TelemetryRollupRepository;
+import com.ssafy.robot_server.repository.TelemetryStorage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.ssafy.robot_server.service.TelemetryRollupService.HOUR;
+import static com.ssafy.robot_server.service.TelemetryRollupService.HOUR_MS;
+import static com.ssafy.robot_server.service.TelemetryRollupService.MINUTE;
+import static com.ssafy.robot_server.service.TelemetryRollupService.MINUTE_MS;
+
+/**
+ * 배터리/온도/이동거리/모드 이력 조회 (차트용).
+ * 요청 구간과 최대 점 개수에 맞는 해상도를 고릅니다.
+ * - 1초 간격으로 나눠도 maxPoints 이하인 짧은 구간 → RAW (원본을 그 자리에서 구간 집계)
+ * - 분 단위 버킷 수가 maxPoints 이하 → MINUTE (긴 구간을 원본으로 훑지 않도록 집계 테이블 사용)
+ * - 그 외 (또는 분 단위 보존 기간 밖) → HOUR
+ */
+@Service
+@RequiredArgsConstructor
+public class TelemetryHistoryService {
+
+    public static final String RAW = "RAW";
+    // RAW 구간 집계의 최소 폭
+    static final long RAW_BUCKET_MS = 1000L;
+
+    private final TelemetryStorage telemetryStorage;
+    private final TelemetryRollupRepository rollupRepository;
+    private final TelemetryModeRollupRepository modeRollupRepository;
+    private final TelemetryRollupService rollupService;
+
+    @Value("${telemetry.retention.raw-days:7}")
+    private long rawRetentionDays;
+
+    @Value("${telemetry.retention.minute-rollup-days:30}")
+    private long minuteRetentionDays;
+
+    @Value("${telemetry.rollup.max-gap-seconds:10}")
+    private long maxGapSeconds;
+
+    public String chooseResolution(long from, long to, int maxPoints) {
+        long now = System.currentTimeMillis();
+        long span = to - from;
+        if (span <= (long) maxPoints * RAW_BUCKET_MS && from >= now - rawRetentionDays * 24 * HOUR_MS) return RAW;
+        if (span <= (long) maxPoints * MINUTE_MS && from >= now - minuteRetentionDays * 24 * HOUR_MS) return MINUTE;
+        return HOUR;
+    }
+
+    public Map<String, Object> getHistory(String robotId, long from, long to, int maxPoints) {
+        String resolution = chooseResolution(from, to, maxPoints);
+
+        List<TelemetryRollup> points;
+        List<TelemetryModeRollup> modes;
+        if (RAW.equals(resolution)) {
+            // 구간 폭 = span / maxPoints (최소 1초)
+            long bucketMillis = Math.max(RAW_BUCKET_MS, (to - from + maxPoints - 1) / maxPoints);
+            RollupAccumulator acc = new RollupAccumulator(robotId, bucketMillis, from, maxGapSeconds * 1000);
+            telemetryStorage.scanStatuses(robotId, from - maxGapSeconds * 1000, to, acc);
+            points = acc.rollups(RAW);
+            modes = acc.modeRollups(RAW);
+        } else {
+            LocalDateTime start = new Timestamp(from).toLocalDateTime();
+            LocalDateTime end = new Timestamp(to).toLocalDateTime();
+            points = rollupRepository.findRange(robotId, resolution, start, end);
+            modes = modeRollupRepository.findRange(robotId, resolution, start, end);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("robotId", robotId);
+        result.put("from", from);
+        result.put("to", to);
+        result.put("resolution", resolution);
+        // 집계는 이 시각까지만 반영됨 (RAW는 항상 최신)
+        result.put("rolledUpUntil", rollupService.getWatermark(System.currentTimeMillis()));
+        result.put("points", points);
+        result.put("modes", modes);
+        return result;
+    }
+}
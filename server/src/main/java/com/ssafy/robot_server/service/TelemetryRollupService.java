@@ -0,0 +1,216 @@
+package com.ssafy.robot_server.service;
+
+import com.ssafy.robot_server.domain.RollupWatermark;
+import com.ssafy.robot_server.domain.TelemetryModeRollup;
+import com.ssafy.robot_server.domain.TelemetryRollup;
+import com.ssafy.robot_server.repository.RollupWatermarkRepository;
+import com.ssafy.robot_server.repository.TelemetryStorage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 텔레메트리 집계 + 보존 기간 관리.
+ *
+ * 집계: watermark(여기까지 집계 완료) 이후 ~ (지금 - lag) 구간의 원본을 로봇별로 한 번 스캔해서
+ *   1. 분 단위 집계를 계산해 UPSERT (같은 분을 다시 계산해도 덮어쓰므로 재실행 안전)
+ *   2. 영향받은 시간대의 시간 단위 집계를 분 단위 행에서 SQL로 다시 합침
+ *   3. 1~2와 watermark 갱신을 한 트랜잭션으로 커밋
+ * 보존: raw-days가 지난 원본을 delete-chunk 단위로 나눠 삭제 (아직 집계 안 된 구간은 지우지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TelemetryRollupService {
+
+    public static final String MINUTE = "MINUTE";
+    public static final String HOUR = "HOUR";
+    public static final long MINUTE_MS = 60_000L;
+    public static final long HOUR_MS = 60 * MINUTE_MS;
+
+    private static final String WATERMARK_NAME = "telemetry-minute";
+
+    private static final String UPSERT_ROLLUP =
+            "INSERT INTO telemetry_rollup (robot_id, resolution, bucket_start, sample_count, battery_min, battery_max, battery_sum, battery_count, " +
+            "temperature_min, temperature_max, temperature_sum, temperature_count, distance) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (robot_id, resolution, bucket_start) DO UPDATE SET sample_count = EXCLUDED.sample_count, " +
+            "battery_min = EXCLUDED.battery_min, battery_max = EXCLUDED.battery_max, battery_sum = EXCLUDED.battery_sum, " +
+            "battery_count = EXCLUDED.battery_count, " +
+            "temperature_min = EXCLUDED.temperature_min, temperature_max = EXCLUDED.temperature_max, " +
+            "temperature_sum = EXCLUDED.temperature_sum, temperature_count = EXCLUDED.temperature_count, distance = EXCLUDED.distance";
+    private static final String UPSERT_MODE_ROLLUP =
+            "INSERT INTO telemetry_mode_rollup (robot_id, resolution, bucket_start, mode, seconds) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (robot_id, resolution, bucket_start, mode) DO UPDATE SET seconds = EXCLUDED.seconds";
+    // 시간 단위 = 해당 시간의 분 단위 행 합치기 (평균은 합계/개수라 그대로 합산 가능)
+    private static final String ROLLUP_HOURS =
+            "INSERT INTO telemetry_rollup (robot_id, resolution, bucket_start, sample_count, battery_min, battery_max, battery_sum, battery_count, " +
+            "temperature_min, temperature_max, temperature_sum, temperature_count, distance) " +
+            "SELECT robot_id, 'HOUR', date_trunc('hour', bucket_start), SUM(sample_count), MIN(battery_min), MAX(battery_max), " +
+            "SUM(battery_sum), SUM(battery_count), MIN(temperature_min), MAX(temperature_max), SUM(temperature_sum), " +
+            "SUM(temperature_count), SUM(distance) " +
+            "FROM telemetry_rollup WHERE resolution = 'MINUTE' AND bucket_start >= ? AND bucket_start < ? " +
+            "GROUP BY robot_id, date_trunc('hour', bucket_start) " +
+            "ON CONFLICT (robot_id, resolution, bucket_start) DO UPDATE SET sample_count = EXCLUDED.sample_count, " +
+            "battery_min = EXCLUDED.battery_min, battery_max = EXCLUDED.battery_max, battery_sum = EXCLUDED.battery_sum, " +
+            "battery_count = EXCLUDED.battery_count, " +
+            "temperature_min = EXCLUDED.temperature_min, temperature_max = EXCLUDED.temperature_max, " +
+            "temperature_sum = EXCLUDED.temperature_sum, temperature_count = EXCLUDED.temperature_count, distance = EXCLUDED.distance";
+    private static final String ROLLUP_MODE_HOURS =
+            "INSERT INTO telemetry_mode_rollup (robot_id, resolution, bucket_start, mode, seconds) " +
+            "SELECT robot_id, 'HOUR', date_trunc('hour', bucket_start), mode, SUM(seconds) " +
+            "FROM telemetry_mode_rollup WHERE resolution = 'MINUTE' AND bucket_start >= ? AND bucket_start < ? " +
+            "GROUP BY robot_id, date_trunc('hour', bucket_start), mode " +
+            "ON CONFLICT (robot_id, resolution, bucket_start, mode) DO UPDATE SET seconds = EXCLUDED.seconds";
+    private static final String DELETE_MINUTE_ROLLUPS =
+            "DELETE FROM telemetry_rollup WHERE id IN " +
+            "(SELECT id FROM telemetry_rollup WHERE resolution = 'MINUTE' AND bucket_start < ? LIMIT ?)";
+    private static final String DELETE_MINUTE_MODE_ROLLUPS =
+            "DELETE FROM telemetry_mode_rollup WHERE id IN " +
+            "(SELECT id FROM telemetry_mode_rollup WHERE resolution = 'MINUTE' AND bucket_start < ? LIMIT ?)";
+
+    private final TelemetryStorage telemetryStorage;
+    private final RollupWatermarkRepository watermarkRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${telemetry.rollup.lag-seconds:30}")
+    private long lagSeconds;
+
+    @Value("${telemetry.rollup.initial-lookback-hours:24}")
+    private long initialLookbackHours;
+
+    @Value("${telemetry.rollup.max-window-minutes:360}")
+    private long maxWindowMinutes;
+
+    @Value("${telemetry.rollup.max-gap-seconds:10}")
+    private long maxGapSeconds;
+
+    @Value("${telemetry.retention.raw-days:7}")
+    private long rawRetentionDays;
+
+    @Value("${telemetry.retention.minute-rollup-days:30}")
+    private long minuteRetentionDays;
+
+    @Value("${telemetry.retention.delete-chunk:5000}")
+    private int deleteChunk;
+
+    @Value("${telemetry.retention.max-chunks-per-run:200}")
+    private int maxChunksPerRun;
+
+    @Scheduled(initialDelayString = "${telemetry.rollup.initial-delay-ms:30000}",
+               fixedDelayString = "${telemetry.rollup.interval-ms:60000}")
+    public void rollup() {
+        try {
+            long now = System.currentTimeMillis();
+            long start = getWatermark(now);
+            long end = floorMinute(now - lagSeconds * 1000);
+            end = Math.min(end, start + maxWindowMinutes * MINUTE_MS); // 밀린 구간은 여러 번에 나눠 처리
+            if (end <= start) return;
+
+            int buckets = rollupRange(start, end);
+            log.info("📊 텔레메트리 집계 완료: {} ~ {} (분 단위 {}건)",
+                    new Timestamp(start).toLocalDateTime(), new Timestamp(end).toLocalDateTime(), buckets);
+        } catch (Exception e) {
+            log.error("❌ 텔레메트리 집계 실패: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${telemetry.retention.initial-delay-ms:120000}",
+               fixedDelayString = "${telemetry.retention.interval-ms:600000}")
+    public void enforceRetention() {
+        try {
+            long now = System.currentTimeMillis();
+            // 집계가 끝난 구간만 삭제 (직전 샘플로 쓰는 max-gap 만큼 여유)
+            long rawCutoff = Math.min(now - rawRetentionDays * 24 * HOUR_MS, getWatermark(now) - maxGapSeconds * 1000);
+            int raw = deleteInChunks(limit -> telemetryStorage.deleteBefore(rawCutoff, limit));
+
+            Timestamp minuteCutoff = new Timestamp(now - minuteRetentionDays * 24 * HOUR_MS);
+            int minutes = deleteInChunks(limit -> jdbcTemplate.update(DELETE_MINUTE_ROLLUPS, minuteCutoff, limit)
+                    + jdbcTemplate.update(DELETE_MINUTE_MODE_ROLLUPS, minuteCutoff, limit));
+
+            if (raw > 0 || minutes > 0) log.info("🧹 보존 기간 정리: 원본 {}건, 분 단위 집계 {}건 삭제", raw, minutes);
+        } catch (Exception e) {
+            log.error("❌ 보존 기간 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    // 이 시각 이전까지 집계 완료 (없으면 initial-lookback-hours 전부터 시작)
+    public long getWatermark(long now) {
+        return watermarkRepository.findById(WATERMARK_NAME)
+                .map(w -> Timestamp.valueOf(w.getWatermark()).getTime())
+                .orElseGet(() -> floorMinute(now - initialLookbackHours * HOUR_MS));
+    }
+
+    private int rollupRange(long start, long end) {
+        long maxGapMs = maxGapSeconds * 1000;
+
+        // 1. 로봇별로 원본을 한 번만 스캔해서 분 단위 집계 (start 직전 샘플부터 읽어 경계 구간도 계산)
+        List<TelemetryRollup> rollups = new ArrayList<>();
+        List<TelemetryModeRollup> modeRollups = new ArrayList<>();
+        for (String robotId : telemetryStorage.robotIds(start - maxGapMs, end)) {
+            RollupAccumulator acc = new RollupAccumulator(robotId, MINUTE_MS, start, maxGapMs);
+            telemetryStorage.scanStatuses(robotId, start - maxGapMs, end, acc);
+            rollups.addAll(acc.rollups(MINUTE));
+            modeRollups.addAll(acc.modeRollups(MINUTE));
+        }
+
+        // 2. 분 단위 UPSERT → 영향받은 시간대 다시 합치기 → watermark (한 트랜잭션)
+        Timestamp hourFrom = new Timestamp(Math.floorDiv(start, HOUR_MS) * HOUR_MS);
+        Timestamp hourTo = new Timestamp(Math.floorDiv(end - 1, HOUR_MS) * HOUR_MS + HOUR_MS);
+        transactionTemplate.executeWithoutResult(status -> {
+            upsertMinutes(rollups, modeRollups);
+            jdbcTemplate.update(ROLLUP_HOURS, hourFrom, hourTo);
+            jdbcTemplate.update(ROLLUP_MODE_HOURS, hourFrom, hourTo);
+            watermarkRepository.save(new RollupWatermark(WATERMARK_NAME, new Timestamp(end).toLocalDateTime()));
+        });
+        return rollups.size();
+    }
+
+    private void upsertMinutes(List<TelemetryRollup> rollups, List<TelemetryModeRollup> modeRollups) {
+        if (!rollups.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(rollups.size());
+            for (TelemetryRollup r : rollups) {
+                rows.add(new Object[]{
+                        r.getRobotId(), r.getResolution(), Timestamp.valueOf(r.getBucketStart()), r.getSampleCount(),
+                        r.getBatteryMin(), r.getBatteryMax(), r.getBatterySum(), r.getBatteryCount(),
+                        r.getTemperatureMin(), r.getTemperatureMax(), r.getTemperatureSum(), r.getTemperatureCount(), r.getDistance()});
+            }
+            jdbcTemplate.batchUpdate(UPSERT_ROLLUP, rows);
+        }
+        if (!modeRollups.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(modeRollups.size());
+            for (TelemetryModeRollup r : modeRollups) {
+                rows.add(new Object[]{
+                        r.getRobotId(), r.getResolution(), Timestamp.valueOf(r.getBucketStart()), r.getMode(), r.getSeconds()});
+            }
+            jdbcTemplate.batchUpdate(UPSERT_MODE_ROLLUP, rows);
+        }
+    }
+
+    // 청크 단위로 반복 삭제 (한 번에 지우면 긴 잠금/WAL 폭증)
+    private int deleteInChunks(ChunkDeleter deleter) {
+        int total = 0;
+        for (int i = 0; i < maxChunksPerRun; i++) {
+            int deleted = deleter.delete(deleteChunk);
+            total += deleted;
+            if (deleted == 0) break;
+        }
+        return total;
+    }
+
+    private static long floorMinute(long millis) {
+        return Math.floorDiv(millis, MINUTE_MS) * MINUTE_MS;
+    }
+
+    private interface ChunkDeleter {
+        int delete(int limit);
+    }
+}
@@ -0,0 +1,170 @@
+package com.ssafy.robot_server.service;
+
+import com.ssafy.robot_server.domain.RobotPose;
+import com.ssafy.robot_server.domain.RobotStatus;
+import com.ssafy.robot_server.repository.TelemetryStorage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 텔레메트리(상태/위치) 쓰기 지연(write-behind) 저장기.
+ * MQTT 콜백 스레드는 큐에 넣기만 하고, 백그라운드 스레드가 batch-size 또는 flush-interval 단위로 모아서
+ * 저장 엔진(TelemetryStorage: JDBC 배치 INSERT 또는 압축 세그먼트 파일)에 한 번에 씁니다.
+ * 큐가 가득 차면 MQTT 수신을 막지 않도록 새 샘플을 버리고 dropped 카운터만 올립니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TelemetryWriter {
+
+    private final TelemetryStorage telemetryStorage;
+    private final PipelineMetrics pipelineMetrics;
+
+    @Value("${telemetry.writer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${telemetry.writer.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${telemetry.writer.queue-capacity:50000}")
+    private int queueCapacity;
+
+    private BlockingQueue<Object> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    // 📊 지표 (큐 깊이는 queue.size()로 바로 조회)
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushNanosTotal = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+
+    @PostConstruct
+    public void start() {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.running = true;
+        this.worker = new Thread(this::runLoop, "telemetry-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(5000);
+        // 종료 직전 남은 데이터까지 저장
+        List<Object> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) flush(rest);
+    }
+
+    // MQTT 스레드에서 호출: 절대 블로킹하지 않음
+    public boolean enqueue(RobotStatus status) {
+        if (status.getTimestamp() == null) status.setTimestamp(LocalDateTime.now());
+        return offer(status);
+    }
+
+    public boolean enqueue(RobotPose pose) {
+        // JDBC 배치 경로에서는 @CreationTimestamp가 동작하지 않으므로 큐에 넣는 시점에 기록
+        if (pose.getTimestamp() == null) pose.setTimestamp(new Timestamp(System.currentTimeMillis()));
+        return offer(pose);
+    }
+
+    private boolean offer(Object sample) {
+        if (queue.offer(sample)) {
+            enqueued.incrementAndGet();
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    private void runLoop() {
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                // 1. 첫 샘플이 올 때까지 대기
+                Object first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // 2. batch-size가 차거나 flush-interval이 지날 때까지 모으기
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    if (batch.size() >= batchSize) break;
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    Object next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) batch.add(next);
+                }
+
+                // 3. 한 번에 저장
+                flush(batch);
+            } catch (InterruptedException e) {
+                // 종료 중: 모아둔 것까지는 저장하고 빠져나감
+                if (!batch.isEmpty()) flush(batch);
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Object> batch) {
+        List<RobotStatus> statuses = new ArrayList<>();
+        List<RobotPose> poses = new ArrayList<>();
+        for (Object sample : batch) {
+            if (sample instanceof RobotStatus s) statuses.add(s);
+            else if (sample instanceof RobotPose p) poses.add(p);
+        }
+
+        long started = System.nanoTime();
+        try {
+            if (!statuses.isEmpty()) telemetryStorage.saveStatuses(statuses);
+            if (!poses.isEmpty()) telemetryStorage.savePoses(poses);
+            written.addAndGet(batch.size());
+        } catch (Exception e) {
+            failed.addAndGet(batch.size());
+            log.error("❌ 텔레메트리 배치 저장 실패 ({}건): {}", batch.size(), e.getMessage());
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            lastFlushNanos = elapsed;
+            if (elapsed > maxFlushNanos) maxFlushNanos = elapsed;
+            flushNanosTotal.addAndGet(elapsed);
+            flushCount.incrementAndGet();
+            pipelineMetrics.recordPersist(elapsed);
+        }
+    }
+
+    // --- 지표 조회 ---
+    public int getQueueDepth() { return queue.size(); }
+    public int getQueueCapacity() { return queueCapacity; }
+    public long getEnqueuedCount() { return enqueued.get(); }
+    public long getDroppedCount() { return dropped.get(); }
+    public long getWrittenCount() { return written.get(); }
+    public long getFailedCount() { return failed.get(); }
+    public long getFlushCount() { return flushCount.get(); }
+    public long getFlushNanosTotal() { return flushNanosTotal.get(); }
+    public long getLastFlushNanos() { return lastFlushNanos; }
+    public long getMaxFlushNanos() { return maxFlushNanos; }
+}
@@ -0,0 +1,439 @@
+package com.ssafy.robot_server.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 영상 썸네일 (요청한 폭으로 줄인 JPEG).
+ * - 원본: 로봇이 올린 대표 프레임 1장 ({dir}/sources/{id}.src)
+ * - 변형: 폭별로 처음 요청될 때 만듦. 폭은 정해진 단계(widths)로 올림해서 변형 수를 제한
+ * - 캐시 2단: 힙 LRU(바이트 한도) → 디스크 LRU(바이트 한도) → 없으면 렌더링
+ * - 같은 변형을 동시에 요청하면 렌더링은 한 번만, 나머지는 그 결과를 기다림 (single-flight)
+ * - 변형 ETag = 원본 해시 + 폭 → 렌더링 전에 304 판단 가능
+ * 이미지 처리는 JDK(ImageIO/Java2D)만 사용합니다.
+ */
+@Slf4j
+@Service
+public class ThumbnailService {
+
+    private static final String SOURCE = ".src";
+    private static final String VARIANT = ".jpg";
+
+    @Value("${videos.thumbnails.dir:./data/thumbnails}")
+    private String dir;
+
+    @Value("${videos.thumbnails.widths:160,320,480,640}")
+    private int[] widths;
+
+    @Value("${videos.thumbnails.quality:0.8}")
+    private float quality;
+
+    @Value("${videos.thumbnails.max-source-bytes:10485760}")
+    private long maxSourceBytes;
+
+    @Value("${videos.thumbnails.memory-max-bytes:8388608}")
+    private long memoryMaxBytes;
+
+    @Value("${videos.thumbnails.disk-max-bytes:268435456}")
+    private long diskMaxBytes;
+
+    private Path sources;
+    private Path variants;
+
+    // 변형 키({id}-{원본해시}-w{폭}) → JPEG, 접근 순서 (memory 잠금 안에서만)
+    private final Map<String, byte[]> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+    // 변형 키 → 디스크 파일 크기, 접근 순서 (disk 잠금 안에서만)
+    private final Map<String, Long> disk = new LinkedHashMap<>(256, 0.75f, true);
+    private long diskBytes;
+    // 렌더링 중인 변형 (같은 키 요청은 이 결과를 기다림)
+    private final Map<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong renders = new AtomicLong();
+
+    @PostConstruct
+    public void init() throws IOException {
+        Path root = Path.of(dir).toAbsolutePath().normalize();
+        sources = Files.createDirectories(root.resolve("sources"));
+        variants = Files.createDirectories(root.resolve("variants"));
+        widths = widths.clone();
+        Arrays.sort(widths);
+
+        // 재시작 후에도 디스크 캐시 유지: 오래 안 쓴 순서(수정 시각)로 다시 채움
+        List<Path> files;
+        try (Stream<Path> list = Files.list(variants)) {
+            files = list.toList();
+        }
+        List<Path> cached = new ArrayList<>();
+        for (Path file : files) {
+            if (file.getFileName().toString().endsWith(VARIANT)) cached.add(file);
+            else Files.deleteIfExists(file); // 쓰다 만 임시 파일
+        }
+        cached.sort(Comparator.comparing(ThumbnailService::modifiedTime));
+        List<String> evicted = new ArrayList<>();
+        synchronized (disk) {
+            for (Path file : cached) {
+                String name = file.getFileName().toString();
+                long size = Files.size(file);
+                disk.put(name.substring(0, name.length() - VARIANT.length()), size);
+                diskBytes += size;
+            }
+            trimDisk(null, evicted);
+        }
+        deleteVariantFiles(evicted);
+        log.info("🖼️ 썸네일 저장소: {} (디스크 캐시 {}개, {} KB)", root, disk.size(), diskBytes / 1024);
+    }
+
+    // 요청 폭 → 실제로 만들 폭 (단계 중 요청보다 크거나 같은 가장 작은 값)
+    public int snapWidth(int requested) {
+        for (int w : widths) {
+            if (w >= requested) return w;
+        }
+        return widths[widths.length - 1];
+    }
+
+    public String etag(String sourceEtag, int width) {
+        return sourceEtag + "-w" + width;
+    }
+
+    /**
+     * 대표 프레임 저장 (같은 영상에 다시 올리면 교체, 이전 변형은 지움)
+     * 이미지로 읽을 수 없거나 max-source-bytes를 넘으면 IllegalArgumentException
+     * @return 원본 해시 (변형 ETag의 앞부분)
+     */
+    public String storeFrame(Long videoId, InputStream body) throws IOException {
+        Path temp = Files.createTempFile(sources, videoId + "-", ".tmp");
+        MessageDigest digest = sha256();
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[16 * 1024];
+                long total = 0;
+                int n;
+                while ((n = body.read(buffer)) > 0) {
+                    total += n;
+                    if (total > maxSourceBytes) throw new IllegalArgumentException("이미지가 너무 큼 (최대 " + maxSourceBytes + "바이트)");
+                    digest.update(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                }
+            }
+            try (ImageInputStream in = ImageIO.createImageInputStream(temp.toFile())) {
+                if (in == null || !ImageIO.getImageReaders(in).hasNext()) throw new IllegalArgumentException("이미지 형식이 아님");
+            }
+            Files.move(temp, sources.resolve(videoId + SOURCE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        removeVariants(videoId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()).substring(0, 16);
+    }
+
+    /**
+     * 변형 JPEG (힙 → 디스크 → 렌더링 순서). 원본 프레임이 없으면 null
+     * width는 snapWidth를 거친 값이어야 합니다.
+     */
+    public byte[] get(Long videoId, String sourceEtag, int width) throws IOException {
+        String key = videoId + "-" + etag(sourceEtag, width);
+        byte[] hit;
+        synchronized (memory) {
+            hit = memory.get(key);
+        }
+        if (hit != null) {
+            memoryHits.incrementAndGet();
+            return hit;
+        }
+
+        // 같은 키를 이미 누가 만들고 있으면 기다림
+        CompletableFuture<byte[]> mine = new CompletableFuture<>();
+        CompletableFuture<byte[]> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) return await(running);
+        try {
+            byte[] data = fromDisk(key);
+            if (data != null) {
+                diskHits.incrementAndGet();
+            } else {
+                data = render(videoId, width);
+                if (data != null) {
+                    renders.incrementAndGet();
+                    toDisk(key, data);
+                }
+            }
+            if (data != null) toMemory(key, data);
+            mine.complete(data);
+            return data;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // 영상 삭제 시 원본 + 변형 전부
+    public void delete(Long videoId) {
+        try {
+            Files.deleteIfExists(sources.resolve(videoId + SOURCE));
+        } catch (IOException e) {
+            log.warn("⚠️ 썸네일 원본 삭제 실패 ({}): {}", videoId, e.getMessage());
+        }
+        removeVariants(videoId);
+    }
+
+    // 모니터링용
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getRenders() {
+        return renders.get();
+    }
+
+    public long getMemoryBytes() {
+        synchronized (memory) {
+            return memoryBytes;
+        }
+    }
+
+    public long getDiskBytes() {
+        synchronized (disk) {
+            return diskBytes;
+        }
+    }
+
+    // ---------------------------------------------------------------- 렌더링
+
+    private byte[] render(Long videoId, int width) throws IOException {
+        Path source = sources.resolve(videoId + SOURCE);
+        if (!Files.exists(source)) return null;
+        return encode(scale(read(source, width), width));
+    }
+
+    // 디코딩할 때부터 픽셀을 건너뛰며 읽음 (목표 폭의 2배 이상은 남겨서 화질 유지, 큰 프레임도 힙을 적게 씀)
+    private static BufferedImage read(Path source, int width) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) throw new IOException("지원하지 않는 이미지 형식");
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int step = Math.max(1, reader.getWidth(0) / (width * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 절반씩 여러 번 줄임 (한 번에 크게 줄이면 bilinear가 픽셀을 건너뛰어 거칠어짐). 확대는 하지 않음
+    private static BufferedImage scale(BufferedImage image, int width) {
+        int targetW = Math.min(width, image.getWidth());
+        int targetH = Math.max(1, Math.round(image.getHeight() * (float) targetW / image.getWidth()));
+        int w = image.getWidth();
+        int h = image.getHeight();
+        BufferedImage current = image;
+        do {
+            w = Math.max(targetW, w / 2);
+            h = Math.max(targetH, h / 2);
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB); // JPEG는 알파 없음
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, Color.BLACK, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w > targetW || h > targetH);
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        try (MemoryCacheImageOutputStream ios = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    // ---------------------------------------------------------------- 캐시
+
+    private void toMemory(String key, byte[] data) {
+        if (data.length > memoryMaxBytes / 4) return; // 너무 큰 변형은 디스크에만
+        synchronized (memory) {
+            byte[] old = memory.put(key, data);
+            if (old != null) memoryBytes -= old.length;
+            memoryBytes += data.length;
+            Iterator<byte[]> it = memory.values().iterator();
+            while (memoryBytes > memoryMaxBytes && it.hasNext()) {
+                memoryBytes -= it.next().length;
+                it.remove();
+            }
+        }
+    }
+
+    private byte[] fromDisk(String key) throws IOException {
+        synchronized (disk) {
+            if (disk.get(key) == null) return null; // get으로 LRU 순서도 갱신
+        }
+        try {
+            return Files.readAllBytes(variants.resolve(key + VARIANT));
+        } catch (NoSuchFileException e) {
+            synchronized (disk) {
+                Long size = disk.remove(key);
+                if (size != null) diskBytes -= size;
+            }
+            return null;
+        }
+    }
+
+    private void toDisk(String key, byte[] data) {
+        try {
+            Path temp = Files.createTempFile(variants, "tmp-", ".part");
+            Files.write(temp, data);
+            Files.move(temp, variants.resolve(key + VARIANT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("⚠️ 썸네일 디스크 캐시 쓰기 실패 ({}): {}", key, e.getMessage());
+            return;
+        }
+        List<String> evicted = new ArrayList<>();
+        synchronized (disk) {
+            Long old = disk.put(key, (long) data.length);
+            if (old != null) diskBytes -= old;
+            diskBytes += data.length;
+            trimDisk(key, evicted);
+        }
+        deleteVariantFiles(evicted);
+    }
+
+    // 한도를 넘으면 가장 오래 안 쓴 것부터 (파일 삭제는 잠금 밖에서)
+    private void trimDisk(String keep, List<String> evicted) {
+        Iterator<Map.Entry<String, Long>> it = disk.entrySet().iterator();
+        while (diskBytes > diskMaxBytes && it.hasNext()) {
+            Map.Entry<String, Long> e = it.next();
+            if (e.getKey().equals(keep)) continue;
+            diskBytes -= e.getValue();
+            evicted.add(e.getKey());
+            it.remove();
+        }
+    }
+
+    private void removeVariants(Long videoId) {
+        String prefix = videoId + "-";
+        synchronized (memory) {
+            Iterator<Map.Entry<String, byte[]>> it = memory.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, byte[]> e = it.next();
+                if (!e.getKey().startsWith(prefix)) continue;
+                memoryBytes -= e.getValue().length;
+                it.remove();
+            }
+        }
+        List<String> evicted = new ArrayList<>();
+        synchronized (disk) {
+            Iterator<Map.Entry<String, Long>> it = disk.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Long> e = it.next();
+                if (!e.getKey().startsWith(prefix)) continue;
+                diskBytes -= e.getValue();
+                evicted.add(e.getKey());
+                it.remove();
+            }
+        }
+        deleteVariantFiles(evicted);
+    }
+
+    private void deleteVariantFiles(List<String> keys) {
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(variants.resolve(key + VARIANT));
+            } catch (IOException e) {
+                log.warn("⚠️ 썸네일 캐시 삭제 실패 ({}): {}", key, e.getMessage());
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- 기타
+
+    private static byte[] await(CompletableFuture<byte[]> running) throws IOException {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("썸네일 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static FileTime modifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
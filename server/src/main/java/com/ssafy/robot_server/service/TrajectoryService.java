@@ -0,0 +1,58 @@
+package com.ssafy.robot_server.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.robot_server.repository.TelemetryStorage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 로봇 이동 경로 조회.
+ * 저장 엔진에서 한 행씩 읽어 LTTB로 줄이면서 바로 JSON으로 써 내려가므로,
+ * 하루치(약 86만 건)를 조회해도 엔티티/리스트를 힙에 올리지 않습니다.
+ *
+ * 응답: {"robotId":"..","from":..,"to":..,"points":[[ts,x,y],...],"rawCount":..}
+ */
+@Service
+@RequiredArgsConstructor
+public class TrajectoryService {
+
+    private final TelemetryStorage telemetryStorage;
+    private final ObjectMapper objectMapper;
+
+    public void writeTrajectory(String robotId, long from, long to, int maxPoints, OutputStream out) throws IOException {
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeStringField("robotId", robotId);
+            gen.writeNumberField("from", from);
+            gen.writeNumberField("to", to);
+            gen.writeArrayFieldStart("points");
+
+            LttbDownsampler downsampler = new LttbDownsampler(from, to, maxPoints, (ts, x, y) -> {
+                try {
+                    gen.writeStartArray();
+                    gen.writeNumber(ts);
+                    gen.writeNumber(x);
+                    gen.writeNumber(y);
+                    gen.writeEndArray();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            try {
+                telemetryStorage.scanPoses(robotId, from, to, downsampler);
+                downsampler.finish();
+            } catch (UncheckedIOException e) {
+                throw e.getCause(); // 클라이언트가 연결을 끊은 경우 등
+            }
+
+            gen.writeEndArray();
+            gen.writeNumberField("rawCount", downsampler.getInputCount());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ssafy.robot_server.tsdb;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 비트 단위 읽기 (BitWriter와 같은 순서). 메모리 맵 버퍼를 복사 없이 절대 위치로 읽습니다.
+ */
+final class BitReader {
+
+    private final ByteBuffer buf;
+    private int pos;
+    private long acc;
+    private int accBits;
+
+    BitReader(ByteBuffer buf, int offset) {
+        this.buf = buf;
+        this.pos = offset;
+    }
+
+    boolean readBit() {
+        return readBits(1) == 1;
+    }
+
+    long readBits(int n) {
+        if (n == 0) return 0;
+        if (n > 32) {
+            long hi = readBits(n - 32);
+            long lo = readBits(32);
+            return (hi << 32) | lo;
+        }
+        while (accBits < n) {
+            acc = (acc << 8) | (buf.get(pos++) & 0xFF);
+            accBits += 8;
+        }
+        accBits -= n;
+        long value = (acc >>> accBits) & ((1L << n) - 1);
+        acc &= (1L << accBits) - 1;
+        return value;
+    }
+}
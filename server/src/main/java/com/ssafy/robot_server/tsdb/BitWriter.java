@@ -0,0 +1,58 @@
+package com.ssafy.robot_server.tsdb;
+
+import java.util.Arrays;
+
+/**
+ * 비트 단위 쓰기 버퍼 (MSB부터 채움).
+ */
+final class BitWriter {
+
+    private byte[] buf;
+    private int size;      // 완성된 바이트 수
+    private long acc;      // 아직 바이트로 못 채운 비트들
+    private int accBits;   // acc 안의 비트 수 (항상 8 미만 유지)
+
+    BitWriter(int initialCapacity) {
+        this.buf = new byte[Math.max(16, initialCapacity)];
+    }
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    // value의 하위 n비트를 기록 (n: 0~64)
+    void writeBits(long value, int n) {
+        if (n == 0) return;
+        if (n > 32) {
+            writeBits(value >>> 32, n - 32);
+            writeBits(value & 0xFFFFFFFFL, 32);
+            return;
+        }
+        acc = (acc << n) | (value & ((1L << n) - 1));
+        accBits += n;
+        while (accBits >= 8) {
+            accBits -= 8;
+            put((byte) (acc >>> accBits));
+        }
+        acc &= (1L << accBits) - 1;
+    }
+
+    // 남은 비트를 0으로 채워 마무리하고 결과 바이트 수 반환
+    int finish() {
+        if (accBits > 0) {
+            put((byte) (acc << (8 - accBits)));
+            acc = 0;
+            accBits = 0;
+        }
+        return size;
+    }
+
+    byte[] buffer() {
+        return buf;
+    }
+
+    private void put(byte b) {
+        if (size == buf.length) buf = Arrays.copyOf(buf, buf.length * 2);
+        buf[size++] = b;
+    }
+}
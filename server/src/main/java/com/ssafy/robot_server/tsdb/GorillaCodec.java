@@ -0,0 +1,144 @@
+package com.ssafy.robot_server.tsdb;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Gorilla 방식 압축 (Facebook Gorilla 논문).
+ * - 시간: 첫 값은 64비트 그대로, 이후 delta-of-delta를 0 / 7 / 9 / 12 / 64비트 구간으로 기록
+ * - 값(double): 이전 값과 XOR 해서 0이면 1비트, 아니면 의미 있는 비트 구간만 기록
+ * 한 행(시간 + 컬럼들)씩 순서대로 기록하므로 읽을 때도 한 행씩 스트리밍으로 복원됩니다.
+ */
+final class GorillaCodec {
+
+    /** 복원된 한 행을 받는 콜백 (values 배열은 재사용되므로 보관하지 말 것) */
+    interface RowSink {
+        void accept(long timestamp, double[] values);
+    }
+
+    private GorillaCodec() {
+    }
+
+    static void encode(BitWriter out, long[] timestamps, double[][] columns, int[] rows, int count) {
+        int columnCount = columns.length;
+        long prevTs = 0;
+        long prevDelta = 0;
+        long[] prevBits = new long[columnCount];
+        int[] prevLead = new int[columnCount];
+        int[] prevTrail = new int[columnCount];
+
+        for (int r = 0; r < count; r++) {
+            int i = rows[r];
+            long ts = timestamps[i];
+
+            // 1. 시간
+            if (r == 0) {
+                out.writeBits(ts, 64);
+            } else {
+                long delta = ts - prevTs;
+                writeDeltaOfDelta(out, delta - prevDelta);
+                prevDelta = delta;
+            }
+            prevTs = ts;
+
+            // 2. 컬럼 값
+            for (int c = 0; c < columnCount; c++) {
+                long bits = Double.doubleToRawLongBits(columns[c][i]);
+                if (r == 0) {
+                    out.writeBits(bits, 64);
+                    prevLead[c] = -1;
+                } else {
+                    long xor = bits ^ prevBits[c];
+                    if (xor == 0) {
+                        out.writeBit(false);
+                    } else {
+                        out.writeBit(true);
+                        int lead = Math.min(31, Long.numberOfLeadingZeros(xor));
+                        int trail = Long.numberOfTrailingZeros(xor);
+                        if (prevLead[c] >= 0 && lead >= prevLead[c] && trail >= prevTrail[c]) {
+                            // 이전 구간 안에 들어가면 구간 정보 생략
+                            out.writeBit(false);
+                            out.writeBits(xor >>> prevTrail[c], 64 - prevLead[c] - prevTrail[c]);
+                        } else {
+                            int significant = 64 - lead - trail;
+                            out.writeBit(true);
+                            out.writeBits(lead, 5);
+                            out.writeBits(significant - 1, 6);
+                            out.writeBits(xor >>> trail, significant);
+                            prevLead[c] = lead;
+                            prevTrail[c] = trail;
+                        }
+                    }
+                }
+                prevBits[c] = bits;
+            }
+        }
+    }
+
+    static void decode(ByteBuffer buf, int offset, int count, int columnCount, RowSink sink) {
+        BitReader in = new BitReader(buf, offset);
+        long ts = 0;
+        long prevDelta = 0;
+        long[] prevBits = new long[columnCount];
+        int[] prevLead = new int[columnCount];
+        int[] prevTrail = new int[columnCount];
+        double[] values = new double[columnCount];
+
+        for (int r = 0; r < count; r++) {
+            if (r == 0) {
+                ts = in.readBits(64);
+            } else {
+                long delta = prevDelta + readDeltaOfDelta(in);
+                ts += delta;
+                prevDelta = delta;
+            }
+
+            for (int c = 0; c < columnCount; c++) {
+                long bits;
+                if (r == 0) {
+                    bits = in.readBits(64);
+                } else if (!in.readBit()) {
+                    bits = prevBits[c];
+                } else if (!in.readBit()) {
+                    int significant = 64 - prevLead[c] - prevTrail[c];
+                    bits = prevBits[c] ^ (in.readBits(significant) << prevTrail[c]);
+                } else {
+                    int lead = (int) in.readBits(5);
+                    int significant = (int) in.readBits(6) + 1;
+                    int trail = 64 - lead - significant;
+                    bits = prevBits[c] ^ (in.readBits(significant) << trail);
+                    prevLead[c] = lead;
+                    prevTrail[c] = trail;
+                }
+                prevBits[c] = bits;
+                values[c] = Double.longBitsToDouble(bits);
+            }
+            sink.accept(ts, values);
+        }
+    }
+
+    private static void writeDeltaOfDelta(BitWriter out, long dod) {
+        if (dod == 0) {
+            out.writeBit(false);
+        } else if (dod >= -63 && dod <= 64) {
+            out.writeBits(0b10, 2);
+            out.writeBits(dod + 63, 7);
+        } else if (dod >= -255 && dod <= 256) {
+            out.writeBits(0b110, 3);
+            out.writeBits(dod + 255, 9);
+        } else if (dod >= -2047 && dod <= 2048) {
+            out.writeBits(0b1110, 4);
+            out.writeBits(dod + 2047, 12);
+        } else {
+            out.writeBits(0b1111, 4);
+            out.writeBits(dod, 64);
+        }
+    }
+
+    private static long readDeltaOfDelta(BitReader in) {
+        if (!in.readBit()) return 0;
+        if (!in.readBit()) return in.readBits(7) - 63;
+        if (!in.readBit()) return in.readBits(9) - 255;
+        if (!in.readBit()) return in.readBits(12) - 2047;
+        return in.readBits(64);
+    }
+}
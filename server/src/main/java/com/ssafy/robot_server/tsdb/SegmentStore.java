@@ -0,0 +1,256 @@
+package com.ssafy.robot_server.tsdb;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 추가 전용(append-only) 세그먼트 파일 저장소.
+ *
+ * 파일 구조: {root}/{series}/{robotId}/{blockStartMillis}.seg
+ * 파일 안에는 청크가 순서대로 붙습니다. (한 번 flush = 청크 하나, 청크마다 Gorilla 상태 초기화)
+ *   [int MAGIC][int count][long minTs][long maxTs][short columns][short dictSize][dict: (short len, utf8)*]
+ *   [int payloadLen][payload(Gorilla 비트열)]
+ * 마지막 청크가 쓰다 말고 잘려 있으면 (서버 비정상 종료) 읽을 때 그 청크만 건너뜁니다.
+ * 읽기는 파일을 메모리 맵으로 열어 복사 없이 디코딩합니다.
+ */
+@Slf4j
+public class SegmentStore {
+
+    private static final int MAGIC = 0x54534331; // "TSC1"
+    private static final String SUFFIX = ".seg";
+
+    /** 조회 결과 한 행 (values 배열은 재사용, dict는 문자열 컬럼 사전) */
+    public interface RowVisitor {
+        void accept(long timestamp, double[] values, String[] dict);
+    }
+
+    private final Path root;
+    private final long blockMillis;
+
+    public SegmentStore(Path root, long blockMillis) {
+        this.root = root;
+        this.blockMillis = blockMillis;
+    }
+
+    public long getBlockMillis() {
+        return blockMillis;
+    }
+
+    /**
+     * 한 로봇의 샘플들을 시간 블록별로 나눠 청크로 추가합니다.
+     * timestamps/columns[c]는 같은 길이, dict는 문자열 컬럼(사전 번호로 저장)의 사전입니다.
+     */
+    public synchronized void append(String series, String robotId, long[] timestamps, double[][] columns,
+                                    String[] dict, int count) {
+        if (count == 0) return;
+
+        // 1. 블록별로 행 번호 모으기 (보통 한 배치 = 블록 하나)
+        Map<Long, int[]> byBlock = new LinkedHashMap<>();
+        Map<Long, Integer> sizes = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            long block = Math.floorDiv(timestamps[i], blockMillis) * blockMillis;
+            int[] rows = byBlock.computeIfAbsent(block, b -> new int[count]);
+            int size = sizes.getOrDefault(block, 0);
+            rows[size] = i;
+            sizes.put(block, size + 1);
+        }
+
+        // 2. 블록 파일마다 청크 하나씩 추가
+        for (Map.Entry<Long, int[]> e : byBlock.entrySet()) {
+            int[] rows = e.getValue();
+            int rowCount = sizes.get(e.getKey());
+            ByteBuffer chunk = encodeChunk(timestamps, columns, dict, rows, rowCount);
+            Path file = blockFile(series, robotId, e.getKey());
+            try {
+                Files.createDirectories(file.getParent());
+                try (FileChannel ch = FileChannel.open(file,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    while (chunk.hasRemaining()) ch.write(chunk);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    /**
+     * [from, to) 구간의 행을 블록 순서 → 파일 내 추가 순서(=수신 순서)로 전달합니다.
+     */
+    public void scan(String series, String robotId, long from, long to, RowVisitor visitor) {
+        for (Path file : blockFiles(series, robotId, from, to)) {
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = ch.size();
+                if (size == 0) continue;
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                scanFile(buf, from, to, visitor);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    /** 해당 로봇의 세그먼트 파일 총 크기 (벤치마크/모니터링용) */
+    public long sizeOnDisk(String series, String robotId) {
+        long total = 0;
+        for (Path file : blockFiles(series, robotId, Long.MIN_VALUE, Long.MAX_VALUE)) {
+            try {
+                total += Files.size(file);
+            } catch (IOException ignored) {
+                // 지워진 파일은 건너뜀
+            }
+        }
+        return total;
+    }
+
+    /** [from, to)와 겹치는 블록이 있는 로봇 목록 (디렉토리 이름 기준) */
+    public List<String> robotIds(String series, long from, long to) {
+        Path dir = root.resolve(series);
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> robots = Files.list(dir)) {
+            return robots
+                    .filter(Files::isDirectory)
+                    .map(p -> p.getFileName().toString())
+                    .filter(id -> !blockFiles(series, id, from, to).isEmpty())
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /** 블록 전체가 cutoff 이전인 파일을 최대 limit개 삭제하고 삭제한 파일 수 반환 */
+    public synchronized int deleteBlocksBefore(String series, long cutoff, int limit) {
+        Path dir = root.resolve(series);
+        if (!Files.isDirectory(dir)) return 0;
+        int deleted = 0;
+        try (Stream<Path> robots = Files.list(dir)) {
+            for (Path robotDir : robots.filter(Files::isDirectory).toList()) {
+                try (Stream<Path> files = Files.list(robotDir)) {
+                    for (Path file : files.filter(f -> f.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                        if (deleted >= limit) return deleted;
+                        if (blockStart(file) + blockMillis <= cutoff && Files.deleteIfExists(file)) deleted++;
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return deleted;
+    }
+
+    private void scanFile(ByteBuffer buf, long from, long to, RowVisitor visitor) {
+        int pos = 0;
+        int limit = buf.limit();
+        while (pos + 28 <= limit) {
+            if (buf.getInt(pos) != MAGIC) {
+                log.warn("⚠️ 세그먼트 손상 감지, 나머지 건너뜀 (offset={})", pos);
+                return;
+            }
+            int count = buf.getInt(pos + 4);
+            long minTs = buf.getLong(pos + 8);
+            long maxTs = buf.getLong(pos + 16);
+            int columns = buf.getShort(pos + 24);
+            int dictSize = buf.getShort(pos + 26);
+            int p = pos + 28;
+
+            String[] dict = new String[dictSize];
+            for (int d = 0; d < dictSize; d++) {
+                if (p + 2 > limit) return;
+                int len = buf.getShort(p) & 0xFFFF;
+                if (p + 2 + len > limit) return;
+                byte[] bytes = new byte[len];
+                buf.get(p + 2, bytes);
+                dict[d] = new String(bytes, StandardCharsets.UTF_8);
+                p += 2 + len;
+            }
+            if (p + 4 > limit) return;
+            int payloadLen = buf.getInt(p);
+            p += 4;
+            if (p + payloadLen > limit) return; // 쓰다 만 마지막 청크
+
+            if (maxTs >= from && minTs < to) {
+                GorillaCodec.decode(buf, p, count, columns, (ts, values) -> {
+                    if (ts >= from && ts < to) visitor.accept(ts, values, dict);
+                });
+            }
+            pos = p + payloadLen;
+        }
+    }
+
+    private ByteBuffer encodeChunk(long[] timestamps, double[][] columns, String[] dict, int[] rows, int count) {
+        long minTs = Long.MAX_VALUE;
+        long maxTs = Long.MIN_VALUE;
+        for (int r = 0; r < count; r++) {
+            long ts = timestamps[rows[r]];
+            if (ts < minTs) minTs = ts;
+            if (ts > maxTs) maxTs = ts;
+        }
+
+        BitWriter bits = new BitWriter(count * 4 + 64);
+        GorillaCodec.encode(bits, timestamps, columns, rows, count);
+        int payloadLen = bits.finish();
+
+        List<byte[]> dictBytes = new ArrayList<>(dict.length);
+        int dictLen = 0;
+        for (String s : dict) {
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            dictBytes.add(b);
+            dictLen += 2 + b.length;
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(28 + dictLen + 4 + payloadLen);
+        buf.putInt(MAGIC).putInt(count).putLong(minTs).putLong(maxTs)
+                .putShort((short) columns.length).putShort((short) dict.length);
+        for (byte[] b : dictBytes) {
+            buf.putShort((short) b.length).put(b);
+        }
+        buf.putInt(payloadLen).put(bits.buffer(), 0, payloadLen);
+        buf.flip();
+        return buf;
+    }
+
+    private Path blockFile(String series, String robotId, long blockStart) {
+        return root.resolve(series).resolve(safe(robotId)).resolve(blockStart + SUFFIX);
+    }
+
+    // [from, to)와 겹치는 블록 파일을 시간 순으로
+    List<Path> blockFiles(String series, String robotId, long from, long to) {
+        Path dir = root.resolve(series).resolve(safe(robotId));
+        if (!Files.isDirectory(dir)) return List.of();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(f -> f.getFileName().toString().endsWith(SUFFIX))
+                    .filter(f -> {
+                        long start = blockStart(f);
+                        return start < to && start + blockMillis > from;
+                    })
+                    .sorted((a, b) -> Long.compare(blockStart(a), blockStart(b)))
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static long blockStart(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    // 로봇 ID를 디렉토리 이름으로 안전하게
+    private static String safe(String robotId) {
+        return robotId.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+}
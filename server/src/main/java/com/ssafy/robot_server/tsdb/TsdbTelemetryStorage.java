@@ -0,0 +1,119 @@
+package com.ssafy.robot_server.tsdb;
+
+import com.ssafy.robot_server.domain.RobotPose;
+import com.ssafy.robot_server.domain.RobotStatus;
+import com.ssafy.robot_server.mqtt.RobotTopics;
+import com.ssafy.robot_server.repository.TelemetryStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 압축 세그먼트 파일 엔진 (telemetry.storage.engine=tsdb).
+ * - status 시리즈 컬럼: batteryLevel, temperature, isCharging(0/1), x, y, mode(청크별 사전 번호)
+ * - pose 시리즈 컬럼: x, y
+ * 값이 없으면(null) NaN으로 저장합니다.
+ */
+@Repository
+@ConditionalOnProperty(name = "telemetry.storage.engine", havingValue = "tsdb")
+public class TsdbTelemetryStorage implements TelemetryStorage {
+
+    public static final String STATUS_SERIES = "status";
+    public static final String POSE_SERIES = "pose";
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final SegmentStore store;
+
+    public TsdbTelemetryStorage(@Value("${telemetry.storage.tsdb.dir:./data/tsdb}") String dir,
+                                @Value("${telemetry.storage.tsdb.block-minutes:60}") long blockMinutes) {
+        this.store = new SegmentStore(Path.of(dir), blockMinutes * 60_000L);
+    }
+
+    public SegmentStore getStore() {
+        return store;
+    }
+
+    @Override
+    public void saveStatuses(List<RobotStatus> statuses) {
+        for (Map.Entry<String, List<RobotStatus>> e : groupByRobot(statuses, RobotStatus::getRobotId).entrySet()) {
+            List<RobotStatus> list = e.getValue();
+            int n = list.size();
+            long[] ts = new long[n];
+            double[][] cols = new double[6][n];
+            Map<String, Integer> dict = new LinkedHashMap<>();
+
+            for (int i = 0; i < n; i++) {
+                RobotStatus s = list.get(i);
+                ts[i] = s.getTimestamp().atZone(ZONE).toInstant().toEpochMilli();
+                cols[0][i] = s.getBatteryLevel() != null ? s.getBatteryLevel() : Double.NaN;
+                cols[1][i] = s.getTemperature() != null ? s.getTemperature() : Double.NaN;
+                cols[2][i] = Boolean.TRUE.equals(s.getIsCharging()) ? 1 : 0;
+                cols[3][i] = s.getX() != null ? s.getX() : Double.NaN;
+                cols[4][i] = s.getY() != null ? s.getY() : Double.NaN;
+                cols[5][i] = s.getMode() != null ? dict.computeIfAbsent(s.getMode(), m -> dict.size()) : -1;
+            }
+            store.append(STATUS_SERIES, e.getKey(), ts, cols, dict.keySet().toArray(new String[0]), n);
+        }
+    }
+
+    @Override
+    public void savePoses(List<RobotPose> poses) {
+        long now = System.currentTimeMillis(); // 수신 시각이 없을 때만 (TelemetryWriter가 기록함)
+        for (Map.Entry<String, List<RobotPose>> e : groupByRobot(poses, RobotPose::getRobotId).entrySet()) {
+            List<RobotPose> list = e.getValue();
+            int n = list.size();
+            long[] ts = new long[n];
+            double[][] cols = new double[2][n];
+            for (int i = 0; i < n; i++) {
+                RobotPose p = list.get(i);
+                ts[i] = p.getTimestamp() != null ? p.getTimestamp().getTime() : now;
+                cols[0][i] = p.getX();
+                cols[1][i] = p.getY();
+            }
+            store.append(POSE_SERIES, e.getKey(), ts, cols, new String[0], n);
+        }
+    }
+
+    @Override
+    public void scanStatuses(String robotId, long from, long to, StatusVisitor visitor) {
+        store.scan(STATUS_SERIES, robotId, from, to, (ts, v, dict) -> {
+            int modeIndex = (int) v[5];
+            String mode = (modeIndex >= 0 && modeIndex < dict.length) ? dict[modeIndex] : null;
+            visitor.accept(ts, v[0], v[1], v[2] != 0, v[3], v[4], mode); // 저장할 때 null은 NaN
+        });
+    }
+
+    @Override
+    public void scanPoses(String robotId, long from, long to, PoseVisitor visitor) {
+        store.scan(POSE_SERIES, robotId, from, to, (ts, v, dict) -> visitor.accept(ts, v[0], v[1]));
+    }
+
+    @Override
+    public List<String> robotIds(long from, long to) {
+        return store.robotIds(STATUS_SERIES, from, to);
+    }
+
+    @Override
+    public int deleteBefore(long cutoff, int limit) {
+        // 블록 파일 단위로 삭제 (limit = 파일 개수)
+        return store.deleteBlocksBefore(STATUS_SERIES, cutoff, limit) + store.deleteBlocksBefore(POSE_SERIES, cutoff, limit);
+    }
+
+    private static <T> Map<String, List<T>> groupByRobot(List<T> samples, Function<T, String> robotId) {
+        Map<String, List<T>> groups = new LinkedHashMap<>();
+        for (T sample : samples) {
+            String id = robotId.apply(sample);
+            groups.computeIfAbsent(id != null ? id : RobotTopics.DEFAULT_ROBOT_ID, k -> new ArrayList<>()).add(sample);
+        }
+        return groups;
+    }
+}
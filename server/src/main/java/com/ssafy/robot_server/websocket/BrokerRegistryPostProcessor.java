@@ -0,0 +1,28 @@
+package com.ssafy.robot_server.websocket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * enableSimpleBroker()가 만든 브로커에 ShardedSubscriptionRegistry를 끼워 넣습니다.
+ * (MessageBrokerRegistry에는 구독 저장소를 바꾸는 설정이 없어서 빈 생성 직후에 교체)
+ */
+@Component
+public class BrokerRegistryPostProcessor implements BeanPostProcessor {
+
+    private final int shards;
+
+    public BrokerRegistryPostProcessor(@Value("${websocket.broker.shards:16}") int shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof SimpleBrokerMessageHandler broker) {
+            broker.setSubscriptionRegistry(new ShardedSubscriptionRegistry(shards));
+        }
+        return bean;
+    }
+}
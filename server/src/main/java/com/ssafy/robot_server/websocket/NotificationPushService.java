@@ -0,0 +1,60 @@
+package com.ssafy.robot_server.websocket;
+
+import com.ssafy.robot_server.domain.Notification;
+import com.ssafy.robot_server.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * 알림 실시간 전송.
+ * - 새 알림: 주인 사용자의 모든 세션으로 (/user/queue/notifications, 사용자 레지스트리가 세션을 찾아줌)
+ * - 재접속: 구독하는 순간 안 읽은 알림을 그 구독 하나에만 다시 보냄 (오래된 것부터)
+ * 화면이 알림 목록을 주기적으로 다시 불러올 필요가 없습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationPushService {
+
+    public static final String QUEUE = "/queue/notifications";
+    public static final String USER_DESTINATION = "/user" + QUEUE;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final StompSessionSender sessionSender;
+    private final NotificationRepository notificationRepository;
+
+    @Value("${notifications.replay-limit:100}")
+    private int replayLimit;
+
+    public void push(Long userId, Notification notification) {
+        messagingTemplate.convertAndSendToUser(String.valueOf(userId), QUEUE, notification);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (!USER_DESTINATION.equals(accessor.getDestination())) return;
+
+        Principal user = event.getUser();
+        if (!(user instanceof StompPrincipal principal)) return; // 로그인 안 한 세션
+
+        try {
+            List<Notification> unread = notificationRepository.findUnread(principal.userId(), Limit.of(replayLimit));
+            for (int i = unread.size() - 1; i >= 0; i--) {
+                sessionSender.send(accessor.getSessionId(), accessor.getSubscriptionId(), USER_DESTINATION, unread.get(i));
+            }
+        } catch (Exception e) {
+            log.error("❌ 안 읽은 알림 재전송 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.ssafy.robot_server.websocket;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 웹소켓 세션마다 QueuedWebSocketSession(크기 제한 송신 큐)을 씌웁니다.
+ * WebSocketConfig.configureWebSocketTransport에서 등록합니다.
+ * 어떤 주소를 버려도 되는 텔레메트리로 볼지는 websocket.outbound.droppable-destinations (접두어 목록)로 정합니다.
+ */
+@Slf4j
+@Component
+public class OutboundQueueDecoratorFactory implements WebSocketHandlerDecoratorFactory {
+
+    @Value("${websocket.outbound.telemetry-queue-limit:64}")
+    private int telemetryQueueLimit;
+
+    @Value("${websocket.outbound.control-queue-limit:1000}")
+    private int controlQueueLimit;
+
+    @Value("${websocket.outbound.sender-threads:0}")
+    private int senderThreads;
+
+    @Value("${websocket.outbound.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    @Value("${websocket.outbound.drain-batch:32}")
+    private int drainBatch;
+
+    @Value("${websocket.outbound.droppable-destinations:/sub/robot/status,/sub/robot/pose}")
+    private List<String> droppableDestinations;
+
+    private final Map<String, QueuedWebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong droppedMessages = new AtomicLong();
+    private final AtomicLong overflowCloses = new AtomicLong();
+    private ExecutorService sender;
+
+    @PostConstruct
+    public void start() {
+        int threads = senderThreads > 0 ? senderThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "ws-sender-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        log.info("📤 웹소켓 송신 큐: 텔레메트리 {}개(오래된 것 버림), 제어 {}개(초과 시 종료), 송신 스레드 {}, 전송 제한 {}ms, 배치 {}개",
+                telemetryQueueLimit, controlQueueLimit, threads, sendTimeoutMs, drainBatch);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                QueuedWebSocketSession queued = new QueuedWebSocketSession(session, OutboundQueueDecoratorFactory.this, sender);
+                sessions.put(session.getId(), queued);
+                super.afterConnectionEstablished(queued);
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                super.handleMessage(queued(session), message);
+            }
+
+            @Override
+            public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+                super.handleTransportError(queued(session), exception);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                QueuedWebSocketSession queued = sessions.remove(session.getId());
+                if (queued != null) queued.released();
+                super.afterConnectionClosed(queued != null ? queued : session, closeStatus);
+            }
+        };
+    }
+
+    // 연결 때 씌운 세션을 그대로 넘겨야 하위 핸들러가 같은 큐로 보냄
+    private WebSocketSession queued(WebSocketSession session) {
+        QueuedWebSocketSession queued = sessions.get(session.getId());
+        return queued != null ? queued : session;
+    }
+
+    boolean isDroppable(WebSocketMessage<?> message) {
+        String destination = QueuedWebSocketSession.destinationOf(message);
+        if (destination == null) return false;
+        for (String prefix : droppableDestinations) {
+            if (destination.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    int getTelemetryQueueLimit() {
+        return telemetryQueueLimit;
+    }
+
+    int getControlQueueLimit() {
+        return controlQueueLimit;
+    }
+
+    long getSendTimeoutMs() {
+        return sendTimeoutMs;
+    }
+
+    int getDrainBatch() {
+        return Math.max(1, drainBatch);
+    }
+
+    void recordDrop() {
+        droppedMessages.incrementAndGet();
+    }
+
+    void recordOverflowClose() {
+        overflowCloses.incrementAndGet();
+    }
+
+    // 모니터링용
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public long getDroppedMessages() {
+        return droppedMessages.get();
+    }
+
+    public long getOverflowCloses() {
+        return overflowCloses.get();
+    }
+}
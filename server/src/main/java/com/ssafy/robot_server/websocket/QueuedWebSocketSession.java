@@ -0,0 +1,140 @@
+package com.ssafy.robot_server.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 세션 하나의 송신 큐 (크기 제한).
+ * - 텔레메트리 레인: 가득 차면 가장 오래된 프레임을 버림 (최신 값만 의미 있음)
+ * - 제어 레인: 버리지 않음 (시그널링/명령/알림/CONNECTED 등). 한도를 넘으면 더 이상 못 따라오는 세션으로 보고 끊음
+ * sendMessage는 큐에 넣고 바로 리턴하고, 실제 전송은 공용 송신 스레드가 합니다. (제어 레인 먼저)
+ * 느린 탭 하나가 브로커/다른 세션의 전송 스레드를 붙잡지 않습니다.
+ * - 한 번 전송은 send-timeout-ms 안에 끝나야 함 (Tomcat 블로킹 전송 제한, 넘으면 세션 종료)
+ * - 한 번에 drain-batch개까지만 보내고 스레드를 돌려줌 (밀린 세션이 있어도 다른 세션이 차례대로 전송)
+ */
+@Slf4j
+class QueuedWebSocketSession extends WebSocketSessionDecorator {
+
+    // Tomcat: 블로킹 전송 시간 제한 (넘으면 IOException)
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final OutboundQueueDecoratorFactory owner;
+    private final Executor sender;
+    private final ArrayDeque<WebSocketMessage<?>> control = new ArrayDeque<>();
+    private final ArrayDeque<WebSocketMessage<?>> telemetry = new ArrayDeque<>();
+    // 이 세션의 drain 작업이 송신 스레드에 올라가 있는지 (세션당 동시에 하나만)
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    QueuedWebSocketSession(WebSocketSession delegate, OutboundQueueDecoratorFactory owner, Executor sender) {
+        super(delegate);
+        this.owner = owner;
+        this.sender = sender;
+        if (WebSocketSessionDecorator.unwrap(delegate) instanceof NativeWebSocketSession nativeSession) {
+            jakarta.websocket.Session ws = nativeSession.getNativeSession(jakarta.websocket.Session.class);
+            if (ws != null) ws.getUserProperties().put(BLOCKING_SEND_TIMEOUT, owner.getSendTimeoutMs());
+        }
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        if (closed) return;
+        boolean overflow = false;
+        synchronized (this) {
+            if (owner.isDroppable(message)) {
+                if (telemetry.size() >= owner.getTelemetryQueueLimit()) {
+                    telemetry.pollFirst();
+                    owner.recordDrop();
+                }
+                telemetry.addLast(message);
+            } else if (control.size() >= owner.getControlQueueLimit()) {
+                overflow = true;
+            } else {
+                control.addLast(message);
+            }
+        }
+        if (overflow) {
+            log.warn("⚠️ 송신 큐 초과로 웹소켓 세션 종료: {}", getId());
+            owner.recordOverflowClose();
+            closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+            return;
+        }
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        int sent = 0;
+        try {
+            while (!closed && sent < owner.getDrainBatch()) {
+                WebSocketMessage<?> next;
+                synchronized (this) {
+                    next = control.pollFirst();
+                    if (next == null) next = telemetry.pollFirst();
+                }
+                if (next == null) break;
+                getDelegate().sendMessage(next);
+                sent++;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("웹소켓 전송 실패 ({}): {}", getId(), e.getMessage());
+            closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            draining.set(false);
+        }
+        // 남은 메시지(배치 한도) 또는 drain을 끝내는 사이에 들어온 메시지가 있으면 큐 뒤로 다시 예약
+        if (!closed && hasPending() && draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private synchronized boolean hasPending() {
+        return !control.isEmpty() || !telemetry.isEmpty();
+    }
+
+    void released() {
+        closed = true;
+        synchronized (this) {
+            control.clear();
+            telemetry.clear();
+        }
+    }
+
+    private void closeQuietly(CloseStatus status) {
+        released();
+        try {
+            getDelegate().close(status);
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        released();
+        super.close(status);
+    }
+
+    // STOMP MESSAGE 프레임의 destination 헤더 (다른 프레임/바이너리는 null)
+    static String destinationOf(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage text)) return null;
+        String frame = text.getPayload();
+        if (!frame.startsWith("MESSAGE\n")) return null;
+        int headersEnd = frame.indexOf("\n\n");
+        int at = frame.indexOf("\ndestination:");
+        if (at < 0 || (headersEnd >= 0 && at > headersEnd)) return null;
+        int start = at + "\ndestination:".length();
+        int end = frame.indexOf('\n', start);
+        return end < 0 ? frame.substring(start) : frame.substring(start, end);
+    }
+}
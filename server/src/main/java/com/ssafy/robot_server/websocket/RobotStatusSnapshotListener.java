@@ -0,0 +1,33 @@
+package com.ssafy.robot_server.websocket;
+
+import com.ssafy.robot_server.domain.RobotStatus;
+import com.ssafy.robot_server.service.RobotStateCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+/**
+ * 대시보드가 /sub/robot/status 를 구독하는 즉시, 캐시에 있는 로봇별 최신 상태를 그 구독자에게만 보내줍니다.
+ * 다음 상태 메시지를 기다릴 필요가 없고, 새로고침/재접속이 몰려도 DB 조회는 0번입니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RobotStatusSnapshotListener {
+
+    public static final String STATUS_DESTINATION = "/sub/robot/status";
+
+    private final RobotStateCache robotStateCache;
+    private final StompSessionSender sessionSender;
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (!STATUS_DESTINATION.equals(accessor.getDestination())) return;
+
+        for (RobotStatus status : robotStateCache.all()) {
+            sessionSender.send(accessor.getSessionId(), accessor.getSubscriptionId(), STATUS_DESTINATION, status);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.ssafy.robot_server.websocket;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.broker.AbstractSubscriptionRegistry;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 심플 브로커용 구독 저장소 (DefaultSubscriptionRegistry 대체).
+ * - 주소 해시로 샤드를 나누고, 주소마다 "세션ID → 구독ID 목록" 스냅샷을 미리 만들어 둡니다. (copy-on-write)
+ * - 메시지 전송 때는 스냅샷을 그대로 돌려주므로 구독자 수와 무관하게 조회 비용/할당이 없습니다.
+ * - 구독/해지는 해당 샤드만 잠그고 그 주소의 스냅샷만 다시 만듭니다. (다른 주소 전송은 영향 없음)
+ * - 와일드카드(*, **) 구독은 드물어서 별도 목록에서 패턴 매칭합니다.
+ * selector 헤더 필터링은 지원하지 않습니다. (이 프로젝트는 사용하지 않음)
+ */
+public class ShardedSubscriptionRegistry extends AbstractSubscriptionRegistry {
+
+    private static final MultiValueMap<String, String> EMPTY = CollectionUtils.unmodifiableMultiValueMap(new LinkedMultiValueMap<>());
+
+    private final Shard[] shards;
+    // 세션ID → (구독ID → 주소): 해지/연결 종료 때 어느 주소에서 빼야 하는지
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+    private final List<PatternSubscription> patterns = new CopyOnWriteArrayList<>();
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    public ShardedSubscriptionRegistry(int shardCount) {
+        this.shards = new Shard[Math.max(1, shardCount)];
+        for (int i = 0; i < shards.length; i++) shards[i] = new Shard();
+    }
+
+    @Override
+    protected void addSubscriptionInternal(String sessionId, String subscriptionId, String destination, Message<?> message) {
+        sessions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>()).put(subscriptionId, destination);
+        if (pathMatcher.isPattern(destination)) {
+            patterns.add(new PatternSubscription(sessionId, subscriptionId, destination));
+            return;
+        }
+        shard(destination).add(destination, sessionId, subscriptionId);
+    }
+
+    @Override
+    protected void removeSubscriptionInternal(String sessionId, String subscriptionId, Message<?> message) {
+        Map<String, String> subs = sessions.get(sessionId);
+        if (subs == null) return;
+        String destination = subs.remove(subscriptionId);
+        if (destination != null) remove(sessionId, subscriptionId, destination);
+    }
+
+    @Override
+    public void unregisterAllSubscriptions(String sessionId) {
+        Map<String, String> subs = sessions.remove(sessionId);
+        if (subs == null) return;
+        subs.forEach((subscriptionId, destination) -> remove(sessionId, subscriptionId, destination));
+    }
+
+    @Override
+    protected MultiValueMap<String, String> findSubscriptionsInternal(String destination, Message<?> message) {
+        MultiValueMap<String, String> exact = shard(destination).snapshot(destination);
+        if (patterns.isEmpty()) return exact;
+
+        // 패턴 구독이 있을 때만 합침
+        MultiValueMap<String, String> merged = null;
+        for (PatternSubscription p : patterns) {
+            if (!pathMatcher.match(p.pattern(), destination)) continue;
+            if (merged == null) merged = new LinkedMultiValueMap<>(exact);
+            merged.add(p.sessionId(), p.subscriptionId());
+        }
+        return merged != null ? merged : exact;
+    }
+
+    private void remove(String sessionId, String subscriptionId, String destination) {
+        if (pathMatcher.isPattern(destination)) {
+            patterns.removeIf(p -> p.sessionId().equals(sessionId) && p.subscriptionId().equals(subscriptionId));
+            return;
+        }
+        shard(destination).remove(destination, sessionId, subscriptionId);
+    }
+
+    // 모니터링용: 전체 구독 수 (패턴 구독 포함)
+    public int getSubscriptionCount() {
+        int count = 0;
+        for (Map<String, String> subs : sessions.values()) count += subs.size();
+        return count;
+    }
+
+    private Shard shard(String destination) {
+        return shards[Math.floorMod(destination.hashCode(), shards.length)];
+    }
+
+    private static final class Shard {
+        // 주소 → 세션ID → 구독ID 목록 (수정용 원본, 샤드 잠금 안에서만 접근)
+        private final Map<String, Map<String, List<String>>> subscriptions = new LinkedHashMap<>();
+        // 주소 → 읽기 전용 스냅샷 (전송 스레드는 잠금 없이 읽음)
+        private final Map<String, MultiValueMap<String, String>> snapshots = new ConcurrentHashMap<>();
+
+        MultiValueMap<String, String> snapshot(String destination) {
+            return snapshots.getOrDefault(destination, EMPTY);
+        }
+
+        synchronized void add(String destination, String sessionId, String subscriptionId) {
+            subscriptions.computeIfAbsent(destination, d -> new LinkedHashMap<>())
+                    .computeIfAbsent(sessionId, s -> new ArrayList<>(1))
+                    .add(subscriptionId);
+            rebuild(destination);
+        }
+
+        synchronized void remove(String destination, String sessionId, String subscriptionId) {
+            Map<String, List<String>> bySession = subscriptions.get(destination);
+            if (bySession == null) return;
+            List<String> ids = bySession.get(sessionId);
+            if (ids != null) {
+                ids.remove(subscriptionId);
+                if (ids.isEmpty()) bySession.remove(sessionId);
+            }
+            if (bySession.isEmpty()) subscriptions.remove(destination);
+            rebuild(destination);
+        }
+
+        private void rebuild(String destination) {
+            Map<String, List<String>> bySession = subscriptions.get(destination);
+            if (bySession == null) {
+                snapshots.remove(destination);
+                return;
+            }
+            LinkedMultiValueMap<String, String> copy = new LinkedMultiValueMap<>(bySession.size());
+            bySession.forEach((sessionId, ids) -> copy.put(sessionId, List.copyOf(ids)));
+            snapshots.put(destination, CollectionUtils.unmodifiableMultiValueMap(copy));
+        }
+    }
+
+    private record PatternSubscription(String sessionId, String subscriptionId, String pattern) {
+    }
+}
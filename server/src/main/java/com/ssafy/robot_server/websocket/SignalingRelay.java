@@ -0,0 +1,315 @@
+package com.ssafy.robot_server.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ssafy.robot_server.mqtt.MqttGateway;
+import com.ssafy.robot_server.mqtt.RobotTopics;
+import com.ssafy.robot_server.repository.RobotOwnerRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebRTC 시그널링 중계 (시청자-로봇 쌍마다 세션 하나).
+ * - 시청자가 /sub/peer/session 을 구독하면 (헤더 robotId) 세션을 만들고 로봇에게 peer/request 로 offer를 요청
+ *   로그인한 사용자가 그 로봇의 주인(robot_owners)일 때만. 아니면 세션 없이 bye만 보냄 (영상 중계 시청과 같은 규칙)
+ * - 로봇 → 서버 (peer/offer, peer/candidate, peer/bye): 그 세션의 시청자 구독 하나에만 보냄 (다른 화면에는 가지 않음)
+ * - 서버 → 로봇 (peer/request, peer/answer, peer/candidates, peer/close): 그 로봇 토픽으로만 (메시지에 session 포함)
+ *   방향마다 토픽 이름이 달라서, /robot/# 구독으로 되돌아온 서버 자신의 메시지는 무시됩니다.
+ * - trickle ICE candidate는 방향별로 candidate-batch-ms 동안 모아서 한 메시지({type:"candidates"})로
+ * 시그널링 메시지 수는 (시청자 수)²이 아니라 활성 세션 수에 비례합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SignalingRelay {
+
+    public static final String SESSION_DESTINATION = "/sub/peer/session";
+    public static final String ROBOT_HEADER = "robotId";
+    private static final Set<String> ROBOT_KINDS = Set.of("offer", "candidate", "bye");
+
+    private final StompSessionSender sessionSender;
+    private final MqttGateway mqttGateway;
+    private final ObjectMapper objectMapper;
+    private final RobotOwnerRepository robotOwnerRepository;
+
+    @Value("${webrtc.signaling.candidate-batch-ms:40}")
+    private long candidateBatchMs;
+
+    @Value("${webrtc.signaling.offer-timeout-ms:15000}")
+    private long offerTimeoutMs;
+
+    @Value("${webrtc.signaling.qos:1}")
+    private int qos;
+
+    // 세션 ID → 세션
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong toViewerMessages = new AtomicLong();
+    private final AtomicLong toRobotMessages = new AtomicLong();
+    private final AtomicLong batchedCandidates = new AtomicLong();
+    private final AtomicLong deniedSubscriptions = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "signaling-batch");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    // 1. 시청자 입장: 구독 = 세션 시작 (같은 화면이 같은 로봇을 다시 구독하면 이전 세션은 닫음)
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (!SESSION_DESTINATION.equals(accessor.getDestination())) return;
+
+        String robotId = accessor.getFirstNativeHeader(ROBOT_HEADER);
+        if (!StringUtils.hasText(robotId)) robotId = RobotTopics.DEFAULT_ROBOT_ID;
+        String viewerSessionId = accessor.getSessionId();
+        if (!(event.getUser() instanceof StompPrincipal principal)
+                || !robotOwnerRepository.existsByRobotIdAndUserId(robotId, principal.userId())) {
+            // 로그인 안 했거나 내 로봇이 아님 → 로봇에게 요청하지 않고 bye
+            deniedSubscriptions.incrementAndGet();
+            deny(viewerSessionId, accessor.getSubscriptionId(), robotId);
+            log.warn("🚫 시그널링 구독 거부: 로봇 {} (세션 {})", robotId, viewerSessionId);
+            return;
+        }
+        for (Session old : sessions.values()) {
+            if (old.viewerSessionId.equals(viewerSessionId) && old.robotId.equals(robotId)) close(old, true, false);
+        }
+
+        Session session = new Session(UUID.randomUUID().toString(), robotId, viewerSessionId, accessor.getSubscriptionId());
+        sessions.put(session.id, session);
+        sendToViewer(session, message("session", session));
+        sendToRobot(session, "peer/request", message("request", session));
+        log.info("📹 시그널링 세션 시작: {} (로봇 {})", session.id, robotId);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        for (Session s : sessions.values()) {
+            if (s.viewerSessionId.equals(accessor.getSessionId()) && s.subscriptionId.equals(accessor.getSubscriptionId())) {
+                close(s, true, false);
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        for (Session s : sessions.values()) {
+            if (s.viewerSessionId.equals(event.getSessionId())) close(s, true, false);
+        }
+    }
+
+    // 2. 로봇 → 시청자 (kind: offer, candidate, bye). 서버가 보낸 종류(request/answer/candidates/close)는 무시
+    public void fromRobot(String robotId, String kind, JsonNode json) {
+        if (!ROBOT_KINDS.contains(kind)) return;
+        Session session = session(json);
+        if (session == null || !session.robotId.equals(robotId)) {
+            log.debug("시그널링 세션 없음 (로봇 {}, {})", robotId, kind);
+            return;
+        }
+        switch (kind) {
+            case "offer" -> {
+                if (!(json instanceof ObjectNode offer)) return;
+                session.offered = true;
+                offer.put("type", "offer");
+                offer.put(ROBOT_HEADER, robotId); // 어느 로봇의 영상인지 표시
+                sendToViewer(session, offer);
+                log.info("📹 WebRTC Offer 전달 (로봇 {} -> 세션 {})", robotId, session.id);
+            }
+            case "candidate" -> {
+                // {"candidate": {...}} 하나 또는 {"candidates": [...]} 여러 개
+                if (json.has("candidates")) json.get("candidates").forEach(session.toViewer::add);
+                else session.toViewer.add(json.get("candidate"));
+            }
+            default -> close(session, false, true); // bye
+        }
+    }
+
+    // 3. 시청자 → 로봇 (kind: answer, candidate, bye). 자기 세션이 아니면 무시
+    public void fromViewer(String viewerSessionId, String kind, JsonNode json) {
+        Session session = session(json);
+        if (session == null || !session.viewerSessionId.equals(viewerSessionId)) return;
+        switch (kind) {
+            case "answer" -> {
+                sendToRobot(session, "peer/answer", json);
+                log.info("📹 WebRTC Answer 전달 (세션 {} -> 로봇 {})", session.id, session.robotId);
+            }
+            case "candidate" -> session.toRobot.add(json.get("candidate"));
+            case "bye" -> close(session, true, false);
+            default -> log.debug("알 수 없는 시그널링 종류: {}", kind);
+        }
+    }
+
+    // 로봇이 offer를 보내지 않는 세션 정리 (로봇 꺼짐 등) → 화면에 bye
+    @Scheduled(fixedDelayString = "${webrtc.signaling.sweep-interval-ms:5000}")
+    public void sweep() {
+        long deadline = System.currentTimeMillis() - offerTimeoutMs;
+        for (Session s : sessions.values()) {
+            if (!s.offered && s.createdAt < deadline) {
+                log.warn("⚠️ 로봇 {} offer 응답 없음, 세션 {} 종료", s.robotId, s.id);
+                close(s, true, true);
+            }
+        }
+    }
+
+    // 모니터링용
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public long getToViewerMessages() {
+        return toViewerMessages.get();
+    }
+
+    public long getToRobotMessages() {
+        return toRobotMessages.get();
+    }
+
+    public long getBatchedCandidates() {
+        return batchedCandidates.get();
+    }
+
+    public long getDeniedSubscriptions() {
+        return deniedSubscriptions.get();
+    }
+
+    private Session session(JsonNode json) {
+        if (json == null || !json.hasNonNull("session")) return null;
+        return sessions.get(json.get("session").asText());
+    }
+
+    private void close(Session session, boolean notifyRobot, boolean notifyViewer) {
+        if (!sessions.remove(session.id, session)) return;
+        if (notifyRobot) sendToRobot(session, "peer/close", message("close", session));
+        if (notifyViewer) sendToViewer(session, message("bye", session));
+        log.info("📹 시그널링 세션 종료: {}", session.id);
+    }
+
+    private ObjectNode message(String type, Session session) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("type", type);
+        node.put("session", session.id);
+        node.put(ROBOT_HEADER, session.robotId);
+        return node;
+    }
+
+    private void sendToViewer(Session session, JsonNode json) {
+        try {
+            sessionSender.sendJson(session.viewerSessionId, session.subscriptionId, SESSION_DESTINATION,
+                    objectMapper.writeValueAsBytes(json));
+            toViewerMessages.incrementAndGet();
+        } catch (Exception e) {
+            log.error("❌ 시그널링 전송 실패 (세션 {} -> 화면): {}", session.id, e.getMessage());
+        }
+    }
+
+    private void deny(String viewerSessionId, String subscriptionId, String robotId) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("type", "bye");
+        node.put(ROBOT_HEADER, robotId);
+        node.put("reason", "forbidden");
+        try {
+            sessionSender.sendJson(viewerSessionId, subscriptionId, SESSION_DESTINATION, objectMapper.writeValueAsBytes(node));
+        } catch (Exception e) {
+            log.error("❌ 시그널링 거부 전송 실패 (화면 {}): {}", viewerSessionId, e.getMessage());
+        }
+    }
+
+    private void sendToRobot(Session session, String kind, JsonNode json) {
+        try {
+            mqttGateway.sendToMqtt(objectMapper.writeValueAsString(json), RobotTopics.of(session.robotId, kind), qos);
+            toRobotMessages.incrementAndGet();
+        } catch (Exception e) {
+            log.error("❌ 시그널링 전송 실패 (세션 {} -> 로봇): {}", session.id, e.getMessage());
+        }
+    }
+
+    private final class Session {
+        final String id;
+        final String robotId;
+        final String viewerSessionId;
+        final String subscriptionId;
+        final long createdAt = System.currentTimeMillis();
+        volatile boolean offered;
+        final CandidateBatch toViewer = new CandidateBatch(this, true);
+        final CandidateBatch toRobot = new CandidateBatch(this, false);
+
+        Session(String id, String robotId, String viewerSessionId, String subscriptionId) {
+            this.id = id;
+            this.robotId = robotId;
+            this.viewerSessionId = viewerSessionId;
+            this.subscriptionId = subscriptionId;
+        }
+    }
+
+    // 한 방향의 candidate 모음: 첫 candidate가 들어오면 창(candidate-batch-ms)을 열고, 닫힐 때 한 번에 보냄
+    private final class CandidateBatch {
+        private final Session session;
+        private final boolean toViewer;
+        private List<JsonNode> pending = new ArrayList<>();
+        private boolean scheduled;
+
+        CandidateBatch(Session session, boolean toViewer) {
+            this.session = session;
+            this.toViewer = toViewer;
+        }
+
+        void add(JsonNode candidate) {
+            if (candidate == null || candidate.isNull()) return;
+            synchronized (this) {
+                pending.add(candidate);
+                if (scheduled) return;
+                scheduled = true;
+            }
+            scheduler.schedule(this::flush, candidateBatchMs, TimeUnit.MILLISECONDS);
+        }
+
+        void flush() {
+            List<JsonNode> batch;
+            synchronized (this) {
+                batch = pending;
+                pending = new ArrayList<>();
+                scheduled = false;
+            }
+            if (batch.isEmpty() || sessions.get(session.id) != session) return; // 그새 닫힌 세션
+
+            ObjectNode message = message("candidates", session);
+            message.putArray("candidates").addAll(batch);
+            if (toViewer) sendToViewer(session, message);
+            else sendToRobot(session, "peer/candidates", message);
+            batchedCandidates.addAndGet(batch.size());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ssafy.robot_server.websocket;
+
+import com.ssafy.robot_server.security.AuthenticatedUserCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * STOMP CONNECT 프레임의 Authorization 헤더(JWT)로 세션 사용자를 정합니다.
+ * 토큰이 없거나 잘못돼도 연결은 허용합니다. (로봇 상태 구독 등은 기존처럼 익명으로 동작, /user 알림만 못 받음)
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String BEARER = "Bearer ";
+
+    private final AuthenticatedUserCache authenticatedUserCache;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) return message;
+
+        String header = accessor.getFirstNativeHeader(AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER)) return message;
+
+        // 연결할 때 한 번만 확인 (이후 메시지는 세션에 붙은 사용자 사용)
+        AuthenticatedUserCache.CachedUser user = authenticatedUserCache.resolve(header.substring(BEARER.length()));
+        if (user != null) accessor.setUser(new StompPrincipal(String.valueOf(user.userId())));
+        return message;
+    }
+}
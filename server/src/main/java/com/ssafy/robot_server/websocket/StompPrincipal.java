@@ -0,0 +1,19 @@
+package com.ssafy.robot_server.websocket;
+
+import java.security.Principal;
+
+/**
+ * 웹소켓 세션의 사용자 (name = userId 문자열).
+ * convertAndSendToUser(userId, ...)가 이 이름으로 세션을 찾습니다.
+ */
+public record StompPrincipal(String name) implements Principal {
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public Long userId() {
+        return Long.valueOf(name);
+    }
+}
@@ -0,0 +1,53 @@
+package com.ssafy.robot_server.websocket;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * 브로커를 거치지 않고 특정 세션의 특정 구독 하나에만 메시지를 보냅니다.
+ * (SimpMessagingTemplate.convertAndSend는 해당 주소의 모든 구독자에게 방송되기 때문)
+ */
+@Component
+public class StompSessionSender {
+
+    private final MessageChannel clientOutboundChannel;
+    private final MessageConverter messageConverter;
+
+    public StompSessionSender(@Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                              @Qualifier("brokerMessageConverter") MessageConverter messageConverter) {
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.messageConverter = messageConverter;
+    }
+
+    public void send(String sessionId, String subscriptionId, String destination, Object payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        accessor.setLeaveMutable(true);
+
+        // 브로커와 같은 컨버터로 JSON 변환 (화면에서 받는 형식 동일)
+        Message<?> message = messageConverter.toMessage(payload, accessor.getMessageHeaders());
+        if (message != null) {
+            clientOutboundChannel.send(message);
+        }
+    }
+
+    // 이미 JSON으로 직렬화된 바이트를 그대로 전송 (여러 구독자에게 같은 바이트 재사용)
+    public void sendJson(String sessionId, String subscriptionId, String destination, byte[] json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        clientOutboundChannel.send(MessageBuilder.createMessage(json, accessor.getMessageHeaders()));
+    }
+}
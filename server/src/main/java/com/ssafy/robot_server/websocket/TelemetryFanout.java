@@ -0,0 +1,193 @@
+package com.ssafy.robot_server.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.robot_server.service.PipelineMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 텔레메트리 웹소켓 전송 병합기 (latest-wins).
+ * 로봇이 몇 Hz로 보내든 (로봇, 주소)별 최신 값 하나만 들고 있다가,
+ * 구독자가 고른 주기(STOMP SUBSCRIBE 헤더 "rate": 2/5/10/30 Hz)마다 바뀐 값만 보냅니다.
+ * 중간 프레임은 큐에 쌓지 않고 버리므로, 느린 모바일/백그라운드 탭도 송신량이 일정하게 제한됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TelemetryFanout {
+
+    // 병합 대상 주소 (나머지 주소는 기존처럼 브로커로 바로 방송)
+    public static final Set<String> COALESCED_DESTINATIONS = Set.of("/sub/robot/status");
+
+    public static final String RATE_HEADER = "rate";
+    private static final int[] RATES_HZ = {2, 5, 10, 30};
+    private static final int DEFAULT_RATE_HZ = 10;
+
+    private final StompSessionSender sessionSender;
+    private final ObjectMapper objectMapper;
+    private final PipelineMetrics pipelineMetrics;
+
+    // 주소 -> 로봇ID -> 최신 프레임
+    private final Map<String, Map<String, Slot>> slots = new ConcurrentHashMap<>();
+    private final AtomicLong versionSeq = new AtomicLong();
+    private final Tier[] tiers = new Tier[RATES_HZ.length];
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "telemetry-fanout");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < RATES_HZ.length; i++) {
+            Tier tier = new Tier(i);
+            tiers[i] = tier;
+            long periodMicros = 1_000_000L / RATES_HZ[i];
+            scheduler.scheduleAtFixedRate(() -> tick(tier), periodMicros, periodMicros, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    // MQTT/STOMP 수신 스레드에서 호출: 최신 값만 교체하고 바로 리턴 (직렬화/전송은 tick에서)
+    public void publish(String destination, String robotId, Object payload) {
+        Slot slot = slots.computeIfAbsent(destination, d -> new ConcurrentHashMap<>())
+                .computeIfAbsent(robotId, id -> new Slot());
+        slot.frame = new Frame(versionSeq.incrementAndGet(), payload);
+    }
+
+    // 구독자 등록 (rate 헤더로 주기 선택)
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (destination == null || !COALESCED_DESTINATIONS.contains(destination)) return;
+
+        Tier tier = tiers[tierIndex(accessor.getFirstNativeHeader(RATE_HEADER))];
+        Subscriber sub = new Subscriber(accessor.getSessionId(), accessor.getSubscriptionId(), destination);
+        tier.subscribers.computeIfAbsent(destination, d -> new ConcurrentHashMap<>()).put(sub.key(), sub);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String key = accessor.getSessionId() + ":" + accessor.getSubscriptionId();
+        for (Tier tier : tiers) {
+            for (Map<String, Subscriber> subs : tier.subscribers.values()) subs.remove(key);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        String sessionId = event.getSessionId();
+        for (Tier tier : tiers) {
+            for (Map<String, Subscriber> subs : tier.subscribers.values()) {
+                subs.values().removeIf(s -> s.sessionId().equals(sessionId));
+            }
+        }
+    }
+
+    private void tick(Tier tier) {
+        try {
+            for (Map.Entry<String, Map<String, Subscriber>> e : tier.subscribers.entrySet()) {
+                Map<String, Subscriber> subs = e.getValue();
+                Map<String, Slot> bySlot = slots.get(e.getKey());
+                if (subs.isEmpty() || bySlot == null) continue;
+
+                for (Slot slot : bySlot.values()) {
+                    Frame frame = slot.frame;
+                    if (frame == null || frame.version <= slot.lastSent[tier.index]) continue;
+                    slot.lastSent[tier.index] = frame.version;
+                    pipelineMetrics.recordBroadcast(System.nanoTime() - frame.createdNanos);
+
+                    byte[] json = frame.json(objectMapper); // 구독자 수와 무관하게 한 번만 직렬화
+                    for (Subscriber sub : subs.values()) {
+                        sessionSender.sendJson(sub.sessionId(), sub.subscriptionId(), sub.destination(), json);
+                    }
+                }
+            }
+        } catch (Exception ex) {
+            log.error("❌ 텔레메트리 전송 실패: {}", ex.getMessage());
+        }
+    }
+
+    private static int tierIndex(String rateHeader) {
+        int hz = DEFAULT_RATE_HZ;
+        if (rateHeader != null) {
+            try {
+                hz = Integer.parseInt(rateHeader.trim());
+            } catch (NumberFormatException ignored) {
+                // 잘못된 값이면 기본 주기
+            }
+        }
+        // 요청한 값 이하 중 가장 가까운 단계 (최소 2Hz)
+        int index = 0;
+        for (int i = 0; i < RATES_HZ.length; i++) {
+            if (RATES_HZ[i] <= hz) index = i;
+        }
+        return index;
+    }
+
+    private static final class Tier {
+        final int index;
+        // 주소 -> (세션ID:구독ID -> 구독자)
+        final Map<String, Map<String, Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+        Tier(int index) {
+            this.index = index;
+        }
+    }
+
+    private static final class Slot {
+        volatile Frame frame;
+        // 주기별 마지막 전송 버전 (스케줄러 스레드 하나만 읽고 씀)
+        final long[] lastSent = new long[RATES_HZ.length];
+    }
+
+    private static final class Frame {
+        final long version;
+        final Object payload;
+        final long createdNanos = System.nanoTime();
+        private volatile byte[] json;
+
+        Frame(long version, Object payload) {
+            this.version = version;
+            this.payload = payload;
+        }
+
+        byte[] json(ObjectMapper mapper) throws Exception {
+            byte[] bytes = json;
+            if (bytes == null) {
+                bytes = mapper.writeValueAsBytes(payload);
+                json = bytes;
+            }
+            return bytes;
+        }
+    }
+
+    private record Subscriber(String sessionId, String subscriptionId, String destination) {
+        String key() {
+            return sessionId + ":" + subscriptionId;
+        }
+    }
+}
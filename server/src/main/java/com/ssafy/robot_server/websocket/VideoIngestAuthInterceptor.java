@@ -0,0 +1,59 @@
+package com.ssafy.robot_server.websocket;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/**
+ * 로봇 영상 업링크 인증 (/ws/video/ingest/{robotId}?token=...).
+ * video.relay.ingest-token 이 비어 있으면 업링크를 받지 않습니다. (설정 없이 아무나 카메라 영상을 바꿔치기하지 못하도록)
+ * 토큰 확인은 핸드셰이크에서 끝나므로 인증되지 않은 연결은 VideoRelay.attachRobot까지 오지 않습니다.
+ */
+@Slf4j
+@Component
+public class VideoIngestAuthInterceptor implements HandshakeInterceptor {
+
+    @Value("${video.relay.ingest-token:}")
+    private String ingestToken;
+
+    @PostConstruct
+    public void check() {
+        if (!StringUtils.hasText(ingestToken)) {
+            log.warn("⚠️ video.relay.ingest-token 이 없어 로봇 영상 업링크를 받지 않습니다.");
+        }
+    }
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        if (!StringUtils.hasText(ingestToken)) {
+            response.setStatusCode(HttpStatus.FORBIDDEN);
+            return false;
+        }
+        String token = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("token");
+        if (token == null || !MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+                ingestToken.getBytes(StandardCharsets.UTF_8))) {
+            log.warn("⚠️ 영상 업링크 토큰 불일치 ({})", request.getRemoteAddress());
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
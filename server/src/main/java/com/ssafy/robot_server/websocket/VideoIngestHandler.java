@@ -0,0 +1,77 @@
+package com.ssafy.robot_server.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 로봇 영상 업링크 (/ws/video/ingest/{robotId}).
+ * 바이너리 메시지 1개 = 프레임 1장. 큰 프레임은 컨테이너가 조각으로 나눠 주므로 마지막 조각까지 모아서 VideoRelay로 넘깁니다.
+ * 토큰 확인은 핸드셰이크에서 합니다. (VideoIngestAuthInterceptor)
+ */
+@Component
+@RequiredArgsConstructor
+public class VideoIngestHandler extends BinaryWebSocketHandler {
+
+    private static final String BUFFER = "videoFrameBuffer";
+
+    private final VideoRelay videoRelay;
+
+    @Value("${video.relay.max-frame-bytes:1048576}")
+    private int maxFrameBytes;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        session.getAttributes().put(BUFFER, new ByteArrayOutputStream());
+        videoRelay.attachRobot(VideoRelay.robotId(session), session);
+    }
+
+    @Override
+    public boolean supportsPartialMessages() {
+        return true;
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+        ByteArrayOutputStream buffer = (ByteArrayOutputStream) session.getAttributes().get(BUFFER);
+        if (buffer == null) return;
+        ByteBuffer payload = message.getPayload();
+
+        // 한 번에 온 프레임 (대부분): 중간 버퍼 없이 바로
+        if (message.isLast() && buffer.size() == 0) {
+            if (payload.remaining() > maxFrameBytes) {
+                session.close(CloseStatus.TOO_BIG_TO_PROCESS);
+                return;
+            }
+            byte[] frame = new byte[payload.remaining()];
+            payload.get(frame);
+            videoRelay.publish(VideoRelay.robotId(session), frame);
+            return;
+        }
+
+        if (buffer.size() + payload.remaining() > maxFrameBytes) {
+            buffer.reset();
+            session.close(CloseStatus.TOO_BIG_TO_PROCESS);
+            return;
+        }
+        byte[] chunk = new byte[payload.remaining()];
+        payload.get(chunk);
+        buffer.write(chunk);
+        if (message.isLast()) {
+            videoRelay.publish(VideoRelay.robotId(session), buffer.toByteArray());
+            buffer.reset();
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        videoRelay.detachRobot(VideoRelay.robotId(session), session);
+    }
+}
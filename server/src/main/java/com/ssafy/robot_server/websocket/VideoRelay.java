@@ -0,0 +1,254 @@
+package com.ssafy.robot_server.websocket;
+
+import com.ssafy.robot_server.mqtt.MqttGateway;
+import com.ssafy.robot_server.mqtt.RobotTopics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로봇 영상 중계 (로봇 업링크 1개 → 서버가 시청자 N명에게 복제).
+ * - 로봇은 /ws/video/ingest/{robotId} 로 프레임을 보냄 (바이너리 메시지 1개 = 프레임 1장, 예: MJPEG의 JPEG 한 장)
+ * - 시청자는 /ws/video/view/{robotId} 에서 같은 바이트를 그대로 받음 (서버는 디코딩/복사하지 않고 배열 하나를 공유)
+ * - 시청자마다 작은 큐(viewer-queue-frames): 가득 차면 가장 오래된 프레임을 버림
+ *   → 느린 시청자는 프레임 수만 줄고, 다른 시청자와 로봇 수신은 영향 없음
+ * - 시청자 수가 바뀌면 MQTT video/demand {"viewers": n} 로 알림 → 아무도 안 보면 로봇은 업링크를 쓰지 않음
+ * 프레임마다 따로 디코딩되는 형식(MJPEG)을 전제로 합니다. (중간 프레임을 버려도 화면이 깨지지 않음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VideoRelay {
+
+    // Tomcat: 블로킹 전송 시간 제한 (넘으면 IOException → 그 시청자만 정리)
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final MqttGateway mqttGateway;
+
+    @Value("${video.relay.viewer-queue-frames:3}")
+    private int viewerQueueFrames;
+
+    @Value("${video.relay.sender-threads:0}")
+    private int senderThreads;
+
+    @Value("${video.relay.send-timeout-ms:2000}")
+    private long sendTimeoutMs;
+
+    // 로봇 ID → 채널
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicLong framesIn = new AtomicLong();
+    private final AtomicLong bytesIn = new AtomicLong();
+    private final AtomicLong framesOut = new AtomicLong();
+    private final AtomicLong framesDropped = new AtomicLong();
+    private ExecutorService sender;
+
+    @PostConstruct
+    public void start() {
+        int threads = senderThreads > 0 ? senderThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "video-sender-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        log.info("🎥 영상 중계: 시청자별 큐 {}프레임(오래된 것 버림), 송신 스레드 {}", viewerQueueFrames, threads);
+    }
+
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+    }
+
+    // 경로 마지막 구간 = 로봇 ID (/ws/video/view/{robotId})
+    public static String robotId(WebSocketSession session) {
+        return robotId(session.getUri());
+    }
+
+    public static String robotId(URI uri) {
+        String path = uri != null ? uri.getPath() : null;
+        if (path == null) return RobotTopics.DEFAULT_ROBOT_ID;
+        String last = path.substring(path.lastIndexOf('/') + 1);
+        return last.isEmpty() ? RobotTopics.DEFAULT_ROBOT_ID : last;
+    }
+
+    // 1. 로봇 프레임 (수신 스레드에서 호출: 시청자 큐에 넣기만 하고 바로 리턴)
+    public void publish(String robotId, byte[] frame) {
+        Channel channel = channel(robotId);
+        channel.latest = frame;
+        framesIn.incrementAndGet();
+        bytesIn.addAndGet(frame.length);
+        for (Viewer viewer : channel.viewers.values()) viewer.offer(frame);
+    }
+
+    // 2. 로봇 업링크 연결 (같은 로봇이 다시 붙으면 이전 연결은 닫음)
+    // 핸드셰이크에서 업링크 토큰을 확인한 연결만 여기까지 옴 (VideoIngestAuthInterceptor)
+    public void attachRobot(String robotId, WebSocketSession session) {
+        Channel channel = channel(robotId);
+        WebSocketSession old = channel.robot;
+        channel.robot = session;
+        if (old != null && old.isOpen()) closeQuietly(old, CloseStatus.POLICY_VIOLATION.withReason("replaced"));
+        log.info("🎥 로봇 {} 영상 업링크 연결", robotId);
+    }
+
+    public void detachRobot(String robotId, WebSocketSession session) {
+        Channel channel = channels.get(robotId);
+        if (channel == null || channel.robot != session) return;
+        channel.robot = null;
+        channel.latest = null; // 끊긴 뒤의 오래된 화면은 새 시청자에게 보내지 않음
+        log.info("🎥 로봇 {} 영상 업링크 종료", robotId);
+    }
+
+    // 3. 시청자 입장/퇴장 (첫 화면은 최신 프레임으로 바로)
+    public void addViewer(String robotId, WebSocketSession session) {
+        if (session instanceof NativeWebSocketSession nativeSession) {
+            jakarta.websocket.Session ws = nativeSession.getNativeSession(jakarta.websocket.Session.class);
+            if (ws != null) ws.getUserProperties().put(BLOCKING_SEND_TIMEOUT, sendTimeoutMs);
+        }
+        Channel channel = channel(robotId);
+        Viewer viewer = new Viewer(session);
+        channel.viewers.put(session.getId(), viewer);
+        byte[] latest = channel.latest;
+        if (latest != null) viewer.offer(latest);
+        sendDemand(robotId, channel.viewers.size());
+    }
+
+    public void removeViewer(String robotId, WebSocketSession session) {
+        Channel channel = channels.get(robotId);
+        if (channel == null || channel.viewers.remove(session.getId()) == null) return;
+        sendDemand(robotId, channel.viewers.size());
+    }
+
+    // MQTT는 QoS 1이어도 로봇이 재접속하는 동안 놓칠 수 있어서, 보는 사람이 있으면 주기적으로 다시 알림
+    @Scheduled(fixedDelayString = "${video.relay.demand-interval-ms:10000}")
+    public void refreshDemand() {
+        channels.forEach((robotId, channel) -> {
+            int viewers = channel.viewers.size();
+            if (viewers > 0) sendDemand(robotId, viewers);
+        });
+    }
+
+    // 모니터링용
+    public int getViewerCount() {
+        int count = 0;
+        for (Channel channel : channels.values()) count += channel.viewers.size();
+        return count;
+    }
+
+    public int getViewerCount(String robotId) {
+        Channel channel = channels.get(robotId);
+        return channel == null ? 0 : channel.viewers.size();
+    }
+
+    public long getFramesIn() {
+        return framesIn.get();
+    }
+
+    public long getBytesIn() {
+        return bytesIn.get();
+    }
+
+    public long getFramesOut() {
+        return framesOut.get();
+    }
+
+    public long getFramesDropped() {
+        return framesDropped.get();
+    }
+
+    private Channel channel(String robotId) {
+        return channels.computeIfAbsent(robotId, id -> new Channel());
+    }
+
+    private void sendDemand(String robotId, int viewers) {
+        try {
+            mqttGateway.sendToMqtt("{\"viewers\":" + viewers + "}", RobotTopics.of(robotId, "video/demand"), 1);
+        } catch (Exception e) {
+            log.warn("⚠️ 로봇 {} 영상 요청 전송 실패: {}", robotId, e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(WebSocketSession session, CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (Exception ignored) {
+            // 이미 닫힘
+        }
+    }
+
+    private static final class Channel {
+        final Map<String, Viewer> viewers = new ConcurrentHashMap<>();
+        volatile WebSocketSession robot;
+        volatile byte[] latest;
+    }
+
+    // 시청자 한 명의 송신 큐 (한 번에 한 스레드만 보냄, 보내는 동안 들어온 프레임은 큐에서 오래된 것부터 버림)
+    private final class Viewer {
+        private final WebSocketSession session;
+        private final ArrayDeque<byte[]> frames;
+        private boolean draining;
+
+        Viewer(WebSocketSession session) {
+            this.session = session;
+            this.frames = new ArrayDeque<>(viewerQueueFrames);
+        }
+
+        void offer(byte[] frame) {
+            synchronized (this) {
+                if (frames.size() >= viewerQueueFrames) {
+                    frames.pollFirst();
+                    framesDropped.incrementAndGet();
+                }
+                frames.addLast(frame);
+                if (draining) return;
+                draining = true;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // 서버 종료 중
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                byte[] frame;
+                synchronized (this) {
+                    frame = frames.pollFirst();
+                    if (frame == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    session.sendMessage(new BinaryMessage(frame)); // 배열을 감싸기만 함 (복사 없음)
+                    framesOut.incrementAndGet();
+                } catch (Exception e) {
+                    // 전송 시간 초과/끊김: 더 보내지 않고(draining 유지) 닫음 → afterConnectionClosed에서 제거
+                    synchronized (this) {
+                        frames.clear();
+                    }
+                    closeQuietly(session, CloseStatus.SESSION_NOT_RELIABLE);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.ssafy.robot_server.websocket;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시험용 가짜 카메라 (video.relay.synthetic.robot-id 를 주면 켜짐).
+ * 로봇 없이 영상 중계를 확인하거나 부하 시험할 때 씁니다.
+ * 움직이는 공 JPEG를 시작할 때 미리 만들어 두고 fps마다 돌려가며 VideoRelay에 넣습니다. (실행 중 인코딩 비용 없음)
+ * 실제 로봇처럼 시청자가 있을 때만 보냅니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VideoSyntheticSource {
+
+    private final VideoRelay videoRelay;
+
+    @Value("${video.relay.synthetic.robot-id:}")
+    private String robotId;
+
+    @Value("${video.relay.synthetic.fps:15}")
+    private int fps;
+
+    @Value("${video.relay.synthetic.width:640}")
+    private int width;
+
+    @Value("${video.relay.synthetic.height:360}")
+    private int height;
+
+    private byte[][] frames;
+    private long tick;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!StringUtils.hasText(robotId)) return;
+
+        frames = new byte[Math.max(1, fps * 2)][]; // 2초 분량을 반복
+        for (int i = 0; i < frames.length; i++) frames[i] = render(i, frames.length);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "video-synthetic");
+            t.setDaemon(true);
+            return t;
+        });
+        long periodMicros = 1_000_000L / Math.max(1, fps);
+        scheduler.scheduleAtFixedRate(this::emit, periodMicros, periodMicros, TimeUnit.MICROSECONDS);
+        log.info("🧪 가짜 카메라 시작: 로봇 {} ({}x{}, {}fps, 프레임 약 {} KB)",
+                robotId, width, height, fps, frames[0].length / 1024);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) scheduler.shutdownNow();
+    }
+
+    private void emit() {
+        if (videoRelay.getViewerCount(robotId) == 0) return;
+        videoRelay.publish(robotId, frames[(int) (tick++ % frames.length)]);
+    }
+
+    private byte[] render(int index, int count) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, width, height);
+            double phase = 2 * Math.PI * index / count;
+            int r = Math.max(8, height / 12);
+            int x = (int) ((width - 2 * r) * (0.5 + 0.5 * Math.sin(phase)));
+            int y = (int) ((height - 2 * r) * (0.5 + 0.5 * Math.sin(2 * phase)));
+            g.setColor(Color.GREEN);
+            g.fillOval(x, y, 2 * r, 2 * r);
+            // 아래쪽 막대 = 프레임 번호 (글꼴이 없는 서버에서도 그려지도록 텍스트 대신 도형)
+            g.setColor(Color.WHITE);
+            g.fillRect(0, height - 6, width * (index + 1) / count, 6);
+        } finally {
+            g.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 * 1024);
+        ImageIO.write(image, "jpeg", out);
+        return out.toByteArray();
+    }
+}
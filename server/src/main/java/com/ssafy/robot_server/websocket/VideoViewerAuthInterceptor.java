@@ -0,0 +1,55 @@
+package com.ssafy.robot_server.websocket;
+
+import com.ssafy.robot_server.repository.RobotOwnerRepository;
+import com.ssafy.robot_server.security.AuthenticatedUserCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+/**
+ * 영상 시청 연결 인증 (/ws/video/view/{robotId}?access_token=JWT).
+ * 브라우저 WebSocket은 헤더를 못 붙이므로 클립 재생처럼 쿼리 토큰을 받고, 그 로봇의 주인만 연결을 허용합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VideoViewerAuthInterceptor implements HandshakeInterceptor {
+
+    public static final String USER_ID = "videoViewerUserId";
+
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final RobotOwnerRepository robotOwnerRepository;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String token = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("access_token");
+        AuthenticatedUserCache.CachedUser user = StringUtils.hasText(token) ? authenticatedUserCache.resolve(token) : null;
+        if (user == null) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        String robotId = VideoRelay.robotId(request.getURI());
+        if (!robotOwnerRepository.existsByRobotIdAndUserId(robotId, user.userId())) {
+            log.warn("⚠️ 로봇 {} 영상 시청 거부: 주인이 아닌 사용자 {}", robotId, user.userId());
+            response.setStatusCode(HttpStatus.FORBIDDEN);
+            return false;
+        }
+        attributes.put(USER_ID, user.userId());
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
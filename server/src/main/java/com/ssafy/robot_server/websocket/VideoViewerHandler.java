@@ -0,0 +1,28 @@
+package com.ssafy.robot_server.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+/**
+ * 영상 시청자 (/ws/video/view/{robotId}). 받기만 하는 연결이라 들어오는 메시지는 무시합니다.
+ * 프레임 전송은 VideoRelay의 시청자별 큐가 담당합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class VideoViewerHandler extends AbstractWebSocketHandler {
+
+    private final VideoRelay videoRelay;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        videoRelay.addViewer(VideoRelay.robotId(session), session);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        videoRelay.removeViewer(VideoRelay.robotId(session), session);
+    }
+}
@@ -0,0 +1,67 @@
+package com.ssafy.robot_server.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void roundTrips() {
+        for (LocalDateTime time : new LocalDateTime[]{
+                LocalDateTime.of(2024, 1, 1, 0, 0),
+                LocalDateTime.of(2024, 6, 30, 23, 59, 59),
+                LocalDateTime.of(2025, 3, 9, 12, 0, 1, 123_456_789)}) {
+            PageCursor cursor = PageCursor.decode(new PageCursor(time, 42L).encode());
+            assertThat(cursor.getTime()).isEqualTo(time);
+            assertThat(cursor.getId()).isEqualTo(42L);
+        }
+        assertThat(PageCursor.decode(new PageCursor(LocalDateTime.of(2024, 1, 1, 0, 0), Long.MAX_VALUE).encode()).getId())
+                .isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new PageCursor(LocalDateTime.of(2025, 3, 9, 12, 0, 1, 999_000_000), 123_456L).encode();
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsTamperedCursors() {
+        String valid = new PageCursor(LocalDateTime.of(2024, 1, 1, 0, 0), 7L).encode();
+        for (String cursor : new String[]{
+                "",
+                "not base64!",
+                valid + "!",
+                valid.substring(0, valid.length() - 3),
+                base64("2024-01-01T00:00"),          // 구분자 없음
+                base64("2024-01-01T00:00|"),         // id 없음
+                base64("2024-01-01T00:00|abc"),      // id가 숫자 아님
+                base64("2024-13-01T00:00|7"),        // 없는 날짜
+                base64("|7"),
+                base64("garbage")}) {
+            assertThatThrownBy(() -> PageCursor.decode(cursor))
+                    .as("cursor %s", cursor)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThatThrownBy(() -> PageCursor.decode(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void clampsLimit() {
+        assertThat(PageCursor.clampLimit(null)).isEqualTo(PageCursor.DEFAULT_LIMIT);
+        assertThat(PageCursor.clampLimit(0)).isEqualTo(1);
+        assertThat(PageCursor.clampLimit(-5)).isEqualTo(1);
+        assertThat(PageCursor.clampLimit(10)).isEqualTo(10);
+        assertThat(PageCursor.clampLimit(10_000)).isEqualTo(PageCursor.MAX_LIMIT);
+    }
+}
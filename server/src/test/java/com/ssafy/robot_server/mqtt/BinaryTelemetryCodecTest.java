@@ -0,0 +1,89 @@
+package com.ssafy.robot_server.mqtt;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class BinaryTelemetryCodecTest {
+
+    @Test
+    void roundTripsStatus() {
+        byte[] payload = BinaryTelemetryCodec.encodeStatus(87, 41.3, true, 12.5, -3.25, "patrol");
+        assertThat(payload).hasSize(15 + "patrol".length());
+        assertThat(BinaryTelemetryCodec.isBinary(payload)).isTrue();
+
+        TelemetryFrame frame = new TelemetryFrame();
+        assertThat(BinaryTelemetryCodec.decode(payload, frame)).isEqualTo(BinaryTelemetryCodec.TYPE_STATUS);
+        assertThat(frame.batteryLevel).isEqualTo(87);
+        assertThat(frame.temperature).isEqualTo(41.3); // 0.01도 단위 정수라 오차 없음
+        assertThat(frame.isCharging).isTrue();
+        assertThat(frame.x).isEqualTo(12.5);
+        assertThat(frame.y).isEqualTo(-3.25);
+        assertThat(frame.mode).isEqualTo("patrol");
+    }
+
+    @Test
+    void roundTripsPose() {
+        byte[] payload = BinaryTelemetryCodec.encodePose(1.1, 2.2);
+        assertThat(payload).hasSize(10);
+
+        TelemetryFrame frame = new TelemetryFrame();
+        assertThat(BinaryTelemetryCodec.decode(payload, frame)).isEqualTo(BinaryTelemetryCodec.TYPE_POSE);
+        assertThat(frame.x).isCloseTo(1.1, within(1e-6)); // f32
+        assertThat(frame.y).isCloseTo(2.2, within(1e-6));
+    }
+
+    @Test
+    void clampsOutOfRangeValues() {
+        TelemetryFrame frame = new TelemetryFrame();
+        BinaryTelemetryCodec.decode(BinaryTelemetryCodec.encodeStatus(300, 1000.0, false, 0, 0, null), frame);
+        assertThat(frame.batteryLevel).isEqualTo(255);
+        assertThat(frame.temperature).isEqualTo(Short.MAX_VALUE / 100.0);
+        assertThat(frame.mode).isEqualTo(TelemetryFrame.UNKNOWN_MODE);
+
+        BinaryTelemetryCodec.decode(BinaryTelemetryCodec.encodeStatus(-5, -1000.0, false, 0, 0, ""), frame);
+        assertThat(frame.batteryLevel).isZero();
+        assertThat(frame.temperature).isEqualTo(Short.MIN_VALUE / 100.0);
+    }
+
+    @Test
+    void reusesPreviousModeAndDecodesUtf8() {
+        TelemetryFrame frame = new TelemetryFrame();
+        BinaryTelemetryCodec.decode(BinaryTelemetryCodec.encodeStatus(50, 20, false, 0, 0, "patrol"), frame);
+        String first = frame.mode;
+        BinaryTelemetryCodec.decode(BinaryTelemetryCodec.encodeStatus(49, 20, false, 0, 0, "patrol"), frame);
+        assertThat(frame.mode).isSameAs(first);
+
+        BinaryTelemetryCodec.decode(BinaryTelemetryCodec.encodeStatus(49, 20, false, 0, 0, "순찰"), frame);
+        assertThat(frame.mode).isEqualTo("순찰");
+    }
+
+    @Test
+    void distinguishesJsonFromBinary() {
+        assertThat(BinaryTelemetryCodec.isBinary("{\"x\":1}".getBytes(StandardCharsets.UTF_8))).isFalse();
+        assertThat(BinaryTelemetryCodec.isBinary(" \n{}".getBytes(StandardCharsets.UTF_8))).isFalse();
+        assertThat(BinaryTelemetryCodec.isBinary("\n{}".getBytes(StandardCharsets.UTF_8))).isFalse();
+        assertThat(BinaryTelemetryCodec.isBinary(new byte[0])).isFalse();
+    }
+
+    @Test
+    void rejectsMalformedPayloads() {
+        TelemetryFrame frame = new TelemetryFrame();
+        assertThatThrownBy(() -> BinaryTelemetryCodec.decode(new byte[]{2, 1}, frame))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BinaryTelemetryCodec.decode(new byte[]{1, 9}, frame))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BinaryTelemetryCodec.decode(new byte[]{1, 2, 0, 0}, frame))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        byte[] status = BinaryTelemetryCodec.encodeStatus(50, 20, false, 0, 0, "patrol");
+        byte[] truncated = new byte[status.length - 1];
+        System.arraycopy(status, 0, truncated, 0, truncated.length);
+        assertThatThrownBy(() -> BinaryTelemetryCodec.decode(truncated, frame))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
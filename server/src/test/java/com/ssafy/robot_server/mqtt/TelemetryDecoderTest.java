@@ -0,0 +1,120 @@
+package com.ssafy.robot_server.mqtt;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TelemetryDecoderTest {
+
+    private static final String STATUS_FIELDS = "\"batteryLevel\":50,\"temperature\":20.5,\"isCharging\":false";
+
+    private static boolean status(String json, TelemetryFrame frame) throws IOException {
+        return TelemetryDecoder.decode(json.getBytes(StandardCharsets.UTF_8), frame, BinaryTelemetryCodec.TYPE_STATUS);
+    }
+
+    private static boolean pose(String json, TelemetryFrame frame) throws IOException {
+        return TelemetryDecoder.decode(json.getBytes(StandardCharsets.UTF_8), frame, BinaryTelemetryCodec.TYPE_POSE);
+    }
+
+    @Test
+    void decodesStatus() throws IOException {
+        TelemetryFrame frame = new TelemetryFrame();
+        assertThat(status("{\"batteryLevel\":87,\"temperature\":41.3,\"isCharging\":true,"
+                + "\"x\":12.5,\"y\":-3.25,\"mode\":\"patrol\"}", frame)).isTrue();
+        assertThat(frame.batteryLevel).isEqualTo(87);
+        assertThat(frame.temperature).isEqualTo(41.3);
+        assertThat(frame.isCharging).isTrue();
+        assertThat(frame.x).isEqualTo(12.5);
+        assertThat(frame.y).isEqualTo(-3.25);
+        assertThat(frame.mode).isEqualTo("patrol");
+    }
+
+    @Test
+    void statusPositionAndModeAreOptional() throws IOException {
+        TelemetryFrame frame = new TelemetryFrame();
+        assertThat(status("{" + STATUS_FIELDS + "}", frame)).isTrue();
+        assertThat(frame.x).isZero();
+        assertThat(frame.y).isZero();
+        assertThat(frame.mode).isEqualTo(TelemetryFrame.UNKNOWN_MODE);
+    }
+
+    @Test
+    void decodesPose() throws IOException {
+        TelemetryFrame frame = new TelemetryFrame();
+        assertThat(pose("{\"x\":1.5,\"y\":\"-2\"}", frame)).isTrue();
+        assertThat(frame.x).isEqualTo(1.5);
+        assertThat(frame.y).isEqualTo(-2.0);
+    }
+
+    @Test
+    void rejectsMissingRequiredFields() throws IOException {
+        TelemetryFrame frame = new TelemetryFrame();
+        assertThat(status("{}", frame)).isFalse();
+        assertThat(status("{\"temperature\":20.5,\"isCharging\":false,\"x\":1,\"y\":2}", frame)).isFalse();
+        assertThat(status("{\"batteryLevel\":50,\"isCharging\":false}", frame)).isFalse();
+        assertThat(status("{\"batteryLevel\":50,\"temperature\":20.5}", frame)).isFalse();
+
+        assertThat(pose("{}", frame)).isFalse();
+        assertThat(pose("{\"x\":1}", frame)).isFalse();
+        assertThat(pose("{\"y\":1," + STATUS_FIELDS + "}", frame)).isFalse();
+    }
+
+    @Test
+    void rejectsValuesThatAreNotNumbers() throws IOException {
+        TelemetryFrame frame = new TelemetryFrame();
+        assertThat(status("{\"batteryLevel\":\"abc\",\"temperature\":20.5,\"isCharging\":false}", frame)).isFalse();
+        assertThat(status("{\"batteryLevel\":50,\"temperature\":null,\"isCharging\":false}", frame)).isFalse();
+        assertThat(status("{\"batteryLevel\":50,\"temperature\":\"NaN\",\"isCharging\":false}", frame)).isFalse();
+        assertThat(status("{\"batteryLevel\":50,\"temperature\":20.5,\"isCharging\":\"maybe\"}", frame)).isFalse();
+        assertThat(status("{" + STATUS_FIELDS + ",\"x\":{\"nested\":1}}", frame)).isFalse();
+        assertThat(pose("{\"x\":1,\"y\":[2]}", frame)).isFalse();
+        assertThat(pose("{\"x\":true,\"y\":2}", frame)).isFalse();
+    }
+
+    @Test
+    void acceptsNumericStringsAndLooseBooleans() throws IOException {
+        TelemetryFrame frame = new TelemetryFrame();
+        assertThat(status("{\"batteryLevel\":\"49.6\",\"temperature\":\"20\",\"isCharging\":1,\"mode\":7}", frame)).isTrue();
+        assertThat(frame.batteryLevel).isEqualTo(50);
+        assertThat(frame.temperature).isEqualTo(20.0);
+        assertThat(frame.isCharging).isTrue();
+        assertThat(frame.mode).isEqualTo(TelemetryFrame.UNKNOWN_MODE);
+
+        assertThat(status("{\"batteryLevel\":50,\"temperature\":20,\"isCharging\":\"TRUE\"}", frame)).isTrue();
+        assertThat(frame.isCharging).isTrue();
+    }
+
+    @Test
+    void skipsUnknownFieldsAndResetsFrame() throws IOException {
+        TelemetryFrame frame = new TelemetryFrame();
+        status("{" + STATUS_FIELDS + ",\"x\":5}", frame);
+
+        assertThat(pose("{\"extra\":{\"a\":[1,{\"b\":2}]},\"list\":[1,2],\"x\":0,\"y\":2}", frame)).isTrue();
+        assertThat(frame.batteryLevel).isZero(); // 이전 메시지 값이 남지 않음
+        assertThat(frame.x).isZero();
+        assertThat(frame.y).isEqualTo(2.0);
+    }
+
+    @Test
+    void reusesPreviousMode() throws IOException {
+        TelemetryFrame frame = new TelemetryFrame();
+        status("{" + STATUS_FIELDS + ",\"mode\":\"patrol\"}", frame);
+        String first = frame.mode;
+        status("{\"mode\":\"patrol\"," + STATUS_FIELDS + "}", frame);
+        assertThat(frame.mode).isSameAs(first);
+        status("{" + STATUS_FIELDS + ",\"mode\":\"charge\"}", frame);
+        assertThat(frame.mode).isEqualTo("charge");
+    }
+
+    @Test
+    void rejectsNonObjects() throws IOException {
+        TelemetryFrame frame = new TelemetryFrame();
+        assertThat(status("[1,2,3]", frame)).isFalse();
+        assertThat(status("42", frame)).isFalse();
+        assertThatThrownBy(() -> status("{\"x\":", frame)).isInstanceOf(IOException.class);
+    }
+}
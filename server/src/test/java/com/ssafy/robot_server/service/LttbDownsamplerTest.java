@@ -0,0 +1,79 @@
+package com.ssafy.robot_server.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LttbDownsamplerTest {
+
+    private static final long FROM = 1_700_000_000_000L;
+
+    private record Point(long ts, double x, double y) {
+    }
+
+    private static List<Point> run(List<Point> input, long to, int maxPoints) {
+        List<Point> output = new ArrayList<>();
+        LttbDownsampler downsampler = new LttbDownsampler(FROM, to, maxPoints,
+                (ts, x, y) -> output.add(new Point(ts, x, y)));
+        for (Point p : input) downsampler.accept(p.ts(), p.x(), p.y());
+        downsampler.finish();
+        assertThat(downsampler.getInputCount()).isEqualTo(input.size());
+        assertThat(downsampler.getOutputCount()).isEqualTo(output.size());
+        return output;
+    }
+
+    // 1초 간격 경로 (i % 10 == 5 인 곳에서 y가 튐)
+    private static List<Point> path(int n) {
+        List<Point> points = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) points.add(new Point(FROM + i * 1000L, i * 0.1, i % 10 == 5 ? 5.0 : 0.0));
+        return points;
+    }
+
+    @Test
+    void keepsEveryPointWhenThresholdCoversInput() {
+        List<Point> input = path(10);
+        long to = FROM + 10_000L;
+        assertThat(run(input, to, input.size() + 2)).containsExactlyElementsOf(input);
+        assertThat(run(input, to, 1000)).containsExactlyElementsOf(input);
+    }
+
+    @Test
+    void reducesToThresholdAndKeepsEndpoints() {
+        List<Point> input = path(10_000);
+        List<Point> output = run(input, FROM + 10_000_000L, 100);
+
+        assertThat(output).hasSizeLessThanOrEqualTo(100).hasSizeGreaterThan(2);
+        assertThat(output.get(0)).isEqualTo(input.get(0));
+        assertThat(output.get(output.size() - 1)).isEqualTo(input.get(input.size() - 1));
+        assertThat(output).isSortedAccordingTo((a, b) -> Long.compare(a.ts(), b.ts()));
+        assertThat(input).containsAll(output);
+    }
+
+    @Test
+    void keepsSpikeOnFlatPath() {
+        // 일직선 경로 중간에 한 번 꺾이는 점 → 면적이 가장 크므로 반드시 남음
+        List<Point> input = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) input.add(new Point(FROM + i * 1000L, i * 0.1, i == 537 ? 100.0 : 0.0));
+        List<Point> output = run(input, FROM + 1_000_000L, 52);
+        assertThat(output).contains(input.get(537));
+    }
+
+    @Test
+    void thresholdBelowThreeKeepsOnlyEndpoints() {
+        List<Point> input = path(50);
+        long to = FROM + 50_000L;
+        assertThat(run(input, to, 2)).containsExactly(input.get(0), input.get(49));
+        assertThat(run(input, to, 1)).containsExactly(input.get(0));
+        assertThat(run(input, to, 0)).containsExactly(input.get(0));
+    }
+
+    @Test
+    void handlesEmptyAndSingleInput() {
+        assertThat(run(List.of(), FROM + 1000L, 100)).isEmpty();
+        Point only = new Point(FROM, 1.0, 2.0);
+        assertThat(run(List.of(only), FROM + 1000L, 100)).containsExactly(only);
+    }
+}
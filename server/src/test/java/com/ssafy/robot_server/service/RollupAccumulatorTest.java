@@ -0,0 +1,45 @@
+package com.ssafy.robot_server.service;
+
+import com.ssafy.robot_server.domain.TelemetryRollup;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollupAccumulatorTest {
+
+    private static final long MINUTE_MS = 60_000L;
+
+    @Test
+    void missingValuesAreLeftOutOfAverages() {
+        RollupAccumulator acc = new RollupAccumulator("r1", MINUTE_MS, 0, 10_000);
+        acc.accept(1_000, 80, 40.0, false, 0, 0, "patrol");
+        acc.accept(2_000, Double.NaN, Double.NaN, false, 3, 4, "patrol");
+        acc.accept(3_000, 60, Double.NaN, false, 3, 4, "patrol");
+
+        List<TelemetryRollup> rollups = acc.rollups(TelemetryRollupService.MINUTE);
+        assertThat(rollups).hasSize(1);
+        TelemetryRollup r = rollups.get(0);
+        assertThat(r.getSampleCount()).isEqualTo(3);
+        assertThat(r.getBatteryCount()).isEqualTo(2);
+        assertThat(r.getBatteryAvg()).isEqualTo(70.0); // 0으로 섞이면 46.7
+        assertThat(r.getBatteryMin()).isEqualTo(60.0);
+        assertThat(r.getTemperatureCount()).isEqualTo(1);
+        assertThat(r.getTemperatureAvg()).isEqualTo(40.0);
+        assertThat(r.getDistance()).isEqualTo(5.0);
+    }
+
+    @Test
+    void bucketWithoutValuesHasNoAverage() {
+        RollupAccumulator acc = new RollupAccumulator("r1", MINUTE_MS, 0, 10_000);
+        acc.accept(1_000, Double.NaN, Double.NaN, false, Double.NaN, Double.NaN, null);
+
+        TelemetryRollup r = acc.rollups(TelemetryRollupService.MINUTE).get(0);
+        assertThat(r.getSampleCount()).isEqualTo(1);
+        assertThat(r.getBatteryAvg()).isNull();
+        assertThat(r.getTemperatureAvg()).isNull();
+        assertThat(r.getBatteryMin()).isNull();
+        assertThat(r.getDistance()).isZero();
+    }
+}
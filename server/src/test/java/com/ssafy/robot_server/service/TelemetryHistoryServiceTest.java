@@ -0,0 +1,60 @@
+package com.ssafy.robot_server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static com.ssafy.robot_server.service.TelemetryRollupService.HOUR;
+import static com.ssafy.robot_server.service.TelemetryRollupService.HOUR_MS;
+import static com.ssafy.robot_server.service.TelemetryRollupService.MINUTE;
+import static com.ssafy.robot_server.service.TelemetryRollupService.MINUTE_MS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TelemetryHistoryServiceTest {
+
+    private static final long DAY_MS = 24 * HOUR_MS;
+
+    private TelemetryHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TelemetryHistoryService(null, null, null, null);
+        ReflectionTestUtils.setField(service, "rawRetentionDays", 7L);
+        ReflectionTestUtils.setField(service, "minuteRetentionDays", 30L);
+    }
+
+    // 지금 끝나는 span 길이의 구간
+    private String recent(long span, int maxPoints) {
+        long to = System.currentTimeMillis();
+        return service.chooseResolution(to - span, to, maxPoints);
+    }
+
+    @Test
+    void rawOnlyWhenOneSecondBucketsFit() {
+        assertThat(recent(500 * 1000L, 500)).isEqualTo(TelemetryHistoryService.RAW);
+        assertThat(recent(500 * 1000L + 1, 500)).isEqualTo(MINUTE);
+    }
+
+    @Test
+    void minuteUpToMaxPointsMinutes() {
+        assertThat(recent(500 * MINUTE_MS, 500)).isEqualTo(MINUTE);
+        assertThat(recent(500 * MINUTE_MS + 1, 500)).isEqualTo(HOUR);
+    }
+
+    @Test
+    void longWindowsAtTheCapUseRollups() {
+        // 5000점 상한에서 83시간 구간을 원본으로 훑지 않음
+        assertThat(recent(83 * HOUR_MS, 5000)).isEqualTo(MINUTE);
+        assertThat(recent(5000 * 1000L, 5000)).isEqualTo(TelemetryHistoryService.RAW);
+        assertThat(recent(30 * DAY_MS, 5000)).isEqualTo(HOUR);
+    }
+
+    @Test
+    void fallsBackOutsideRetention() {
+        long now = System.currentTimeMillis();
+        // 원본 보존 기간(7일) 밖 → 짧은 구간이라도 분 단위
+        assertThat(service.chooseResolution(now - 8 * DAY_MS, now - 8 * DAY_MS + 60_000L, 500)).isEqualTo(MINUTE);
+        // 분 단위 보존 기간(30일) 밖 → 시간 단위
+        assertThat(service.chooseResolution(now - 31 * DAY_MS, now - 31 * DAY_MS + 60_000L, 500)).isEqualTo(HOUR);
+    }
+}
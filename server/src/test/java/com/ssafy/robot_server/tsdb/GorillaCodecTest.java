@@ -0,0 +1,90 @@
+package com.ssafy.robot_server.tsdb;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GorillaCodecTest {
+
+    // 인코딩 → 디코딩 후 시간과 값의 비트가 그대로인지 (NaN/-0.0도 비트 단위로 비교)
+    private static void assertRoundTrip(long[] timestamps, double[]... columns) {
+        int count = timestamps.length;
+        int[] rows = new int[count];
+        for (int i = 0; i < count; i++) rows[i] = i;
+
+        BitWriter out = new BitWriter(16);
+        GorillaCodec.encode(out, timestamps, columns, rows, count);
+        int size = out.finish();
+        if (count == 0) assertThat(size).isZero();
+
+        List<Long> decodedTs = new ArrayList<>();
+        List<long[]> decodedBits = new ArrayList<>();
+        GorillaCodec.decode(ByteBuffer.wrap(out.buffer(), 0, size), 0, count, columns.length, (ts, values) -> {
+            decodedTs.add(ts);
+            long[] bits = new long[values.length];
+            for (int c = 0; c < values.length; c++) bits[c] = Double.doubleToRawLongBits(values[c]);
+            decodedBits.add(bits);
+        });
+
+        assertThat(decodedTs).hasSize(count);
+        for (int i = 0; i < count; i++) {
+            assertThat(decodedTs.get(i)).as("timestamp %d", i).isEqualTo(timestamps[i]);
+            for (int c = 0; c < columns.length; c++) {
+                assertThat(decodedBits.get(i)[c]).as("row %d column %d", i, c)
+                        .isEqualTo(Double.doubleToRawLongBits(columns[c][i]));
+            }
+        }
+    }
+
+    @Test
+    void roundTripsRegularSeries() {
+        long[] ts = new long[200];
+        double[] battery = new double[200];
+        double[] temperature = new double[200];
+        for (int i = 0; i < ts.length; i++) {
+            ts[i] = 1_700_000_000_000L + i * 1000L + (i % 7 == 0 ? 3 : 0);
+            battery[i] = 100 - i / 4;
+            temperature[i] = 36.5 + Math.sin(i / 10.0);
+        }
+        assertRoundTrip(ts, battery, temperature);
+    }
+
+    @Test
+    void emptyInputWritesNothing() {
+        assertRoundTrip(new long[0], new double[0]);
+    }
+
+    @Test
+    void singlePoint() {
+        assertRoundTrip(new long[]{1_700_000_000_123L}, new double[]{41.3}, new double[]{-7.25});
+    }
+
+    @Test
+    void largeGapsUseFullWidthDeltaOfDelta() {
+        // 각 delta-of-delta 구간 경계(7/9/12비트)와 64비트 구간을 모두 지나감
+        assertRoundTrip(
+                new long[]{0L, 64L, 128L + 64, 256L + 320, 2048L + 832, 3_600_000L, 86_400_000L * 30, Long.MAX_VALUE / 2},
+                new double[]{1, 2, 3, 4, 5, 6, 7, 8});
+    }
+
+    @Test
+    void negativeDeltas() {
+        // 로봇 시계가 뒤로 가거나 순서가 섞여 들어온 경우
+        assertRoundTrip(
+                new long[]{10_000L, 9_000L, 9_500L, -5_000L, 1_000_000L, 999_999L, Long.MIN_VALUE / 4},
+                new double[]{0, -1, 1, -1e300, 1e-300, Double.MIN_VALUE, -Double.MAX_VALUE});
+    }
+
+    @Test
+    void specialValues() {
+        double[] values = {Double.NaN, Double.NaN, 0.0, -0.0, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.longBitsToDouble(0x7ff8_0000_0000_0001L), 42.0, 42.0};
+        long[] ts = new long[values.length];
+        for (int i = 0; i < ts.length; i++) ts[i] = i * 500L;
+        assertRoundTrip(ts, values);
+    }
+}